@@ -79,6 +79,63 @@ public class ConcurrentV8 {
         }
     }
 
+    /**
+     * Runs an {@link ConcurrentV8Runnable} on the V8 thread within a new
+     * {@link V8JavaScope}, which is closed once the runnable is done executing.
+     *
+     * <b>Note: </b> This method executes synchronously, not asynchronously;
+     * it will not return until the passed {@link ConcurrentV8Runnable} is done
+     * executing.
+     *
+     * @param runny {@link ConcurrentV8Runnable} to run.
+     *
+     * @throws Exception If the passed runnable throws an exception, this
+     *         method will throw that exact exception.
+     *
+     * @see V8JavaAdapter#openScope(V8)
+     */
+    public void runInScope(final ConcurrentV8Runnable runny) throws Exception {
+        run(new ConcurrentV8Runnable() {
+            @Override
+            public void run(V8 v8) throws Exception {
+                V8JavaScope scope = V8JavaAdapter.openScope(v8);
+                try {
+                    runny.run(v8);
+                } finally {
+                    scope.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs an {@link ConcurrentV8Runnable} on the V8 thread within a new
+     * {@link V8JavaArena}, which releases every V8 value created by the runnable
+     * and not escaped from {@link V8JavaArena#current(V8)} once it is done executing.
+     *
+     * <b>Note: </b> This method executes synchronously, not asynchronously;
+     * it will not return until the passed {@link ConcurrentV8Runnable} is done
+     * executing.
+     *
+     * @param runny {@link ConcurrentV8Runnable} to run.
+     *
+     * @throws Exception If the passed runnable throws an exception, this
+     *         method will throw that exact exception.
+     */
+    public void runInArena(final ConcurrentV8Runnable runny) throws Exception {
+        run(new ConcurrentV8Runnable() {
+            @Override
+            public void run(V8 v8) throws Exception {
+                V8JavaArena arena = V8JavaArena.open(v8);
+                try {
+                    runny.run(v8);
+                } finally {
+                    arena.close();
+                }
+            }
+        });
+    }
+
     /**
      * Releases the underlying {@link V8} instance.
      *
@@ -0,0 +1,469 @@
+package io.alicorn.v8;
+
+import com.eclipsesource.v8.*;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Utilities for adapting Java classes and objects into a V8 runtime.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+public final class V8JavaAdapter {
+
+    // Mapping of V8 instances to their associated caches.
+    private static final Map<V8, V8JavaCache> runtimeToCacheMap = new WeakHashMap<V8, V8JavaCache>();
+
+    /**
+     * Returns the {@link V8JavaCache} associated with a given runtime.
+     *
+     * If a cache for that runtime does not exist, one will be created when this method is invoked.
+     *
+     * @param v8 V8 runtime to retrieve the cache for.
+     *
+     * @return The {@link V8JavaCache} associated with the given runtime.
+     */
+    public static V8JavaCache getCacheForRuntime(V8 v8) {
+        if (runtimeToCacheMap.containsKey(v8)) {
+            return runtimeToCacheMap.get(v8);
+        } else {
+            V8JavaCache cache = new V8JavaCache();
+            runtimeToCacheMap.put(v8, cache);
+            return cache;
+        }
+    }
+
+    /**
+     * Sets the {@link V8JavaBindingMode} used by classes injected into a given runtime.
+     *
+     * Classes that were already injected into the runtime keep the binding mode they
+     * were injected with.
+     *
+     * @param v8 V8 runtime to set the binding mode for.
+     * @param bindingMode Binding mode to use for classes injected from now on.
+     */
+    public static void setBindingMode(V8 v8, V8JavaBindingMode bindingMode) {
+        if (bindingMode == null) throw new IllegalArgumentException("Not null binding mode required");
+
+        getCacheForRuntime(v8).bindingMode = bindingMode;
+    }
+
+    /**
+     * Returns statistics on how well the overloads of every Java method and constructor
+     * injected into a given runtime are resolved by their inline caches.
+     *
+     * Only call sites that have been invoked at least once are reported.
+     *
+     * @param v8 V8 runtime to get the statistics of.
+     *
+     * @return Statistics of every invoked call site of the runtime.
+     */
+    public static List<V8JavaCallSiteStatistics> getCallSiteStatistics(V8 v8) {
+        List<V8JavaCallSiteStatistics> statistics = new ArrayList<V8JavaCallSiteStatistics>();
+        for (V8JavaClassProxy proxy : getCacheForRuntime(v8).cachedV8JavaClasses.values()) {
+            proxy.collectCallSiteStatistics(statistics);
+        }
+
+        return statistics;
+    }
+
+    /**
+     * Opens a new {@link V8JavaScope} on a given runtime, within the innermost scope
+     * that is currently open, if any.
+     *
+     * Every Java object handle and global variable created through the adapter until
+     * the scope is closed is released when it is closed.
+     *
+     * @param v8 V8 runtime to open the scope on.
+     *
+     * @return The opened scope. It is the responsibility of the caller to close it.
+     */
+    public static V8JavaScope openScope(V8 v8) {
+        V8JavaCache cache = getCacheForRuntime(v8);
+        cache.scope = new V8JavaScope(v8, cache, cache.scope);
+        return cache.scope;
+    }
+
+    /**
+     * Injects an existing Java object into V8 as a variable.
+     *
+     * If the passed object represents an object array (e.g., String[], Object[]),
+     * the array will be unwrapped and injected into the V8 context as an ArrayList. Any
+     * modifications made to the injected list will not be passed back up to the Java runtime.
+     *
+     * If the passed object is a primitive array (e.g., int[], double[]), it is copied into
+     * a JS typed array instead, as described by
+     * {@link V8JavaObjectUtils#translatePrimitiveArrayToJavascript(Object, com.eclipsesource.v8.V8)}.
+     *
+     * If the passed object is a {@link java.nio.ByteBuffer}, it is injected as a JS ArrayBuffer,
+     * sharing the memory of direct buffers as described by
+     * {@link V8JavaObjectUtils#translateByteBufferToJavascript(java.nio.ByteBuffer, com.eclipsesource.v8.V8)}.
+     *
+     * This method will immediately invoke {@link #injectClass(String, Class, V8Object)}
+     * before injecting the object, causing the object's class to be automatically
+     * injected into the V8 Object if it wasn't already.
+     *
+     * <b>NOTE: </b> If you wish to use an interceptor for the class of an injected object,
+     * you must explicitly invoke {@link #injectClass(Class, V8JavaClassInterceptor, V8Object)} or
+     * {@link #injectClass(String, Class, V8JavaClassInterceptor, V8Object)}. This method will
+     * <b>NOT</b> specify an interceptor automatically for the injected object.
+     *
+     * @param name Name of the variable to assign the Java object to. If this value is null,
+     *             the object will not be assigned to any variable.
+     * @param object Java object to inject.
+     * @param rootObject {@link V8Object} to inject the Java object into.
+     *
+     * @return String identifier of the injected object's handle, or the passed name if the
+     *         object's interceptor overrode its injection with a value that has no handle.
+     */
+    public static String injectObject(String name, Object object, V8Object rootObject) {
+
+        // Determine cache to use.
+        V8JavaCache cache = getCacheForRuntime(rootObject.getRuntime());
+
+        V8Value injected = injectObject(name, object, rootObject, cache);
+        try {
+            int handle = injected instanceof V8Object ? cache.getJavaObjectHandle((V8Object) injected) : 0;
+            return handle != 0 ? String.valueOf(handle) : name;
+        } finally {
+            injected.release();
+        }
+    }
+
+    /**
+     * Prepares a Java object for injection.
+     *
+     * @param object Java object to inject.
+     *
+     * @return The object to actually inject.
+     */
+    private static Object toInjectableObject(Object object) {
+
+        //TODO: Add special handlers for N-dimensional arrays.
+        //TODO: This should inject arrays as JS arrays, not lists. Meh.
+        //TODO: This will bypass interceptors in some cases.
+        //TODO: This is terrible.
+        if (object instanceof Object[]) {
+            Object[] rawArray = (Object[]) object;
+            List<Object> injectedArray = new ArrayList<Object>(rawArray.length);
+            for (Object obj : rawArray) {
+                injectedArray.add(obj);
+            }
+            object = injectedArray;
+        }
+
+        return object;
+    }
+
+    /**
+     * Injects the class of a Java object into V8 under its simple name, if it wasn't already.
+     *
+     * @param object Java object to inject the class of.
+     * @param rootObject {@link V8Object} to inject the class into.
+     */
+    private static void injectClassOf(Object object, V8Object rootObject) {
+        injectClass("".equals(object.getClass().getSimpleName()) ?
+                            object.getClass().getName().replaceAll("\\.+", "_") :
+                            object.getClass().getSimpleName(),
+                    object.getClass(),
+                    rootObject);
+    }
+
+    /**
+     * Injects a copy of a Java value into V8 as a variable.
+     *
+     * Unlike {@link #injectObject(String, Object, V8Object)}, the value is not bound to
+     * its Java object: Java maps and beans become plain JS objects, and Java arrays and
+     * iterables become JS arrays, as described by
+     * {@link V8JavaObjectUtils#translateJavaValueToJavascript(Object, com.eclipsesource.v8.V8)}.
+     * The whole value crosses into V8 at once, which makes this considerably cheaper than
+     * injecting large object graphs node by node.
+     *
+     * @param name Name of the variable to assign the copy to.
+     * @param value Java value to copy.
+     * @param rootObject {@link V8Object} to inject the copy into.
+     */
+    public static void injectValue(String name, Object value, V8Object rootObject) {
+        final V8 v8 = V8JavaObjectUtils.getRuntimeSarcastically(rootObject);
+        Object copy = V8JavaObjectUtils.translateJavaValueToJavascript(value, v8);
+        try {
+            if (copy == null) {
+                rootObject.addNull(name);
+            } else if (copy instanceof V8Value) {
+                rootObject.add(name, (V8Value) copy);
+            } else if (copy instanceof Integer) {
+                rootObject.add(name, (Integer) copy);
+            } else if (copy instanceof Double) {
+                rootObject.add(name, (Double) copy);
+            } else if (copy instanceof Boolean) {
+                rootObject.add(name, (Boolean) copy);
+            } else {
+                rootObject.add(name, (String) copy);
+            }
+            getCacheForRuntime(v8).registerVariable(rootObject, name);
+        } finally {
+            V8JavaObjectUtils.releaseIfV8Value(copy);
+        }
+    }
+
+    /**
+     * Script of the function creating a given number of empty JS objects for batched injection.
+     */
+    private static final String SHELLS_FACTORY =
+            "(function(n) { var shells = new Array(n); for (var i = 0; i < n; i++) { shells[i] = new function() {}; } return shells; })";
+
+    /**
+     * Returns the compiled function creating empty JS objects for batched injection,
+     * compiling it if the runtime does not have it yet.
+     */
+    private static V8Function getShellsFactory(V8 v8, V8JavaCache cache) {
+        if (cache.shellsFactory == null || cache.shellsFactory.isReleased()) {
+            cache.shellsFactory = (V8Function) v8.executeObjectScript(SHELLS_FACTORY);
+            cache.registerResource(cache.shellsFactory);
+        }
+
+        return cache.shellsFactory;
+    }
+
+    /**
+     * Injects many existing Java objects into V8 as variables at once.
+     *
+     * This behaves like invoking {@link #injectObject(String, Object, V8Object)} for every
+     * entry of the passed map, but creates the JS objects of all Java objects in a single
+     * script execution instead of one per object. Objects whose class has an interceptor
+     * are still injected one at a time.
+     *
+     * @param objects Java objects to inject, keyed by the name of the variable to assign them to.
+     * @param rootObject {@link V8Object} to inject the Java objects into.
+     *
+     * @return String identifiers of the injected objects' handles, keyed by the names of the objects.
+     *         As with {@link #injectObject(String, Object, V8Object)}, an object whose interceptor
+     *         overrode its injection with a value that has no handle is identified by its name.
+     */
+    public static Map<String, String> injectObjects(Map<String, ?> objects, V8Object rootObject) {
+        V8JavaCache cache = getCacheForRuntime(rootObject.getRuntime());
+        Map<String, String> identifiers = new LinkedHashMap<String, String>();
+
+        // Inject the classes of all objects, and set aside the objects that can be batched.
+        List<String> names = new ArrayList<String>(objects.size());
+        List<Object> batched = new ArrayList<Object>(objects.size());
+        Set<Class<?>> injectedClasses = new HashSet<Class<?>>();
+        for (Map.Entry<String, ?> entry : objects.entrySet()) {
+            if (entry.getKey() == null) throw new IllegalArgumentException("Not null object names required");
+            if (entry.getValue() == null) throw new IllegalArgumentException("Not null objects required");
+
+            // Buffers, arrays and collections are not injected as plain objects, and cannot be batched.
+            if (entry.getValue() instanceof ByteBuffer || entry.getValue() instanceof Collection || entry.getValue() instanceof Object[] ||
+                (entry.getValue().getClass().isArray() && entry.getValue().getClass().getComponentType().isPrimitive())) {
+                identifiers.put(entry.getKey(), injectObject(entry.getKey(), entry.getValue(), rootObject));
+                continue;
+            }
+
+            Object object = toInjectableObject(entry.getValue());
+            if (injectedClasses.add(object.getClass())) {
+                injectClassOf(object, rootObject);
+            }
+
+            if (cache.cachedV8JavaClasses.get(object.getClass()).getInterceptor() == null) {
+                names.add(entry.getKey());
+                batched.add(object);
+            } else {
+                identifiers.put(entry.getKey(), injectObject(entry.getKey(), object, rootObject));
+            }
+        }
+
+        if (batched.isEmpty()) {
+            return identifiers;
+        }
+
+        // Build all empty object instances in one go, then attach them in one pass.
+        final V8 v8 = V8JavaObjectUtils.getRuntimeSarcastically(rootObject);
+        V8Array parameters = new V8Array(v8).push(batched.size());
+        V8Array shells;
+        try {
+            shells = (V8Array) getShellsFactory(v8, cache).call(null, parameters);
+        } finally {
+            parameters.release();
+        }
+        try {
+            for (int i = 0; i < batched.size(); i++) {
+                Object object = batched.get(i);
+                V8Object shell = shells.getObject(i);
+                try {
+                    int handle = cache.cachedV8JavaClasses.get(object.getClass()).attachJavaObjectToJsObject(object, shell);
+                    rootObject.add(names.get(i), shell);
+                    cache.registerVariable(rootObject, names.get(i));
+                    identifiers.put(names.get(i), String.valueOf(handle));
+                } finally {
+                    shell.release();
+                }
+            }
+        } finally {
+            shells.release();
+        }
+
+        return identifiers;
+    }
+
+    /**
+     * Injects an existing Java object into V8, optionally as a variable.
+     *
+     * @param name Name of the variable to assign the Java object to, or null if the
+     *             object should not be assigned to any variable.
+     * @param object Java object to inject.
+     * @param rootObject {@link V8Object} to inject the Java object and its class into.
+     * @param cache {@link V8JavaCache} associated with the runtime of the root object.
+     *
+     * @return The JS value representing the injected object. It is the responsibility
+     *         of the caller to release it.
+     *
+     * @see #injectObject(String, Object, V8Object)
+     */
+    static V8Value injectObject(String name, Object object, V8Object rootObject, V8JavaCache cache) {
+        final V8 v8 = V8JavaObjectUtils.getRuntimeSarcastically(rootObject);
+
+        // Buffers and primitive arrays are injected as binary JS data rather than as Java objects.
+        V8Value binary = object instanceof ByteBuffer ?
+                V8JavaObjectUtils.translateByteBufferToJavascript((ByteBuffer) object, v8) :
+                V8JavaObjectUtils.translatePrimitiveArrayToJavascript(object, v8);
+        if (binary != null) {
+            if (name != null) {
+                rootObject.add(name, binary);
+                cache.registerVariable(rootObject, name);
+            }
+            return binary;
+        }
+
+        // Only collections injected as such become array-likes, not the lists wrapping object arrays.
+        final boolean arrayLike = object instanceof Collection;
+
+        object = toInjectableObject(object);
+        injectClassOf(object, rootObject);
+
+        V8JavaClassProxy proxy = cache.cachedV8JavaClasses.get(object.getClass());
+
+        // Let the interceptor override the injection, if any.
+        if (proxy.getInterceptor() != null) {
+            final Object injectionOverride = proxy.getInterceptor().objectInjectorOverride(object);
+            if (injectionOverride != null) {
+                /**
+                 * There is no need to attach v8 object, which is result of overridden java object injection:
+                 *  - it's either completely self-contained new V8 object
+                 *  - or if it's normal java object - it's already attached in .translateJavaArgumentToJavascript() method.
+                 */
+                final V8Value convertedToV8JavaObject;
+                if (injectionOverride instanceof V8Object) {
+                    convertedToV8JavaObject = (V8Value) injectionOverride;
+                } else {
+                    convertedToV8JavaObject = (V8Value) V8JavaObjectUtils.translateJavaArgumentToJavascript(injectionOverride, v8, cache);
+                }
+
+                if (name != null) {
+                    rootObject.add(name, convertedToV8JavaObject);
+                    cache.registerVariable(rootObject, name);
+                }
+
+                return convertedToV8JavaObject;
+            }
+        }
+
+        //Build an empty object instance through the compiled factory of its class.
+        V8Object other = (V8Object) proxy.getFactory(v8).call(null, null);
+        int handle = proxy.attachJavaObjectToJsObject(object, other);
+
+        // Collections are exposed as array-likes, which must be what is retrieved for them from now on.
+        if (arrayLike && proxy.getInterceptor() == null) {
+            V8Object proxied = V8JavaIterableProxy.wrap((Collection<?>) object, other, cache);
+            other.release();
+            other = proxied;
+            cache.registerJsObject(handle, other);
+        }
+
+        if (name != null) {
+            rootObject.add(name, other);
+            cache.registerVariable(rootObject, name);
+        }
+
+        return other;
+    }
+
+    /**
+     * Injects a Java class into a V8 object as a prototype.
+     *
+     * The injected "class" will be equivalent to a Java Script prototype with
+     * a name identical to the one specified when invoking this function. For
+     * example, the java class {@code com.foo.Bar} could be new'd from the Java Script
+     * context by invoking {@code new Bar()} if {@code "Bar"} was passed as the
+     * name use when injecting the class.
+     *
+     * @param name Name to use when injecting the class into the V8 object.
+     * @param classy Java class to inject.
+     * @param interceptor {@link V8JavaClassInterceptor} to use with this class. Pass null if no interceptor is desired.
+     * @param rootObject {@link V8Object} to inject the Java class into.
+     */
+    public static void injectClass(String name, Class<?> classy, V8JavaClassInterceptor interceptor, V8Object rootObject) {
+        //Calculate V8-friendly full class names.
+        String v8FriendlyClassname = classy.getName().replaceAll("\\.+", "_");
+
+        // Determine cache to use.
+        V8JavaCache cache = getCacheForRuntime(rootObject.getRuntime());
+
+        //Register the class proxy.
+        V8JavaClassProxy proxy;
+        if (cache.cachedV8JavaClasses.containsKey(classy)) {
+            proxy = cache.cachedV8JavaClasses.get(classy);
+        } else {
+            proxy = new V8JavaClassProxy(classy, interceptor, cache);
+            cache.cachedV8JavaClasses.put(classy, proxy);
+        }
+
+        //Check if the root object already has a constructor, without listing all of its keys.
+        if (!rootObject.contains("v8ConstructJavaClass" + v8FriendlyClassname)) {
+            rootObject.registerJavaMethod(proxy, "v8ConstructJavaClass" + v8FriendlyClassname);
+
+            //Build up the constructor script.
+            StringBuilder script = new StringBuilder();
+            script.append("this.").append(name).append(" = function() {");
+            script.append("v8ConstructJavaClass").append(v8FriendlyClassname).append(".apply(this, arguments);");
+
+            // Attach interceptor.
+            if (proxy.getInterceptor() != null) {
+                script.append(proxy.getInterceptor().getConstructorScriptBody());
+            }
+
+            script.append("\n};");
+
+            //Evaluate the script to create a new constructor function.
+            V8JavaObjectUtils.getRuntimeSarcastically(rootObject).executeVoidScript(script.toString());
+
+            //Build up static methods if needed.
+            if (proxy.getInterceptor() == null) {
+                V8Object constructorFunction = (V8Object) rootObject.get(name);
+                for (V8JavaStaticMethodProxy method : proxy.getStaticMethods()) {
+                    constructorFunction.registerJavaMethod(method, method.getMethodName());
+                }
+
+                //Share the class prototype with all objects constructed from JS.
+                if (proxy.isPrototypeBound()) {
+                    constructorFunction.add("prototype", proxy.getPrototype(V8JavaObjectUtils.getRuntimeSarcastically(rootObject)));
+                }
+
+                //Clean up after ourselves.
+                constructorFunction.release();
+            }
+        }
+    }
+
+    public static void injectClass(Class<?> classy, V8JavaClassInterceptor interceptor, V8Object object) {
+        injectClass(classy.getSimpleName(), classy, interceptor, object);
+    }
+
+    public static void injectClass(String name, Class<?> classy, V8Object object) {
+        injectClass(name, classy, null, object);
+    }
+
+    public static void injectClass(Class<?> classy, V8Object object) {
+        injectClass(classy.getSimpleName(), classy, null, object);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,219 @@
+package io.alicorn.v8;
+
+import com.eclipsesource.v8.ReferenceHandler;
+import com.eclipsesource.v8.V8;
+import com.eclipsesource.v8.V8Value;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Arena recording every {@link V8Value} created on a V8 runtime while it is open,
+ * and releasing all of them at once when it is closed.
+ *
+ * Values created within an arena need not be released one by one: any value that
+ * has not been released by the time the arena closes is released then, unless it
+ * was escaped with {@link #escape(V8Value)}. Values the adapter keeps for itself,
+ * such as the prototypes of injected classes or the JS functions backing Java
+ * callbacks, are escaped automatically. Values passed to injected Java methods,
+ * such as {@link com.eclipsesource.v8.V8Function} arguments, are not, and must be
+ * escaped if they are kept past the end of the arena.
+ *
+ * Arenas may be nested, but must be closed in the reverse order they were opened,
+ * from the thread of their runtime. Values are only recorded by the innermost open
+ * arena, and values a nested arena recorded are handed over to its parent when they
+ * are escaped from it.
+ *
+ * The adapter still releases the values it creates for itself as soon as it is done
+ * with them, since it also runs without arenas, so an open arena records them for
+ * nothing. ArenaBenchmark measures this at about 10-20% of the cost of creating and
+ * releasing an empty object, which is lost in the cost of calling into Java from JS.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+public final class V8JavaArena implements ReferenceHandler, Closeable {
+//Private//////////////////////////////////////////////////////////////////////
+
+    // Minimum number of recorded values before released ones are pruned.
+    private static final int PRUNE_THRESHOLD = 1024;
+
+    private final V8 v8;
+    private final V8JavaCache cache;
+    private final V8JavaArena parent;
+
+    // Values created within this arena, some of which may since have been released.
+    private List<V8Value> values = new ArrayList<V8Value>();
+
+    // Number of values of the runtime released since the recorded values were last pruned.
+    private int releasedSincePrune = 0;
+
+    // Values escaped from this arena.
+    private final Map<V8Value, Boolean> escaped = new IdentityHashMap<V8Value, Boolean>();
+
+    private boolean closed = false;
+
+    /**
+     * Drops released values from the recorded values.
+     */
+    private void prune() {
+        List<V8Value> pruned = new ArrayList<V8Value>();
+        for (V8Value value : values) {
+            if (!value.isReleased()) {
+                pruned.add(value);
+            }
+        }
+        values = pruned;
+        releasedSincePrune = 0;
+    }
+
+    /**
+     * Returns true if this arena recorded a value, searching from the most recently
+     * created values since those are the ones usually escaped.
+     */
+    private boolean recorded(V8Value value) {
+        for (int i = values.size() - 1; i >= 0; i--) {
+            if (values.get(i) == value) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+//Protected////////////////////////////////////////////////////////////////////
+
+    V8JavaArena(V8 v8, V8JavaCache cache, V8JavaArena parent) {
+        this.v8 = v8;
+        this.cache = cache;
+        this.parent = parent;
+    }
+
+    /**
+     * Escapes a value from this arena and all arenas it is nested in.
+     */
+    void retain(V8Value value) {
+        for (V8JavaArena arena = this; arena != null; arena = arena.parent) {
+            arena.escaped.put(value, Boolean.TRUE);
+        }
+    }
+
+//Public///////////////////////////////////////////////////////////////////////
+
+    /**
+     * Opens a new arena on a runtime, within the innermost arena that is currently
+     * open, if any.
+     *
+     * @param v8 V8 runtime to open the arena on.
+     *
+     * @return The opened arena. It is the responsibility of the caller to close it.
+     */
+    public static V8JavaArena open(V8 v8) {
+        V8JavaCache cache = V8JavaAdapter.getCacheForRuntime(v8);
+        V8JavaArena arena = new V8JavaArena(v8, cache, cache.arena);
+        cache.arena = arena;
+        v8.addReferenceHandler(arena);
+        return arena;
+    }
+
+    /**
+     * @param v8 V8 runtime to get the innermost open arena of.
+     *
+     * @return The innermost open arena of the given runtime, or null if none is open.
+     */
+    public static V8JavaArena current(V8 v8) {
+        return V8JavaAdapter.getCacheForRuntime(v8).arena;
+    }
+
+    /**
+     * Escapes a value from this arena, so that it is not released when the arena
+     * closes. If this arena is nested in another one and recorded the value, the
+     * value is released when that other arena closes instead.
+     *
+     * @param value Value to escape.
+     *
+     * @return The passed value.
+     */
+    public <T extends V8Value> T escape(T value) {
+        if (escaped.put(value, Boolean.TRUE) == null && parent != null &&
+            !parent.escaped.containsKey(value) && recorded(value)) {
+            parent.values.add(value);
+        }
+
+        return value;
+    }
+
+    /**
+     * @return Number of values created within this arena that have neither been
+     *         released nor escaped yet.
+     */
+    public int getLiveCount() {
+        if (closed) {
+            return 0;
+        }
+
+        int live = 0;
+        for (V8Value value : values) {
+            if (!value.isReleased() && !escaped.containsKey(value)) {
+                live++;
+            }
+        }
+
+        return live;
+    }
+
+    /**
+     * @return True if this arena has been closed.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Releases every value created within this arena that has neither been released
+     * nor escaped. Closing an arena that is already closed has no effect.
+     *
+     * @throws IllegalStateException If an arena opened within this arena is still open.
+     */
+    @Override public void close() throws IllegalStateException {
+        if (closed) {
+            return;
+        }
+
+        if (cache.arena != this) {
+            throw new IllegalStateException("Arenas must be closed in the reverse order they were opened.");
+        }
+
+        closed = true;
+        cache.arena = parent;
+        v8.removeReferenceHandler(this);
+
+        if (!v8.isReleased()) {
+            for (V8Value value : values) {
+                if (!value.isReleased() && !escaped.containsKey(value)) {
+                    value.release();
+                }
+            }
+        }
+        values = null;
+        escaped.clear();
+    }
+
+    @Override public void v8HandleCreated(V8Value object) {
+        // Only the innermost arena records values.
+        if (cache.arena == this) {
+            values.add(object);
+            if (values.size() >= PRUNE_THRESHOLD && releasedSincePrune * 2 > values.size()) {
+                prune();
+            }
+        }
+    }
+
+    @Override public void v8HandleDisposed(V8Value object) {
+        if (cache.arena == this) {
+            releasedSincePrune++;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package io.alicorn.v8;
+
+import com.eclipsesource.v8.Releasable;
+import com.eclipsesource.v8.V8Array;
+import com.eclipsesource.v8.V8ArrayBuffer;
+import com.eclipsesource.v8.V8Function;
+import com.eclipsesource.v8.V8Object;
+import com.eclipsesource.v8.V8ResultUndefined;
+import com.eclipsesource.v8.V8TypedArray;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Arguments of a single JS invocation of a Java method or constructor, fetched
+ * from V8 once and classified by kind.
+ *
+ * The kind of an argument is the class of a primitive value, the class of the
+ * Java object bound to a JS object, one of {@link V8Function}, {@link V8TypedArray},
+ * {@link V8Array}, {@link V8ArrayBuffer} or {@link V8Object} for other JS values,
+ * or null for null and undefined.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+final class V8JavaArguments {
+//Private//////////////////////////////////////////////////////////////////////
+
+    private final Object[] values;
+    private final Class<?>[] kinds;
+
+    // Java objects bound to JS object arguments, or null for any other arguments.
+    private final Object[] javaObjects;
+
+    // Lazy views of the arguments, released along with them.
+    private List<Releasable> views = null;
+
+    // Why the arguments did not match the last signature they were translated to, if they did not.
+    private IllegalArgumentException mismatch = null;
+
+    private V8JavaArguments(Object[] values, Class<?>[] kinds, Object[] javaObjects) {
+        this.values = values;
+        this.kinds = kinds;
+        this.javaObjects = javaObjects;
+    }
+
+//Protected////////////////////////////////////////////////////////////////////
+
+    /**
+     * Kind of JS functions when the runtime has a GC executor, and they may
+     * therefore also be passed as plain Java objects.
+     */
+    static final Class<?> GC_ABLE_FUNCTION_KIND = JsBasedCallBack.class;
+
+    /**
+     * Kind of JS objects bound to Java objects that have aged out.
+     */
+    static final Class<?> AGED_OUT_KIND = Void.class;
+
+    /**
+     * Returns true if the passed kind represents a JS object bound to a Java object.
+     */
+    static boolean isJavaObjectKind(Class<?> kind) {
+        return kind != null &&
+               !isPrimitiveKind(kind) &&
+               kind != V8Function.class &&
+               kind != GC_ABLE_FUNCTION_KIND &&
+               kind != V8TypedArray.class &&
+               kind != V8Array.class &&
+               kind != V8ArrayBuffer.class &&
+               kind != V8Object.class &&
+               kind != AGED_OUT_KIND;
+    }
+
+    /**
+     * Returns true if the passed kind represents a primitive JS value.
+     */
+    static boolean isPrimitiveKind(Class<?> kind) {
+        return kind == String.class ||
+               kind == Boolean.class ||
+               kind == Short.class ||
+               kind == Integer.class ||
+               kind == Long.class ||
+               kind == Float.class ||
+               kind == Double.class;
+    }
+
+    /**
+     * Registers a lazy view created for these arguments, so that it is released along with them.
+     */
+    void addView(Releasable view) {
+        if (views == null) {
+            views = new ArrayList<Releasable>();
+        }
+        views.add(view);
+    }
+
+    /**
+     * Records why these arguments did not match a signature they were translated to.
+     */
+    void setMismatch(IllegalArgumentException mismatch) {
+        this.mismatch = mismatch;
+    }
+
+//Public///////////////////////////////////////////////////////////////////////
+
+    /**
+     * Fetches and classifies the arguments of a JS invocation.
+     *
+     * It is the responsibility of the caller of this method to invoke {@link #release()}
+     * on the returned arguments.
+     *
+     * @param parameters Arguments of the JS invocation.
+     * @param receiver Receiver of the JS invocation.
+     * @param cache V8JavaCache associated with the given V8 runtime.
+     *
+     * @return The fetched arguments.
+     */
+    public static V8JavaArguments fetch(V8Array parameters, V8Object receiver, V8JavaCache cache) {
+        Object[] values = V8JavaObjectUtils.getJavascriptArguments(parameters);
+        Class<?>[] kinds = new Class<?>[values.length];
+        Object[] javaObjects = null;
+
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                kinds[i] = null;
+            } else if (value instanceof V8Function) {
+                kinds[i] = V8JavaObjectUtils.isGcExecutorSpecified(receiver.getRuntime()) ? GC_ABLE_FUNCTION_KIND : V8Function.class;
+            } else if (value instanceof V8TypedArray) {
+                kinds[i] = V8TypedArray.class;
+            } else if (value instanceof V8Array) {
+                kinds[i] = V8Array.class;
+            } else if (value instanceof V8ArrayBuffer) {
+                kinds[i] = V8ArrayBuffer.class;
+            } else if (value instanceof V8Object) {
+                V8Object object = (V8Object) value;
+                if (object.isUndefined()) {
+                    kinds[i] = null;
+                } else {
+                    int handle = cache.getJavaObjectHandle(object);
+                    if (handle == 0) {
+                        kinds[i] = V8Object.class;
+                    } else {
+                        Object javaObject = cache.javaObjectHandles.get(handle);
+                        if (javaObject == null) {
+                            kinds[i] = AGED_OUT_KIND;
+                        } else {
+                            if (javaObjects == null) {
+                                javaObjects = new Object[values.length];
+                            }
+                            javaObjects[i] = javaObject;
+                            kinds[i] = javaObject.getClass();
+                        }
+                    }
+                }
+            } else {
+                kinds[i] = value.getClass();
+            }
+        }
+
+        return new V8JavaArguments(values, kinds, javaObjects);
+    }
+
+    /**
+     * Fetches the arguments of a JS invocation in bulk if all of them are numbers.
+     *
+     * Numbers are fetched with a single call into V8, which fails if any argument is not
+     * a number, and need no releasing. This makes it considerably cheaper than
+     * {@link #fetch(V8Array, V8Object, V8JavaCache)}, which crosses into V8 once per
+     * argument. The kind of each number is derived from its value the same way V8 does:
+     * 32-bit integers other than negative zero are integers, anything else is a double.
+     *
+     * @param parameters Arguments of the JS invocation.
+     *
+     * @return The fetched arguments, or null if any of them is not a number.
+     */
+    public static V8JavaArguments fetchNumbers(V8Array parameters) {
+        final int length = parameters.length();
+        final double[] numbers;
+        try {
+            numbers = parameters.getDoubles(0, length);
+        } catch (V8ResultUndefined e) {
+            return null;
+        }
+
+        Object[] values = new Object[length];
+        Class<?>[] kinds = new Class<?>[length];
+        for (int i = 0; i < length; i++) {
+            double number = numbers[i];
+            int integer = (int) number;
+            if (integer == number && (integer != 0 || 1 / number > 0)) {
+                values[i] = Integer.valueOf(integer);
+                kinds[i] = Integer.class;
+            } else {
+                values[i] = Double.valueOf(number);
+                kinds[i] = Double.class;
+            }
+        }
+
+        return new V8JavaArguments(values, kinds, null);
+    }
+
+    /**
+     * @return Number of arguments.
+     */
+    public int length() {
+        return values.length;
+    }
+
+    /**
+     * @return The arguments as fetched from V8.
+     */
+    public Object[] getValues() {
+        return values;
+    }
+
+    /**
+     * @return The kind of every argument. The returned array must not be modified.
+     */
+    public Class<?>[] getKinds() {
+        return kinds;
+    }
+
+    /**
+     * @param index Index of the argument.
+     *
+     * @return The Java object bound to the argument, or null if it is not bound to one.
+     */
+    public Object getJavaObject(int index) {
+        return javaObjects == null ? null : javaObjects[index];
+    }
+
+    /**
+     * @return Why these arguments did not match the last signature they were translated to,
+     *         or null if no translation failed.
+     */
+    public IllegalArgumentException getMismatch() {
+        return mismatch;
+    }
+
+    /**
+     * Creates the exception reporting that no signature accepts these arguments.
+     *
+     * @param message Message of the exception, to which the kinds of these arguments
+     *                and the reason of the last mismatch, if any, are appended.
+     *
+     * @return The exception, caused by the last mismatch, if any.
+     */
+    public IllegalArgumentException noSignatureFound(String message) {
+        StringBuilder errorMessage = new StringBuilder(message).append(" [");
+        for (int i = 0; i < kinds.length; i++) {
+            errorMessage.append(i == 0 ? "" : ", ").append(kinds[i] == null ? "null" : kinds[i].getSimpleName());
+        }
+        errorMessage.append(']');
+        if (mismatch != null) {
+            errorMessage.append(": ").append(mismatch.getMessage());
+        }
+
+        return new IllegalArgumentException(errorMessage.toString(), mismatch);
+    }
+
+    /**
+     * Releases any {@link com.eclipsesource.v8.V8Value}s among the arguments, and any
+     * lazy views created for them.
+     */
+    public void release() {
+        if (views != null) {
+            for (Releasable view : views) {
+                view.release();
+            }
+            views = null;
+        }
+        V8JavaObjectUtils.releaseJavascriptArguments(values);
+    }
+}
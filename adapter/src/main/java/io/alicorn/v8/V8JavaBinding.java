@@ -0,0 +1,184 @@
+package io.alicorn.v8;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Base class of the bindings generated at compile time by the v8-adapter-processor
+ * annotation processor.
+ *
+ * A binding is generated next to every class using the adapter's annotations, and
+ * named after it with the {@link #BINDING_CLASS_SUFFIX} suffix. It calls the public
+ * methods and constructors of its class directly from a switch instead of through
+ * reflection. When a binding is present, it is picked up automatically the first
+ * time its class is injected; members it does not cover are still invoked
+ * reflectively.
+ *
+ * This class is not meant to be extended by hand.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+public abstract class V8JavaBinding {
+//Private//////////////////////////////////////////////////////////////////////
+
+    private final Class<?> boundClass;
+
+    // Keys of the members of the bound class, mapped to their index in the generated switch.
+    private final Map<String, Integer> members = new HashMap<String, Integer>();
+
+    /**
+     * Invoker calling a single member of a binding.
+     */
+    private static final class BindingInvoker extends V8JavaInvoker {
+        private final V8JavaBinding binding;
+        private final int member;
+
+        private BindingInvoker(V8JavaBinding binding, int member) {
+            this.binding = binding;
+            this.member = member;
+        }
+
+        @Override public Object invoke(Object target, Object[] arguments) throws InvocationTargetException {
+            try {
+                return binding.invoke(member, target, arguments);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+    }
+
+    /**
+     * Returns the name of a type as it appears in member keys.
+     */
+    private static String getTypeName(Class<?> type) {
+        if (type.isArray()) {
+            return getTypeName(type.getComponentType()) + "[]";
+        }
+
+        String name = type.getCanonicalName();
+        return name == null ? type.getName() : name;
+    }
+
+//Protected////////////////////////////////////////////////////////////////////
+
+    /**
+     * Name of the member key of constructors.
+     */
+    protected static final String CONSTRUCTOR_NAME = "<init>";
+
+    /**
+     * @param boundClass Class bound by this binding.
+     * @param memberKeys Keys of the members of the class, in the order of their index in
+     *                   {@link #invoke(int, Object, Object[])}.
+     */
+    protected V8JavaBinding(Class<?> boundClass, String... memberKeys) {
+        this.boundClass = boundClass;
+        for (int i = 0; i < memberKeys.length; i++) {
+            members.put(memberKeys[i], i);
+        }
+    }
+
+    /**
+     * Invokes a member of the bound class.
+     *
+     * @param member Index of the member to invoke.
+     * @param target Object to invoke an instance method on; ignored for static methods and constructors.
+     * @param arguments Translated Java arguments, with any varargs already collected into an array.
+     *
+     * @return The return value of the method, null for void methods, or the new instance of the constructor.
+     *
+     * @throws Throwable Anything thrown by the member.
+     */
+    protected abstract Object invoke(int member, Object target, Object[] arguments) throws Throwable;
+
+    /**
+     * Returns the generated binding of a class.
+     *
+     * @param classy Class to get the binding of.
+     *
+     * @return The binding of the class, or null if none was generated for it.
+     */
+    static V8JavaBinding forClass(Class<?> classy) {
+        final Class<?> bindingClass;
+        try {
+            bindingClass = Class.forName(classy.getName() + BINDING_CLASS_SUFFIX, true, classy.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (LinkageError e) {
+            return null;
+        }
+
+        if (!V8JavaBinding.class.isAssignableFrom(bindingClass)) {
+            return null;
+        }
+
+        try {
+            V8JavaBinding binding = (V8JavaBinding) bindingClass.newInstance();
+            return binding.getBoundClass() == classy ? binding : null;
+        } catch (InstantiationException e) {
+            throw new IllegalArgumentException("Binding " + bindingClass.getName() + " could not be created.", e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Binding " + bindingClass.getName() + " could not be created.", e);
+        }
+    }
+
+    /**
+     * Returns the key identifying a method or constructor within its class, in the
+     * form {@code name(parameterType,...)} with canonical parameter type names.
+     *
+     * @param member Method or constructor to get the key of.
+     *
+     * @return The key of the member.
+     */
+    static String getMemberKey(Member member) {
+        final Class<?>[] parameterTypes;
+        final StringBuilder key = new StringBuilder();
+        if (member instanceof Constructor) {
+            key.append(CONSTRUCTOR_NAME);
+            parameterTypes = ((Constructor<?>) member).getParameterTypes();
+        } else {
+            key.append(member.getName());
+            parameterTypes = ((Method) member).getParameterTypes();
+        }
+
+        key.append('(');
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                key.append(',');
+            }
+            key.append(getTypeName(parameterTypes[i]));
+        }
+
+        return key.append(')').toString();
+    }
+
+    /**
+     * Returns an invoker calling a member of the bound class through this binding.
+     *
+     * @param member Method or constructor of the bound class.
+     *
+     * @return An invoker for the member, or null if this binding does not cover it.
+     */
+    V8JavaInvoker getInvoker(Member member) {
+        Integer index = members.get(getMemberKey(member));
+        return index == null ? null : new BindingInvoker(this, index);
+    }
+
+//Public///////////////////////////////////////////////////////////////////////
+
+    /**
+     * Suffix appended to the binary name of a class to get the name of its binding.
+     */
+    public static final String BINDING_CLASS_SUFFIX = "$$V8Binding";
+
+    /**
+     * @return The class bound by this binding.
+     */
+    public final Class<?> getBoundClass() {
+        return boundClass;
+    }
+}
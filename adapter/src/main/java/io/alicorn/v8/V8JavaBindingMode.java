@@ -0,0 +1,36 @@
+package io.alicorn.v8;
+
+/**
+ * Strategies used when binding the methods of an injected Java object to its
+ * JS counterpart.
+ *
+ * The binding mode of a class is fixed the first time that class is injected
+ * into a runtime; changing the mode of a runtime only affects classes injected
+ * afterwards.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+public enum V8JavaBindingMode {
+
+    /**
+     * Every JS object receives its own set of method callbacks when its Java
+     * object is attached. Attaching an object costs one native callback
+     * registration per public method of its class.
+     */
+    INSTANCE,
+
+    /**
+     * Methods are registered once per class on a shared JS prototype, and each
+     * call resolves its Java object from the handle of the receiver. Attaching
+     * an object costs the same regardless of how many methods its class has.
+     */
+    PROTOTYPE,
+
+    /**
+     * Like {@link #PROTOTYPE}, except that methods and properties are only
+     * registered on the shared JS prototype the first time they are accessed,
+     * through a JS Proxy placed behind the prototype. Injecting a class costs
+     * nothing per method until its methods are actually used.
+     */
+    LAZY
+}
@@ -0,0 +1,234 @@
+package io.alicorn.v8;
+
+import com.eclipsesource.v8.V8;
+import com.eclipsesource.v8.V8ArrayBuffer;
+import com.eclipsesource.v8.V8Function;
+import com.eclipsesource.v8.V8Object;
+import com.eclipsesource.v8.V8Value;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Centralized cache for resources created via the {@link V8JavaAdapter}. This class
+ * is not meant to be used directly by API consumers; any actions should be performed
+ * via the {@link V8JavaAdapter} class.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+final class V8JavaCache {
+    /**
+     * Cache of Java classes injected into V8 via the {@link V8JavaAdapter}.
+     */
+    final Map<Class<?>, V8JavaClassProxy> cachedV8JavaClasses = new HashMap<Class<?>, V8JavaClassProxy>();
+
+    /**
+     * Cache of Java objects created through V8 via a {@link V8JavaClassProxy}.
+     */
+    final V8JavaHandleTable javaObjectHandles = new V8JavaHandleTable();
+
+    /**
+     * Handle and JS object of each Java object attached to a JS object, keyed by
+     * the identity of the Java object. Entries keep their Java objects alive until
+     * V8 collects their JS objects.
+     */
+    final V8JavaIdentityMap javaObjectIdentities = new V8JavaIdentityMap();
+
+    /**
+     * Direct buffers shared with JS as ArrayBuffers, kept alive until V8 collects
+     * their ArrayBuffers.
+     */
+    final V8JavaSharedBuffers sharedBuffers = new V8JavaSharedBuffers();
+
+    /**
+     * Binding mode used by classes injected into the runtime from now on.
+     */
+    V8JavaBindingMode bindingMode = V8JavaBindingMode.INSTANCE;
+
+    /**
+     * Compiled function wrapping injected collections in array-like proxies, see {@link V8JavaIterableProxy}.
+     */
+    V8Function iterableProxyFactory = null;
+
+    /**
+     * Compiled function creating the empty JS objects of objects injected in a batch,
+     * see {@link V8JavaAdapter#injectObjects(Map, V8Object)}.
+     */
+    V8Function shellsFactory = null;
+
+    /**
+     * Compiled function deleting the global variables injected within a scope, see
+     * {@link V8JavaScope}.
+     */
+    V8Function deleteGlobalsFunction = null;
+
+    /**
+     * JS side of the value transfer format, see {@link V8JavaValueTransfer}.
+     */
+    V8Object valueTransferCodec = null;
+
+    /**
+     * Innermost open arena of the runtime, see {@link V8JavaArena}.
+     */
+    V8JavaArena arena = null;
+
+    /**
+     * Escapes a value the adapter keeps for itself from every open arena, if any.
+     *
+     * @param value Value to escape.
+     */
+    void retain(V8Value value) {
+        if (arena != null) {
+            arena.retain(value);
+        }
+    }
+
+    /**
+     * Escapes a value owned by its runtime from every open arena, and registers it
+     * with the runtime so that it is released along with it.
+     *
+     * @param resource Value to register.
+     */
+    void registerResource(V8Value resource) {
+        retain(resource);
+        resource.getRuntime().registerResource(resource);
+    }
+
+    /**
+     * Innermost open scope of the runtime, see {@link V8JavaScope}.
+     */
+    V8JavaScope scope = null;
+
+    /**
+     * Tags a Java object handle with the innermost open scope, if any.
+     *
+     * @param handle Handle of a newly attached Java object.
+     */
+    void registerHandle(int handle) {
+        if (scope != null) {
+            scope.addHandle(handle);
+        }
+    }
+
+    /**
+     * Tags a variable injected into a V8 object with the innermost open scope, if any
+     * and if the variable is global.
+     *
+     * @param rootObject V8 object the variable was injected into.
+     * @param name Name of the injected variable.
+     */
+    void registerVariable(V8Object rootObject, String name) {
+        if (scope != null && rootObject instanceof V8) {
+            scope.addGlobal(name);
+        }
+    }
+
+    /**
+     * Registers the JS object a Java object has been attached to, so that it can
+     * be retrieved later via {@link #getJsObject(Object)}.
+     *
+     * @param handle Handle of the attached Java object.
+     * @param jsObject JS object the Java object is attached to.
+     */
+    void registerJsObject(int handle, V8Object jsObject) {
+        V8Object twin = jsObject.twin();
+        retain(twin);
+        javaObjectIdentities.put(javaObjectHandles.get(handle), handle, twin);
+    }
+
+    /**
+     * Registers the ArrayBuffer a direct buffer has been shared with JS through, so
+     * that the buffer is kept alive for as long as JS can reach the ArrayBuffer.
+     *
+     * @param arrayBuffer ArrayBuffer created over the direct buffer.
+     * @param buffer Direct buffer backing the ArrayBuffer.
+     */
+    void registerSharedBuffer(V8ArrayBuffer arrayBuffer, ByteBuffer buffer) {
+        V8ArrayBuffer twin = arrayBuffer.twin();
+        retain(twin);
+        sharedBuffers.put(twin, buffer);
+    }
+
+    /**
+     * Returns the JS object a Java object has been attached to.
+     *
+     * It is the responsibility of the caller to release the returned object.
+     *
+     * @param javaObject The attached Java object.
+     *
+     * @return The JS object the Java object is attached to, or null if none is registered.
+     */
+    V8Object getJsObject(Object javaObject) {
+        V8JavaIdentityMap.Entry entry = javaObjectIdentities.get(javaObject);
+        if (entry == null || entry.jsObject.isReleased() || javaObjectHandles.get(entry.handle) != javaObject) {
+            return null;
+        }
+
+        return entry.jsObject.twin();
+    }
+
+    /**
+     * Returns the Java object handle attached to a JS object.
+     *
+     * @param jsObject JS object to look up the Java object handle of.
+     *
+     * @return The attached Java object handle, or zero if the JS object has none.
+     */
+    int getJavaObjectHandle(V8Object jsObject) {
+        Object handle = jsObject.get(V8JavaObjectUtils.JAVA_OBJECT_HANDLE_ID);
+        if (handle instanceof Integer) {
+            return (Integer) handle;
+        }
+
+        V8JavaObjectUtils.releaseIfV8Value(handle);
+        return 0;
+    }
+
+    /**
+     * Returns the Java object attached to a JS object.
+     *
+     * @param jsObject JS object to look up the Java object of.
+     *
+     * @return The attached Java object.
+     *
+     * @throws IllegalArgumentException If the JS object has no Java object attached,
+     *         or if the attached Java object has aged out.
+     */
+    Object getJavaObject(V8Object jsObject) throws IllegalArgumentException {
+        int handle = getJavaObjectHandle(jsObject);
+        if (handle == 0) {
+            throw new IllegalArgumentException("Receiver is not bound to a Java object.");
+        }
+
+        Object javaObject = javaObjectHandles.get(handle);
+        if (javaObject == null) {
+            throw new IllegalArgumentException("Receiver has invalid Java object handle or object referenced by handle has aged out.");
+        }
+
+        return javaObject;
+    }
+
+    /**
+     * Maximum number of garbage collected Java objects reclaimed by a single call
+     * to {@link #removeGarbageCollectedJavaObjects()}.
+     */
+    static final int RECLAIM_BATCH_SIZE = 64;
+
+    /**
+     * Removes a bounded batch of garbage collected objects from the object cache.
+     *
+     * Java objects whose JS objects have been collected by V8 are no longer kept
+     * alive, and the handles of Java objects collected by Java are released, as are
+     * ArrayBuffers whose views Java has collected. Only
+     * objects the garbage collectors have already found unreachable are removed;
+     * this method never invokes a garbage collector itself. It is invoked whenever
+     * a Java object is attached to a JS object, so collected objects are reclaimed
+     * incrementally as the runtime is used.
+     */
+    public void removeGarbageCollectedJavaObjects() {
+        javaObjectIdentities.removeReleased(RECLAIM_BATCH_SIZE);
+        javaObjectHandles.removeCollected(RECLAIM_BATCH_SIZE);
+        sharedBuffers.removeUnreachable(RECLAIM_BATCH_SIZE);
+    }
+}
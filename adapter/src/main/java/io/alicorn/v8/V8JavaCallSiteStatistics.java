@@ -0,0 +1,72 @@
+package io.alicorn.v8;
+
+/**
+ * Snapshot of how well the inline cache of a single injected Java method or
+ * constructor resolves the overloads it is invoked with from JS.
+ *
+ * Call sites that keep missing are invoked with many different combinations
+ * of argument types, and are marked as megamorphic for as long as they do.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+public final class V8JavaCallSiteStatistics {
+//Private//////////////////////////////////////////////////////////////////////
+
+    private final Class<?> classy;
+    private final String methodName;
+    private final long hits;
+    private final long misses;
+    private final boolean megamorphic;
+
+//Protected////////////////////////////////////////////////////////////////////
+
+    V8JavaCallSiteStatistics(Class<?> classy, String methodName, V8JavaDispatchTable dispatchTable) {
+        this.classy = classy;
+        this.methodName = methodName;
+        this.hits = dispatchTable.getHits();
+        this.misses = dispatchTable.getMisses();
+        this.megamorphic = dispatchTable.isMegamorphic();
+    }
+
+//Public///////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return The Java class owning the call site.
+     */
+    public Class<?> getDeclaringClass() {
+        return classy;
+    }
+
+    /**
+     * @return Name of the Java method of the call site, or "new" for constructors.
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * @return Number of invocations resolved by the inline cache.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return Number of invocations that required a full overload resolution.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return True if the call site is currently skipping its inline cache.
+     */
+    public boolean isMegamorphic() {
+        return megamorphic;
+    }
+
+    @Override public String toString() {
+        return classy.getName() + "." + methodName + " [hits=" + hits + ", misses=" + misses +
+               (megamorphic ? ", megamorphic]" : "]");
+    }
+}
@@ -0,0 +1,341 @@
+package io.alicorn.v8;
+
+import io.alicorn.v8.annotations.*;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Immutable description of the constructors, methods and bean properties of a
+ * Java class that are exposed to V8.
+ *
+ * Descriptors do not depend on any V8 runtime, and are shared by every runtime
+ * of the JVM, so the reflective scan of a class only happens once no matter how
+ * many runtimes the class is injected into. Each runtime then only binds the
+ * descriptor to its own {@link V8JavaClassProxy}.
+ *
+ * This class is thread safe.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+final class V8JavaClassDescriptor {
+//Private//////////////////////////////////////////////////////////////////////
+
+    // Prefixes for Java beans property methods
+    private final static String BEAN_SETTER_PREFIX = "set";
+    private final static String BEAN_GETTER_PREFIX = "get";
+    private final static String BEAN_BOOLEAN_GETTER_PREFIX = "is";
+
+    // Descriptors of all classes described so far. Descriptors are only weakly referenced,
+    // and live as long as any runtime uses them; classes remain eligible for unloading.
+    private static final Map<Class<?>, WeakReference<V8JavaClassDescriptor>> descriptors =
+            new WeakHashMap<Class<?>, WeakReference<V8JavaClassDescriptor>>();
+
+    private final Class<?> classy;
+
+    private final List<V8JavaSignature> constructors;
+    private final V8JavaSignature noArgConstructor;
+    private final boolean[] numericConstructorArities;
+
+    private final Map<String, List<V8JavaSignature>> staticMethods;
+    private final Map<String, List<V8JavaSignature>> instanceMethods;
+    private final Map<String, V8JavaSignature> getters;
+    private final Map<String, V8JavaSignature> setters;
+
+    // Names and no-arg getters of the properties read when transferring instances by value.
+    private final String[] propertyNames;
+    private final V8JavaSignature[] propertyGetters;
+
+    /**
+     * Gets the equivalent Javascript property name based on the name of a Java method.
+     *
+     * TODO: This method is used only statically, so varargs is inappropriate and will
+     *       generate garbage during class injection. Optimize?
+     *
+     * @param methodName Java method name to get the equivalent Javascript property name of.
+     * @param propertyPrefixes Possible prefixes the Java method name can have.
+     *
+     * @return The equivalent Javascript property name based on the name of the Java method.
+     */
+    private static String getJsGetterSetterPropertyName(String methodName, String... propertyPrefixes) {
+
+        // Get the property name based on our prefixes.
+        String propertyName = methodName;
+        for (String propertyPrefix : propertyPrefixes) {
+            if (hasPrefix(methodName, propertyPrefix)) {
+                propertyName = methodName.substring(propertyPrefix.length());
+                break;
+            }
+        }
+
+        // Convert the first character to lower case if it is not already lower case.
+        if (Character.isUpperCase(propertyName.charAt(0))) {
+            propertyName = Character.toLowerCase(propertyName.charAt(0)) + propertyName.substring(1);
+        }
+
+        return propertyName;
+    }
+
+    /**
+     * Checks if a given Java method name has a prefix associated with a Bean-style getter or setter prefix.
+     *
+     * @param methodName Java method name to check the prefix of.
+     * @param propertyPrefix Prefix to check for.
+     *
+     * @return True if the Java method name has the given prefix, and false otherwise.
+     */
+    private static boolean hasPrefix(String methodName, String propertyPrefix) {
+        return methodName.length() > propertyPrefix.length() && methodName.startsWith(propertyPrefix);
+    }
+
+    /**
+     * Checks if every one of the given parameter types is a number.
+     *
+     * @param parameterTypes Parameter types to check.
+     *
+     * @return True if every parameter type is a primitive or boxed number.
+     */
+    private static boolean isNumeric(Class<?>[] parameterTypes) {
+        for (Class<?> parameterType : parameterTypes) {
+            Class<?> boxedType = V8JavaObjectUtils.boxed(parameterType);
+            if (!Number.class.isAssignableFrom(boxedType)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Adds a signature to the list of signatures stored under a name, creating the list if needed.
+     */
+    private static void addSignature(Map<String, List<V8JavaSignature>> signatures, String name, V8JavaSignature signature) {
+        List<V8JavaSignature> list = signatures.get(name);
+        if (list == null) {
+            list = new ArrayList<V8JavaSignature>();
+            signatures.put(name, list);
+        }
+        list.add(signature);
+    }
+
+    /**
+     * Returns an unmodifiable copy of a map of signature lists.
+     */
+    private static Map<String, List<V8JavaSignature>> unmodifiable(Map<String, List<V8JavaSignature>> signatures) {
+        Map<String, List<V8JavaSignature>> copy = new HashMap<String, List<V8JavaSignature>>();
+        for (Map.Entry<String, List<V8JavaSignature>> entry : signatures.entrySet()) {
+            copy.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+        }
+
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private V8JavaClassDescriptor(Class<?> classy) {
+        this.classy = classy;
+
+        // TODO: Do we want to cache methods from non-final classes to reduce
+        //       the memory footprint of multiple classes with a common base?
+        // TODO: Consider adding support for getter/setter generation being optional in order to reduce memory overhead?
+
+        // Members covered by a binding generated at compile time are invoked without reflection.
+        final V8JavaBinding binding = V8JavaBinding.forClass(classy);
+
+        // Get all public constructors for the given class.
+        List<V8JavaSignature> constructors = new ArrayList<V8JavaSignature>();
+        V8JavaSignature noArgConstructor = null;
+        boolean[] numericConstructorArities = new boolean[0];
+        for (Constructor<?> constructor : classy.getConstructors()) {
+            V8JavaSignature signature = new V8JavaSignature(constructor, binding);
+            constructors.add(signature);
+
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            if (parameterTypes.length == 0) {
+                noArgConstructor = signature;
+            } else if (!constructor.isVarArgs() && isNumeric(parameterTypes)) {
+                if (numericConstructorArities.length <= parameterTypes.length) {
+                    numericConstructorArities = Arrays.copyOf(numericConstructorArities, parameterTypes.length + 1);
+                }
+                numericConstructorArities[parameterTypes.length] = true;
+            }
+        }
+
+        Map<String, List<V8JavaSignature>> staticMethods = new HashMap<String, List<V8JavaSignature>>();
+        Map<String, List<V8JavaSignature>> instanceMethods = new HashMap<String, List<V8JavaSignature>>();
+        Map<String, V8JavaSignature> getters = new HashMap<String, V8JavaSignature>();
+        Map<String, V8JavaSignature> setters = new HashMap<String, V8JavaSignature>();
+
+        // Disable auto-detection of methods if the class has the autodetect disable annotation.
+        final boolean autoDetect = !classy.isAnnotationPresent(JSDisableMethodAutodetect.class);
+
+        // Get all public methods for the given class.
+        for (Method m : classy.getMethods()) {
+
+            // We want to ignore any methods from the base object class for now since that
+            // will take up excess memory for potentially unused features.
+            final boolean explicitlyDeclaredMethod = !m.getDeclaringClass().equals(Object.class)
+                    //generated by compiler methods should be ignored as well: exceeded memory + unpredictable "overload-like" behaviour
+                    && !m.isBridge()
+                    && !m.isSynthetic();
+
+            if (explicitlyDeclaredMethod) {
+                final String methodName = m.getName();
+                final V8JavaSignature signature = new V8JavaSignature(m, binding);
+
+                // Register method.
+                if (Modifier.isStatic(m.getModifiers())) {
+                    if (autoDetect || m.isAnnotationPresent(JSStaticFunction.class)) {
+                        addSignature(staticMethods, methodName, signature);
+                    }
+                } else {
+                    if (autoDetect || m.isAnnotationPresent(JSFunction.class)) {
+                        addSignature(instanceMethods, methodName, signature);
+                    }
+
+                    // Store any detected getters and setters for later injection via .injectGetterAndSetterProperties()
+                    if (autoDetect && hasPrefix(methodName, BEAN_SETTER_PREFIX) || m.isAnnotationPresent(JSSetter.class)) {
+                        final String setterPropertyName = getJsGetterSetterPropertyName(methodName, BEAN_SETTER_PREFIX);
+                        setters.put(setterPropertyName, signature);
+
+                    } else if (autoDetect &&
+                              (hasPrefix(methodName, BEAN_GETTER_PREFIX) || hasPrefix(methodName, BEAN_BOOLEAN_GETTER_PREFIX)) ||
+                               m.isAnnotationPresent(JSGetter.class)) {
+                        final String getterPropertyName = getJsGetterSetterPropertyName(methodName, BEAN_GETTER_PREFIX,
+                                                                                        BEAN_BOOLEAN_GETTER_PREFIX);
+                        getters.put(getterPropertyName, signature);
+                    }
+                }
+            }
+        }
+
+        this.constructors = Collections.unmodifiableList(constructors);
+        this.noArgConstructor = noArgConstructor;
+        this.numericConstructorArities = numericConstructorArities;
+        this.staticMethods = unmodifiable(staticMethods);
+        this.instanceMethods = unmodifiable(instanceMethods);
+        this.getters = Collections.unmodifiableMap(getters);
+        this.setters = Collections.unmodifiableMap(setters);
+
+        List<String> propertyNames = new ArrayList<String>();
+        List<V8JavaSignature> propertyGetters = new ArrayList<V8JavaSignature>();
+        for (Map.Entry<String, V8JavaSignature> getter : getters.entrySet()) {
+            if (((Method) getter.getValue().getMember()).getParameterTypes().length == 0) {
+                propertyNames.add(getter.getKey());
+                propertyGetters.add(getter.getValue());
+            }
+        }
+        this.propertyNames = propertyNames.toArray(new String[propertyNames.size()]);
+        this.propertyGetters = propertyGetters.toArray(new V8JavaSignature[propertyGetters.size()]);
+    }
+
+//Protected////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return Names of the properties exposed by no-arg getters, in the same order as
+     *         {@link #getPropertyGetters()}. The array must not be modified.
+     */
+    String[] getPropertyNames() {
+        return propertyNames;
+    }
+
+    /**
+     * @return Signatures of the no-arg getters, in the same order as {@link #getPropertyNames()}.
+     *         The array must not be modified.
+     */
+    V8JavaSignature[] getPropertyGetters() {
+        return propertyGetters;
+    }
+
+//Public///////////////////////////////////////////////////////////////////////
+
+    /**
+     * Returns the descriptor of a Java class, scanning the class if it has not been
+     * described yet.
+     *
+     * @param classy Class to get the descriptor of.
+     *
+     * @return The descriptor of the class.
+     */
+    public static V8JavaClassDescriptor forClass(Class<?> classy) {
+        synchronized (descriptors) {
+            WeakReference<V8JavaClassDescriptor> reference = descriptors.get(classy);
+            V8JavaClassDescriptor descriptor = reference == null ? null : reference.get();
+            if (descriptor != null) {
+                return descriptor;
+            }
+        }
+
+        // Scan outside of the lock; if two threads race, the first descriptor stored wins.
+        V8JavaClassDescriptor descriptor = new V8JavaClassDescriptor(classy);
+        synchronized (descriptors) {
+            WeakReference<V8JavaClassDescriptor> reference = descriptors.get(classy);
+            V8JavaClassDescriptor existing = reference == null ? null : reference.get();
+            if (existing != null) {
+                return existing;
+            }
+
+            descriptors.put(classy, new WeakReference<V8JavaClassDescriptor>(descriptor));
+            return descriptor;
+        }
+    }
+
+    /**
+     * @return The class described by this descriptor.
+     */
+    public Class<?> getDescribedClass() {
+        return classy;
+    }
+
+    /**
+     * @return Unmodifiable list of the public constructors of the class.
+     */
+    public List<V8JavaSignature> getConstructors() {
+        return constructors;
+    }
+
+    /**
+     * @return The public no-arg constructor of the class, or null if it has none.
+     */
+    public V8JavaSignature getNoArgConstructor() {
+        return noArgConstructor;
+    }
+
+    /**
+     * @param arity Number of arguments.
+     *
+     * @return True if the class has a public constructor taking the given number of numbers.
+     */
+    public boolean hasNumericConstructor(int arity) {
+        return arity < numericConstructorArities.length && numericConstructorArities[arity];
+    }
+
+    /**
+     * @return Unmodifiable map of the names of the exposed static methods to their signatures.
+     */
+    public Map<String, List<V8JavaSignature>> getStaticMethods() {
+        return staticMethods;
+    }
+
+    /**
+     * @return Unmodifiable map of the names of the exposed instance methods to their signatures.
+     */
+    public Map<String, List<V8JavaSignature>> getInstanceMethods() {
+        return instanceMethods;
+    }
+
+    /**
+     * @return Unmodifiable map of JS property names to the signatures of their getters.
+     */
+    public Map<String, V8JavaSignature> getGetters() {
+        return getters;
+    }
+
+    /**
+     * @return Unmodifiable map of JS property names to the signatures of their setters.
+     */
+    public Map<String, V8JavaSignature> getSetters() {
+        return setters;
+    }
+}
@@ -34,7 +34,8 @@ public interface V8JavaClassInterceptor<T> {
      * respectively. The {@code context} variable will contain all of the top-level
      * properties that were set onto the {@code context} variable provided to this
      * class's {@link #onInject(V8JavaClassInterceptorContext, Object)} and
-     * {@link #onExtract(V8JavaClassInterceptorContext, Object)} methods.
+     * {@link #onExtract(V8JavaClassInterceptorContext, Object)} methods; see
+     * {@link V8JavaSchemaClassInterceptor} for contexts passed as plain JS objects.
      *
      * @return Body of a JS constructor function that this interceptor
      *         will be used with.
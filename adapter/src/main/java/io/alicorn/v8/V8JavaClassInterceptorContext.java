@@ -0,0 +1,135 @@
+package io.alicorn.v8;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lightweight class for handling contexts for {@link V8JavaClassInterceptor}s.
+ *
+ * Contexts of a {@link V8JavaSchemaClassInterceptor} store their properties in a
+ * fixed array of slots described by a {@link V8JavaClassInterceptorSchema}, which
+ * is allocated once per intercepted object and reused by every injection and
+ * extraction. Other contexts store their properties in a map.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+public final class V8JavaClassInterceptorContext {
+//Private//////////////////////////////////////////////////////////////////////
+
+    private final V8JavaClassInterceptorSchema schema;
+
+    // Properties of a context with a schema, indexed by slot.
+    private final Object[] slots;
+
+    // Properties of a context without a schema.
+    private final Map<String, Object> internalContext;
+
+    /**
+     * @return Slot of a property of a context with a schema.
+     */
+    private int slotOf(String name) {
+        int slot = schema.getSlot(name);
+        if (slot < 0) {
+            throw new IllegalArgumentException("Intercepted context has no property named " + name);
+        }
+
+        return slot;
+    }
+
+//Protected////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param schema Schema of the context, or null for a context without a schema.
+     */
+    V8JavaClassInterceptorContext(V8JavaClassInterceptorSchema schema) {
+        this.schema = schema;
+        this.slots = schema == null ? null : new Object[schema.size()];
+        this.internalContext = schema == null ? new HashMap<String, Object>() : null;
+    }
+
+    /**
+     * @return Properties of a context with a schema, indexed by slot.
+     */
+    Object[] getSlots() {
+        return slots;
+    }
+
+//Public///////////////////////////////////////////////////////////////////////
+
+    public V8JavaClassInterceptorContext() {
+        this(null);
+    }
+
+    /**
+     * @return Schema of this context, or null if it has none.
+     */
+    public V8JavaClassInterceptorSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Sets a property on this intercepted context.
+     *
+     * @param name Name of the property to set.
+     * @param value Value to set it to.
+     *
+     * @throws IllegalArgumentException If this context has a schema without a field of that name.
+     */
+    public void set(String name, Object value) throws IllegalArgumentException {
+        if (schema != null) {
+            slots[slotOf(name)] = value;
+        } else {
+            internalContext.put(name, value);
+        }
+    }
+
+    /**
+     * Gets a property from this intercepted context.
+     *
+     * @param name Name of the property to get.
+     *
+     * @return Value of the property, or null if it was never set.
+     *
+     * @throws IllegalArgumentException If this context has a schema without a field of that name.
+     */
+    public Object get(String name) throws IllegalArgumentException {
+        if (schema != null) {
+            return slots[slotOf(name)];
+        } else {
+            return internalContext.get(name);
+        }
+    }
+
+    /**
+     * Sets a property on this intercepted context by the slot of its field.
+     *
+     * @param slot Slot of the property, as given by {@link V8JavaClassInterceptorSchema#getSlot(String)}.
+     * @param value Value to set it to.
+     *
+     * @throws IllegalStateException If this context has no schema.
+     */
+    public void set(int slot, Object value) throws IllegalStateException {
+        if (schema == null) {
+            throw new IllegalStateException("Intercepted context has no schema.");
+        }
+
+        slots[slot] = value;
+    }
+
+    /**
+     * Gets a property from this intercepted context by the slot of its field.
+     *
+     * @param slot Slot of the property, as given by {@link V8JavaClassInterceptorSchema#getSlot(String)}.
+     *
+     * @return Value of the property, or null if it was never set.
+     *
+     * @throws IllegalStateException If this context has no schema.
+     */
+    public Object get(int slot) throws IllegalStateException {
+        if (schema == null) {
+            throw new IllegalStateException("Intercepted context has no schema.");
+        }
+
+        return slots[slot];
+    }
+}
@@ -0,0 +1,116 @@
+package io.alicorn.v8;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Fixed set of named and typed fields of the {@link V8JavaClassInterceptorContext}s
+ * of a {@link V8JavaSchemaClassInterceptor}.
+ *
+ * Contexts with a schema store their values in an array with one slot per field,
+ * and are passed to JS as plain objects holding one property per field, which all
+ * share the same shape.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+public final class V8JavaClassInterceptorSchema {
+//Private//////////////////////////////////////////////////////////////////////
+
+    // Field names are spliced into scripts, so they must be plain identifiers.
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]*");
+
+    private final String[] names;
+    private final Class<?>[] types;
+    private final Map<String, Integer> slots = new HashMap<String, Integer>();
+
+//Protected////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return Script of a function creating the JS object of a context from the values of its slots.
+     */
+    String getFactoryScript() {
+        StringBuilder script = new StringBuilder("(function() { return {");
+        for (int i = 0; i < names.length; i++) {
+            script.append(i == 0 ? " " : ", ").append(names[i]).append(": arguments[").append(i).append(']');
+        }
+        return script.append(" }; })").toString();
+    }
+
+    /**
+     * @return Script of a function reading the values of all slots from the JS object of a context.
+     */
+    String getReaderScript() {
+        StringBuilder script = new StringBuilder("(function(context) { return [");
+        for (int i = 0; i < names.length; i++) {
+            script.append(i == 0 ? "" : ", ").append("context.").append(names[i]);
+        }
+        return script.append("]; })").toString();
+    }
+
+//Public///////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param names Names of the fields; each must be a valid JS identifier.
+     * @param types Java types of the fields, which values read back from JS are
+     *              translated to.
+     *
+     * @throws IllegalArgumentException If the names and types do not match up, or if
+     *         a name is not a valid JS identifier or is declared twice.
+     */
+    public V8JavaClassInterceptorSchema(String[] names, Class<?>[] types) throws IllegalArgumentException {
+        if (names.length != types.length) {
+            throw new IllegalArgumentException("Every field of an interceptor schema requires exactly one type.");
+        }
+
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] == null || !IDENTIFIER.matcher(names[i]).matches()) {
+                throw new IllegalArgumentException("Interceptor schema field name is not a valid JS identifier: " + names[i]);
+            }
+            if (types[i] == null) {
+                throw new IllegalArgumentException("Not null interceptor schema field types required");
+            }
+            if (slots.put(names[i], i) != null) {
+                throw new IllegalArgumentException("Interceptor schema field declared twice: " + names[i]);
+            }
+        }
+
+        this.names = names.clone();
+        this.types = types.clone();
+    }
+
+    /**
+     * @return Number of fields of this schema.
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * @param slot Slot of the field.
+     *
+     * @return Name of the field.
+     */
+    public String getName(int slot) {
+        return names[slot];
+    }
+
+    /**
+     * @param slot Slot of the field.
+     *
+     * @return Java type of the field.
+     */
+    public Class<?> getType(int slot) {
+        return types[slot];
+    }
+
+    /**
+     * @param name Name of the field.
+     *
+     * @return Slot of the field, or -1 if this schema has no field of that name.
+     */
+    public int getSlot(String name) {
+        Integer slot = slots.get(name);
+        return slot == null ? -1 : slot;
+    }
+}
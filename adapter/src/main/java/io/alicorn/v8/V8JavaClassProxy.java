@@ -0,0 +1,715 @@
+package io.alicorn.v8;
+
+import com.eclipsesource.v8.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.*;
+
+/**
+ * Represents a proxy of a Java class for use within a V8 javascript context.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+final class V8JavaClassProxy implements JavaCallback {
+//Private//////////////////////////////////////////////////////////////////////
+
+    //Class represented by this proxy.
+    private final Class<?> classy;
+    private final V8JavaClassDescriptor descriptor;
+    private final V8JavaClassInterceptor interceptor;
+
+    // Cache for the V8 runtime this proxy exists on.
+    private final V8JavaCache cache;
+
+    //Methods owned by this proxy.
+    private final Map<String, V8JavaStaticMethodProxy> staticMethods = new HashMap<String, V8JavaStaticMethodProxy>();
+    /**Package access for tests only. Otherwise private. **/
+    final Map<String, V8JavaInstanceMethodProxy> instanceMethods = new HashMap<String, V8JavaInstanceMethodProxy>();
+
+    // Getters and setters owned by this proxy.
+    // These overlap with the methods defined above.
+    private final Map<String, V8JavaInstanceMethodProxy> gettersMap = new HashMap<String, V8JavaInstanceMethodProxy>();
+    private final Map<String, V8JavaInstanceMethodProxy> settersMap = new HashMap<String, V8JavaInstanceMethodProxy>();
+
+    // Public constructors of this class.
+    private final V8JavaDispatchTable constructors = new V8JavaDispatchTable();
+
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    // How the methods of this class are bound to JS objects.
+    private final V8JavaBindingMode bindingMode;
+
+    // Shared prototype of all JS objects representing this class, if prototype binding is used.
+    private V8Object prototype = null;
+
+    // Compiled function creating the empty JS objects Java objects of this class are injected as.
+    private V8Function factory = null;
+
+    // Schema of the interceptor contexts of this class, if its interceptor declares one.
+    private final V8JavaClassInterceptorSchema contextSchema;
+
+    // Compiled functions creating the JS objects of schema contexts, and reading them back.
+    private V8Function contextFactory = null;
+    private V8Function contextReader = null;
+
+    /**
+     * Returns the arguments to pass to the injection or extraction callback of an
+     * intercepted JS object: the context itself if it has no schema, or a plain JS
+     * object holding the properties of the context otherwise.
+     *
+     * @param context Context to pass.
+     * @param v8 V8 runtime of the intercepted JS object.
+     *
+     * @return Arguments of the callback. It is the responsibility of the caller to release them.
+     */
+    private V8Array getContextArguments(V8JavaClassInterceptorContext context, V8 v8) {
+        if (context.getSchema() == null) {
+            return V8JavaObjectUtils.translateJavaArgumentsToJavascript(new Object[] {context}, v8, cache);
+        }
+
+        if (contextFactory == null || contextFactory.isReleased()) {
+            contextFactory = (V8Function) v8.executeObjectScript(contextSchema.getFactoryScript());
+            cache.registerResource(contextFactory);
+        }
+
+        V8Array values = V8JavaObjectUtils.translateJavaArgumentsToJavascript(context.getSlots(), v8, cache);
+        try {
+            V8Object jsContext = (V8Object) contextFactory.call(null, values);
+            V8Array args = new V8Array(v8).push(jsContext);
+            jsContext.release();
+            return args;
+        } finally {
+            values.release();
+        }
+    }
+
+    /**
+     * Reads the properties of a plain JS object passed to an extraction callback back
+     * into its context, if the context has a schema.
+     *
+     * @param context Context to read the properties into.
+     * @param args Arguments the extraction callback was invoked with.
+     * @param receiver Intercepted JS object.
+     */
+    private void readContextArguments(V8JavaClassInterceptorContext context, V8Array args, V8Object receiver) {
+        if (context.getSchema() == null) {
+            return;
+        }
+
+        V8 v8 = V8JavaObjectUtils.getRuntimeSarcastically(receiver);
+        if (contextReader == null || contextReader.isReleased()) {
+            contextReader = (V8Function) v8.executeObjectScript(contextSchema.getReaderScript());
+            cache.registerResource(contextReader);
+        }
+
+        V8Array values = (V8Array) contextReader.call(null, args);
+        Object[] rawValues = V8JavaObjectUtils.getJavascriptArguments(values);
+        try {
+            Object[] slots = context.getSlots();
+            for (int i = 0; i < slots.length; i++) {
+                Object value = rawValues[i];
+                if (value == null || (value instanceof V8Object && ((V8Object) value).isUndefined())) {
+                    slots[i] = null;
+                } else {
+                    slots[i] = V8JavaObjectUtils.translateJavascriptArgumentToJava(contextSchema.getType(i), value, receiver, cache);
+                }
+            }
+        } finally {
+            V8JavaObjectUtils.releaseJavascriptArguments(rawValues);
+            values.release();
+        }
+    }
+
+    /**
+     * Creates an empty JS prototype that asks a resolver function to define any
+     * member the first time it is looked up, through a Proxy placed behind the
+     * prototype. Once defined, members are found on the prototype itself and the
+     * Proxy is no longer involved. Names the resolver does not know are remembered
+     * on the JS side so that they are only resolved once.
+     */
+    private static final String LAZY_PROTOTYPE_FACTORY =
+            "(function (resolve) {\n" +
+            "    var prototype;\n" +
+            "    var missing = Object.create(null);\n" +
+            "    function resolved(name) {\n" +
+            "        if (typeof name !== 'string' || name in missing) return false;\n" +
+            "        if (resolve(name)) return true;\n" +
+            "        missing[name] = true;\n" +
+            "        return false;\n" +
+            "    }\n" +
+            "    prototype = Object.create(new Proxy({}, {\n" +
+            "        get: function (target, name, receiver) {\n" +
+            "            return Reflect.get(resolved(name) ? prototype : target, name, receiver);\n" +
+            "        },\n" +
+            "        set: function (target, name, value, receiver) {\n" +
+            "            return Reflect.set(resolved(name) ? prototype : target, name, value, receiver);\n" +
+            "        },\n" +
+            "        has: function (target, name) {\n" +
+            "            return resolved(name) || Reflect.has(target, name);\n" +
+            "        }\n" +
+            "    }));\n" +
+            "    return prototype;\n" +
+            "})";
+
+    /**
+     * Creates a new {@link V8JavaInstanceMethodProxy} for a given Java method.
+     *
+     * @param cache {@link V8JavaCache} to assign the proxy to.
+     * @param method Signature of the Java method to proxy.
+     *
+     * @return A new {@link V8JavaInstanceMethodProxy} for the given Java method.
+     */
+    private static V8JavaInstanceMethodProxy newInstanceProxy(V8JavaCache cache, V8JavaSignature method) {
+        V8JavaInstanceMethodProxy methodProxy = new V8JavaInstanceMethodProxy(method.getMember().getName(), cache);
+        methodProxy.addMethodSignature(method);
+
+        return methodProxy;
+    }
+
+//Protected////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return All static methods associated with the class this proxy represents.
+     */
+    List<V8JavaStaticMethodProxy> getStaticMethods() {
+        return new ArrayList<V8JavaStaticMethodProxy>(staticMethods.values());
+    }
+
+    /**
+     * @return True if the methods of this class are bound to a shared JS prototype
+     *         instead of to every JS object individually.
+     */
+    boolean isPrototypeBound() {
+        return interceptor == null && bindingMode != V8JavaBindingMode.INSTANCE;
+    }
+
+    /**
+     * Returns the JS prototype shared by all JS objects representing this class,
+     * creating it and registering all instance methods and getter/setter properties
+     * on it if needed. With {@link V8JavaBindingMode#LAZY}, methods and properties
+     * are only registered once they are first accessed.
+     *
+     * The prototype is owned by the runtime and released along with it.
+     *
+     * @param v8 V8 runtime the prototype belongs to.
+     *
+     * @return The shared prototype of this class.
+     */
+    V8Object getPrototype(V8 v8) {
+        if ((prototype == null || prototype.isReleased()) && bindingMode == V8JavaBindingMode.LAZY) {
+            prototype = createLazyPrototype(v8);
+            cache.registerResource(prototype);
+        } else if (prototype == null || prototype.isReleased()) {
+            prototype = new V8Object(v8);
+            for (Map.Entry<String, V8JavaInstanceMethodProxy> method : instanceMethods.entrySet()) {
+                prototype.registerJavaMethod(method.getValue().getCallbackForPrototype(), method.getKey());
+            }
+            injectGetterAndSetterProperties(null, prototype);
+            cache.registerResource(prototype);
+        }
+
+        return prototype;
+    }
+
+    /**
+     * Returns the function creating the empty JS objects that Java objects of this class
+     * are injected as, running the constructor script body of the interceptor if any.
+     *
+     * The factory is compiled once per runtime, so that injecting an object costs a
+     * function call instead of a script compilation. It is owned by the runtime and
+     * released along with it.
+     *
+     * @param v8 V8 runtime the factory belongs to.
+     *
+     * @return The object factory of this class.
+     */
+    V8Function getFactory(V8 v8) {
+        if (factory == null || factory.isReleased()) {
+            StringBuilder script = new StringBuilder("(function() { return new function() {");
+            if (interceptor != null) {
+                script.append(interceptor.getConstructorScriptBody());
+            }
+            script.append("\n}; })");
+
+            factory = (V8Function) v8.executeObjectScript(script.toString());
+            cache.registerResource(factory);
+        }
+
+        return factory;
+    }
+
+    /**
+     * Creates an empty prototype for this class whose members are defined on first access.
+     *
+     * @param v8 V8 runtime the prototype belongs to.
+     *
+     * @return The lazy prototype of this class.
+     */
+    private V8Object createLazyPrototype(final V8 v8) {
+        final V8Object[] lazyPrototype = new V8Object[1];
+        V8Function resolver = new V8Function(v8, new JavaCallback() {
+            @Override public Object invoke(V8Object receiver, V8Array parameters) {
+                return defineLazyMember(lazyPrototype[0], parameters.getString(0));
+            }
+        });
+
+        V8Function factory = (V8Function) v8.executeObjectScript(LAZY_PROTOTYPE_FACTORY);
+        V8Array args = new V8Array(v8).push(resolver);
+        try {
+            lazyPrototype[0] = (V8Object) factory.call(null, args);
+        } finally {
+            args.release();
+            factory.release();
+            resolver.release();
+        }
+
+        return lazyPrototype[0];
+    }
+
+    /**
+     * Defines a single instance method or getter/setter property on a lazy prototype.
+     *
+     * @param lazyPrototype Prototype to define the member on.
+     * @param name JS name of the member.
+     *
+     * @return True if this class has a member of the given name.
+     */
+    private boolean defineLazyMember(V8Object lazyPrototype, String name) {
+        V8JavaInstanceMethodProxy method = instanceMethods.get(name);
+        boolean isProperty = gettersMap.containsKey(name) || settersMap.containsKey(name);
+        if (method == null && !isProperty) {
+            return false;
+        }
+
+        // Members must be defined rather than assigned: assigning a property missing from the
+        // prototype would look it up through the Proxy behind it, and resolve it again.
+        V8 v8 = V8JavaObjectUtils.getRuntimeSarcastically(lazyPrototype);
+        V8Object object = v8.getObject("Object");
+        try {
+            if (method != null) {
+                V8Function function = new V8Function(v8, method.getCallbackForPrototype());
+                V8Object methodProperty = new V8Object(v8).add("value", function)
+                                                          .add("writable", true)
+                                                          .add("enumerable", true)
+                                                          .add("configurable", true);
+                V8Object ret = (V8Object) object.executeJSFunction("defineProperty", lazyPrototype, name, methodProperty);
+                ret.release();
+                methodProperty.release();
+                function.release();
+            }
+
+            if (isProperty) {
+                injectGetterAndSetterProperty(null, lazyPrototype, object, name);
+            }
+        } finally {
+            object.release();
+        }
+
+        return true;
+    }
+
+    /**
+     * Adds the inline cache statistics of every invoked constructor and method of
+     * this class to a list.
+     *
+     * @param statistics List to add the statistics to.
+     */
+    void collectCallSiteStatistics(List<V8JavaCallSiteStatistics> statistics) {
+        collectCallSiteStatistics(statistics, "new", constructors);
+        for (V8JavaMethodProxy method : staticMethods.values()) {
+            collectCallSiteStatistics(statistics, method.getMethodName(), method.getDispatchTable());
+        }
+        for (V8JavaMethodProxy method : instanceMethods.values()) {
+            collectCallSiteStatistics(statistics, method.getMethodName(), method.getDispatchTable());
+        }
+        for (V8JavaMethodProxy method : gettersMap.values()) {
+            collectCallSiteStatistics(statistics, method.getMethodName(), method.getDispatchTable());
+        }
+        for (V8JavaMethodProxy method : settersMap.values()) {
+            collectCallSiteStatistics(statistics, method.getMethodName(), method.getDispatchTable());
+        }
+    }
+
+    private void collectCallSiteStatistics(List<V8JavaCallSiteStatistics> statistics, String methodName, V8JavaDispatchTable dispatchTable) {
+        if (dispatchTable.getHits() > 0 || dispatchTable.getMisses() > 0) {
+            statistics.add(new V8JavaCallSiteStatistics(classy, methodName, dispatchTable));
+        }
+    }
+
+//Public///////////////////////////////////////////////////////////////////////
+
+    public V8JavaClassProxy(Class<?> classy, V8JavaClassInterceptor interceptor, V8JavaCache cache) {
+        this.classy = classy;
+        this.interceptor = interceptor;
+        this.contextSchema = interceptor instanceof V8JavaSchemaClassInterceptor ?
+                ((V8JavaSchemaClassInterceptor) interceptor).getContextSchema() : null;
+        this.cache = cache;
+        this.bindingMode = cache == null ? V8JavaBindingMode.INSTANCE : cache.bindingMode;
+
+        // The reflective scan of the class is shared by all runtimes; only bind it to this runtime.
+        this.descriptor = V8JavaClassDescriptor.forClass(classy);
+
+        for (V8JavaSignature constructor : descriptor.getConstructors()) {
+            constructors.addSignature(constructor);
+        }
+
+        for (Map.Entry<String, List<V8JavaSignature>> method : descriptor.getStaticMethods().entrySet()) {
+            V8JavaStaticMethodProxy methodProxy = new V8JavaStaticMethodProxy(method.getKey(), cache);
+            for (V8JavaSignature signature : method.getValue()) {
+                methodProxy.addMethodSignature(signature);
+            }
+            staticMethods.put(method.getKey(), methodProxy);
+        }
+
+        for (Map.Entry<String, List<V8JavaSignature>> method : descriptor.getInstanceMethods().entrySet()) {
+            V8JavaInstanceMethodProxy methodProxy = new V8JavaInstanceMethodProxy(method.getKey(), cache);
+            for (V8JavaSignature signature : method.getValue()) {
+                methodProxy.addMethodSignature(signature);
+            }
+            instanceMethods.put(method.getKey(), methodProxy);
+        }
+
+        for (Map.Entry<String, V8JavaSignature> getter : descriptor.getGetters().entrySet()) {
+            gettersMap.put(getter.getKey(), newInstanceProxy(cache, getter.getValue()));
+        }
+
+        for (Map.Entry<String, V8JavaSignature> setter : descriptor.getSetters().entrySet()) {
+            settersMap.put(setter.getKey(), newInstanceProxy(cache, setter.getValue()));
+        }
+    }
+
+    /**
+     * Returns the {@link V8JavaClassInterceptor} associated with this class.
+     *
+     * @return The {@link V8JavaClassInterceptor} associated with this class,
+     *         or null if none exists.
+     */
+    public V8JavaClassInterceptor getInterceptor() {
+        return interceptor;
+    }
+
+    /**
+     * Updates an {@link V8Object}'s state to match that of it's associated
+     * {@link V8JavaClassInterceptor}.
+     *
+     * This method will do nothing if this class has no interceptor, or if the
+     * specified V8Object does not have a Java object handle.
+     *
+     * @param jsObject V8Object to restore from Java.
+     */
+    public void writeInjectedInterceptor(V8Object jsObject) {
+        if (interceptor == null) {
+            return;
+        }
+
+        int handle = cache.getJavaObjectHandle(jsObject);
+        if (handle == 0) {
+            return;
+        }
+
+        Object javaObject = cache.javaObjectHandles.get(handle);
+        V8JavaClassInterceptorContext context = (V8JavaClassInterceptorContext) cache.javaObjectHandles.getAttachment(handle);
+
+        if (javaObject != null && context != null) {
+            // Invoke the injection callback if present.
+            Object function = jsObject.get("onJ2V8Inject");
+            if (function instanceof V8Function) {
+                // Despite being unchecked, we can guarantee that this is correct so long as the provided
+                // interceptor is of the correct type. TODO: Maybe we could add an assert on the interceptor type?
+                try {
+                    interceptor.onInject(context, classy.cast(javaObject));
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    if (function instanceof V8Value) {
+                        ((V8Value) function).release();
+                    }
+                    return;
+                }
+                V8Array args = getContextArguments(context, V8JavaObjectUtils.getRuntimeSarcastically(jsObject));
+                ((V8Function) function).call(jsObject, args);
+                args.release();
+            }
+
+            // Clean up.
+            if (function instanceof V8Value) {
+                ((V8Value) function).release();
+            }
+        } else {
+            System.err.println("omigod");
+        }
+    }
+
+    /**
+     * Restores the Java state of a {@link V8Object} that was intercepted
+     * by an {@link V8JavaClassInterceptor}.
+     *
+     * This method will do nothing if this class has no interceptor, or if the
+     * specified V8Object does not have a Java object handle.
+     *
+     * @param jsObject V8Object to restore to Java.
+     */
+    public void readInjectedInterceptor(V8Object jsObject) {
+        if (interceptor == null) {
+            return;
+        }
+
+        int handle = cache.getJavaObjectHandle(jsObject);
+        if (handle == 0) {
+            return;
+        }
+
+        Object javaObject = cache.javaObjectHandles.get(handle);
+        V8JavaClassInterceptorContext context = (V8JavaClassInterceptorContext) cache.javaObjectHandles.getAttachment(handle);
+
+        if (javaObject != null && context != null) {
+            // Invoke the injection callback if present.
+            Object function = jsObject.get("onJ2V8Extract");
+            if (function instanceof V8Function) {
+                V8Array args = getContextArguments(context, V8JavaObjectUtils.getRuntimeSarcastically(jsObject));
+                try {
+                    ((V8Function) function).call(jsObject, args);
+                    readContextArguments(context, args, jsObject);
+                } finally {
+                    args.release();
+                }
+
+                // Despite being unchecked, we can guarantee that this is correct so long as the provided
+                // interceptor is of the correct type. TODO: Maybe we could add an assert on the interceptor type?
+                try {
+                    interceptor.onExtract(context, classy.cast(javaObject));
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+
+            // Clean up.
+            if (function instanceof V8Value) {
+                ((V8Value) function).release();
+            }
+        } else {
+            System.err.println("omigod");
+        }
+    }
+
+    /**
+     * Attaches a Java object to a JS object, treating the JS object as if it
+     * were a proxy for the Java object.
+     *
+     * @param javaObject Java object to attach.
+     * @param jsObject JS object to attach to.
+     *
+     * @return Handle of the attached Java object.
+     *
+     * @throws IllegalArgumentException If the passed object is not an instance of the class this proxy represents.
+     */
+    public int attachJavaObjectToJsObject(Object javaObject, V8Object jsObject) throws IllegalArgumentException {
+        return attachJavaObjectToJsObject(javaObject, jsObject, true);
+    }
+
+    /**
+     * Attaches a Java object to a JS object, treating the JS object as if it
+     * were a proxy for the Java object.
+     *
+     * @param javaObject Java object to attach.
+     * @param jsObject JS object to attach to.
+     * @param assignPrototype Whether the shared prototype of this class must be assigned
+     *                        to the JS object. Only relevant when prototype binding is used;
+     *                        objects constructed via the injected class already inherit it.
+     *
+     * @return Handle of the attached Java object.
+     *
+     * @throws IllegalArgumentException If the passed object is not an instance of the class this proxy represents.
+     */
+    private int attachJavaObjectToJsObject(Object javaObject, V8Object jsObject, boolean assignPrototype) throws IllegalArgumentException {
+        if (javaObject.getClass().equals(classy)) {
+            // Inherit methods from the shared prototype if this class is prototype bound.
+            if (isPrototypeBound()) {
+                if (assignPrototype) {
+                    jsObject.setPrototype(getPrototype(V8JavaObjectUtils.getRuntimeSarcastically(jsObject)));
+                }
+
+            // Register its methods as properties on itself if it doesn't have an interceptor.
+            } else if (interceptor == null) {
+
+                // Register methods.
+                for (String m : instanceMethods.keySet()) {
+                    jsObject.registerJavaMethod(instanceMethods.get(m).getCallbackForInstance(javaObject), m);
+                }
+
+                // Inject any getter/setter properties.
+                injectGetterAndSetterProperties(javaObject, jsObject);
+            }
+
+            //Register the object's handle, along with its interceptor context if it has an interceptor.
+            V8JavaClassInterceptorContext context = interceptor == null ? null : new V8JavaClassInterceptorContext(contextSchema);
+            cache.removeGarbageCollectedJavaObjects();
+            int handle = cache.javaObjectHandles.allocate(javaObject, context);
+            cache.registerHandle(handle);
+            jsObject.add(V8JavaObjectUtils.JAVA_OBJECT_HANDLE_ID, handle);
+
+            // Register the interceptor's callback information.
+            if (context != null) {
+                jsObject.add(V8JavaObjectUtils.JAVA_CLASS_INTERCEPTOR_CONTEXT_HANDLE_ID, handle);
+
+                // Invoke the injection callback if present.
+                Object function = jsObject.get("onJ2V8Inject");
+                if (function instanceof V8Function) {
+                    // Despite being unchecked, we can guarantee that this is correct so long as the provided
+                    // interceptor is of the correct type. TODO: Maybe we could add an assert on the interceptor type?
+                    interceptor.onInject(context, classy.cast(javaObject));
+                    V8Array args = getContextArguments(context, V8JavaObjectUtils.getRuntimeSarcastically(jsObject));
+                    ((V8Function) function).call(jsObject, args);
+                    args.release();
+                }
+
+                // Clean up.
+                if (function instanceof V8Value) {
+                    ((V8Value) function).release();
+                }
+            }
+
+            //Make the object retrievable from Java.
+            cache.registerJsObject(handle, jsObject);
+
+            return handle;
+        } else {
+            throw new IllegalArgumentException(String.format("Cannot attach Java object of type [%s] using proxy for type [%s]",
+                                                             javaObject.getClass().getName(), classy.getName()));
+        }
+    }
+
+    /**
+     * Injects getter and setter properties into the given JS object.
+     *
+     * @param javaObject Java object which is "injected" in JS. Required for
+     *                   re-direction of the property access to it's getters/setters.
+     *                   If null, the properties are bound to the Java object of whichever
+     *                   JS object they are accessed on, as required by class prototypes.
+     * @param jsObject JS object created for dispatching calls from JS runtime to
+     *                 initial java object.
+     */
+    private void injectGetterAndSetterProperties(Object javaObject, V8Object jsObject) {
+        final Set<String> gettersAndSetters = new HashSet<String>();
+        gettersAndSetters.addAll(gettersMap.keySet());
+        gettersAndSetters.addAll(settersMap.keySet());
+        if (gettersAndSetters.isEmpty()) {
+            return;
+        }
+
+        V8Object object = V8JavaObjectUtils.getRuntimeSarcastically(jsObject).getObject("Object");
+
+        // Register properties (getters and setters).
+        for (String methodName : gettersAndSetters) {
+            injectGetterAndSetterProperty(javaObject, jsObject, object, methodName);
+        }
+
+        object.release();
+    }
+
+    /**
+     * Injects a single getter and setter property into the given JS object.
+     *
+     * @param javaObject Java object which is "injected" in JS, or null to bind the property
+     *                   to the Java object of whichever JS object it is accessed on.
+     * @param jsObject JS object to define the property on.
+     * @param object The JS Object constructor of the runtime.
+     * @param methodName JS name of the property.
+     */
+    private void injectGetterAndSetterProperty(Object javaObject, V8Object jsObject, V8Object object, String methodName) {
+
+        // Create a new JS object.
+        V8Object methodProperty = new V8Object(jsObject.getRuntime());
+
+        // Insert getter (if available).
+        if (gettersMap.containsKey(methodName)) {
+            V8JavaInstanceMethodProxy getter = gettersMap.get(methodName);
+            methodProperty.registerJavaMethod(javaObject == null ? getter.getCallbackForPrototype() :
+                                                                   getter.getCallbackForInstance(javaObject), "get");
+        }
+
+        // Insert setter (if available).
+        if (settersMap.containsKey(methodName)) {
+            V8JavaInstanceMethodProxy setter = settersMap.get(methodName);
+            methodProperty.registerJavaMethod(javaObject == null ? setter.getCallbackForPrototype() :
+                                                                   setter.getCallbackForInstance(javaObject), "set");
+        }
+
+        // Define property on JS object.
+        V8Object ret = (V8Object) object.executeJSFunction("defineProperty", jsObject, methodName, methodProperty);
+
+        // Release garbage.
+        ret.release();
+        methodProperty.release();
+    }
+
+    /**
+     * Creates a new Java object representing the type associated with this proxy.
+     *
+     * @param receiver Java Script object that will represent the Java object.
+     * @param parameters Parameters to use when constructing the Java object.
+     */
+    @Override public Object invoke(V8Object receiver, V8Array parameters) {
+        final int length = parameters.length();
+
+        // Fast path: no-arg constructors need no resolution at all.
+        if (length == 0 && descriptor.getNoArgConstructor() != null) {
+            constructInstance(descriptor.getNoArgConstructor(), NO_ARGUMENTS, receiver);
+            return null;
+        }
+
+        // Fast path: purely numeric arguments can be fetched in bulk.
+        V8JavaArguments arguments = null;
+        if (descriptor.hasNumericConstructor(length)) {
+            arguments = V8JavaArguments.fetchNumbers(parameters);
+        }
+        if (arguments == null) {
+            arguments = V8JavaArguments.fetch(parameters, receiver, cache);
+        }
+
+        //Attempt to discover a matching constructor for the arguments we've been passed.
+        Object[] coercedArguments = null;
+        V8JavaSignature coercedSignature = null;
+        try {
+            for (V8JavaSignature.Binding binding : constructors.getCandidates(arguments)) {
+                coercedArguments = binding.translateArguments(arguments, receiver, cache);
+                if (coercedArguments != null) {
+                    coercedSignature = binding.getSignature();
+                    break;
+                }
+            }
+
+            if (coercedArguments == null) {
+                throw arguments.noSignatureFound("No constructor exists for " + classy.getName() + " with specified arguments");
+            }
+
+            // Arguments are released only once constructed, since lazy views of them are still in use.
+            constructInstance(coercedSignature, coercedArguments, receiver);
+        } finally {
+            arguments.release();
+        }
+
+        return null;
+    }
+
+    /**
+     * Invokes a constructor of this class and attaches the new Java object to its JS object.
+     *
+     * @param constructor Constructor to invoke.
+     * @param arguments Translated arguments of the constructor.
+     * @param receiver JS object that will represent the Java object.
+     */
+    private void constructInstance(V8JavaSignature constructor, Object[] arguments, V8Object receiver) {
+        try {
+            final Object instance = constructor.invoke(null, arguments);
+
+            // The instance is kept alive by the cache until V8 collects its JS object.
+            attachJavaObjectToJsObject(instance, receiver, false);
+        } catch (InstantiationException e) {
+            throw new IllegalArgumentException("Constructor received invalid arguments!", e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Constructor received invalid arguments!", e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalArgumentException("Constructor received invalid arguments!", e);
+        }
+    }
+}
\ No newline at end of file
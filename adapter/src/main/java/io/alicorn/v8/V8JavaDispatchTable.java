@@ -0,0 +1,159 @@
+package io.alicorn.v8;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves which signatures of an overloaded Java method or constructor can
+ * accept the arguments of a JS invocation, without attempting (and failing)
+ * to translate the arguments to every signature in turn.
+ *
+ * The candidate signatures for each combination of argument kinds (see
+ * {@link V8JavaArguments}) are computed once and remembered. On top of that,
+ * every table acts as a monomorphic inline cache for its call site: the last
+ * combination of argument kinds and its candidates are checked first with a
+ * single array comparison. Call sites that miss this check too often within
+ * a window of recent invocations are considered megamorphic, and skip it until
+ * the next window, where they try it again in case they became monomorphic.
+ *
+ * This class is not thread safe; like the rest of the {@link V8JavaCache}, it
+ * must only be used from the thread of the V8 runtime it belongs to.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+final class V8JavaDispatchTable {
+//Private//////////////////////////////////////////////////////////////////////
+
+    // Maximum number of argument kind combinations remembered per table.
+    private static final int MAX_REMEMBERED_KINDS = 64;
+
+    // Number of invocations over which inline cache misses are counted.
+    private static final int WINDOW = 64;
+
+    // Number of inline cache misses within a window after which a call site is considered megamorphic.
+    private static final int MEGAMORPHIC_THRESHOLD = 16;
+
+    private static final V8JavaSignature.Binding[] NO_BINDINGS = new V8JavaSignature.Binding[0];
+
+    private final List<V8JavaSignature> signatures = new ArrayList<V8JavaSignature>();
+    private final Map<List<Class<?>>, V8JavaSignature.Binding[]> candidatesByKinds = new HashMap<List<Class<?>>, V8JavaSignature.Binding[]>();
+
+    // Inline cache of the last resolved argument kinds and their candidates.
+    private Class<?>[] inlineKinds = null;
+    private V8JavaSignature.Binding[] inlineCandidates = null;
+    private boolean megamorphic = false;
+    private long hits = 0;
+    private long misses = 0;
+
+    // Invocations and inline cache misses within the current window.
+    private int windowInvocations = 0;
+    private int windowMisses = 0;
+
+    /**
+     * Resolves the candidates for a combination of argument kinds, ignoring the inline cache.
+     */
+    private V8JavaSignature.Binding[] resolve(Class<?>[] kinds) {
+        List<Class<?>> key = Arrays.asList(kinds);
+
+        V8JavaSignature.Binding[] candidates = candidatesByKinds.get(key);
+        if (candidates == null) {
+            List<V8JavaSignature.Binding> accepting = new ArrayList<V8JavaSignature.Binding>(signatures.size());
+            for (V8JavaSignature signature : signatures) {
+                if (signature.accepts(kinds)) {
+                    accepting.add(signature.bind(kinds));
+                }
+            }
+
+            candidates = accepting.isEmpty() ? NO_BINDINGS : accepting.toArray(new V8JavaSignature.Binding[accepting.size()]);
+            if (candidatesByKinds.size() < MAX_REMEMBERED_KINDS) {
+                candidatesByKinds.put(key, candidates);
+            }
+        }
+
+        return candidates;
+    }
+
+//Public///////////////////////////////////////////////////////////////////////
+
+    /**
+     * Adds a signature to this table. Signatures added first take precedence
+     * when several signatures accept the same arguments.
+     *
+     * @param signature Signature to add.
+     */
+    public void addSignature(V8JavaSignature signature) {
+        signatures.add(signature);
+        candidatesByKinds.clear();
+        inlineKinds = null;
+        inlineCandidates = null;
+    }
+
+    /**
+     * @return Unmodifiable list of all signatures in this table.
+     */
+    public List<V8JavaSignature> getSignatures() {
+        return Collections.unmodifiableList(signatures);
+    }
+
+    /**
+     * Returns the signatures that accept the arguments of a JS invocation, in order of precedence.
+     *
+     * @param arguments JS arguments of the invocation.
+     *
+     * @return The signatures accepting the arguments bound to their kinds, which may be empty.
+     */
+    public V8JavaSignature.Binding[] getCandidates(V8JavaArguments arguments) {
+        if (++windowInvocations > WINDOW) {
+            windowInvocations = 1;
+            windowMisses = 0;
+            megamorphic = false;
+        }
+
+        Class<?>[] kinds = arguments.getKinds();
+        if (inlineKinds != null && Arrays.equals(inlineKinds, kinds)) {
+            hits++;
+            return inlineCandidates;
+        }
+
+        misses++;
+        V8JavaSignature.Binding[] candidates = resolve(kinds);
+        if (!megamorphic) {
+            if (++windowMisses > MEGAMORPHIC_THRESHOLD) {
+                megamorphic = true;
+                inlineKinds = null;
+                inlineCandidates = null;
+            } else {
+                inlineKinds = kinds;
+                inlineCandidates = candidates;
+            }
+        }
+
+        return candidates;
+    }
+
+    /**
+     * @return Number of invocations resolved by the inline cache of this table.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return Number of invocations that missed the inline cache of this table.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return True if this table has recently seen too many different argument
+     *         kinds, and skips its inline cache until its current window ends.
+     */
+    public boolean isMegamorphic() {
+        return megamorphic;
+    }
+}
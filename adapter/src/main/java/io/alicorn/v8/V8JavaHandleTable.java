@@ -0,0 +1,229 @@
+package io.alicorn.v8;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * Table of weakly referenced Java objects addressed by compact integer handles.
+ *
+ * Each handle encodes the index of the slot its object is stored in, along with
+ * the generation of that slot. Slots are recycled once their object is removed,
+ * and the generation is advanced whenever that happens so that stale handles
+ * stop resolving instead of resolving to whichever object reuses their slot.
+ * A slot whose generations are exhausted is retired rather than wrapping around
+ * to a generation that stale handles may still carry.
+ *
+ * The slots of garbage collected objects are found through a {@link ReferenceQueue},
+ * so reclaiming them costs time proportional to the number of collected objects
+ * rather than to the size of the table.
+ *
+ * Every slot can also carry a strongly referenced attachment, such as the
+ * {@link V8JavaClassInterceptorContext} of an intercepted object, which lives
+ * exactly as long as the slot itself.
+ *
+ * This class is not thread safe; like the rest of the {@link V8JavaCache}, it
+ * must only be used from the thread of the V8 runtime it belongs to.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+final class V8JavaHandleTable {
+//Private//////////////////////////////////////////////////////////////////////
+
+    // Layout of a handle: the lower bits hold the slot index, the upper bits its generation.
+    // Handles are plain 32-bit integers, so those with the highest generations are negative.
+    private static final int SLOT_BITS = 24;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+    private static final int LAST_GENERATION = (1 << (Integer.SIZE - SLOT_BITS)) - 1;
+
+    // Slot zero is never used, so that no valid handle is ever zero.
+    private static final int FIRST_SLOT = 1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Weak reference to the object of a slot, remembering the slot it belongs to.
+     */
+    private static final class SlotReference extends WeakReference<Object> {
+        private final int slot;
+
+        private SlotReference(Object referent, ReferenceQueue<Object> queue, int slot) {
+            super(referent, queue);
+            this.slot = slot;
+        }
+    }
+
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<Object>();
+
+    private SlotReference[] references = new SlotReference[INITIAL_CAPACITY];
+    private Object[] attachments = new Object[INITIAL_CAPACITY];
+    private int[] generations = new int[INITIAL_CAPACITY];
+
+    // Free slots form a linked list threaded through this array; zero terminates it.
+    private int[] nextFreeSlots = new int[INITIAL_CAPACITY];
+    private int firstFreeSlot = 0;
+
+    // Lowest slot that has never been allocated.
+    private int unusedSlot = FIRST_SLOT;
+
+    // Number of allocated slots.
+    private int size = 0;
+
+    /**
+     * @return The slot index encoded in a handle, or -1 if the handle does
+     *         not address a currently allocated slot.
+     */
+    private int slotOf(int handle) {
+        int slot = handle & SLOT_MASK;
+        if (slot < FIRST_SLOT || slot >= unusedSlot || references[slot] == null ||
+            generations[slot] != (handle >>> SLOT_BITS)) {
+            return -1;
+        }
+
+        return slot;
+    }
+
+    private void grow() {
+        if (references.length > SLOT_MASK) {
+            throw new IllegalStateException("Unable to allocate more than " + SLOT_MASK + " Java object handles.");
+        }
+
+        int capacity = Math.min(references.length * 2, SLOT_MASK + 1);
+
+        SlotReference[] newReferences = new SlotReference[capacity];
+        System.arraycopy(references, 0, newReferences, 0, references.length);
+        references = newReferences;
+
+        Object[] newAttachments = new Object[capacity];
+        System.arraycopy(attachments, 0, newAttachments, 0, attachments.length);
+        attachments = newAttachments;
+
+        int[] newGenerations = new int[capacity];
+        System.arraycopy(generations, 0, newGenerations, 0, generations.length);
+        generations = newGenerations;
+
+        int[] newNextFreeSlots = new int[capacity];
+        System.arraycopy(nextFreeSlots, 0, newNextFreeSlots, 0, nextFreeSlots.length);
+        nextFreeSlots = newNextFreeSlots;
+    }
+
+    private void freeSlot(int slot) {
+        references[slot] = null;
+        attachments[slot] = null;
+        size--;
+
+        // Retire the slot once every generation was used, leaving it unallocated for good.
+        if (generations[slot] == LAST_GENERATION) {
+            return;
+        }
+
+        generations[slot]++;
+        nextFreeSlots[slot] = firstFreeSlot;
+        firstFreeSlot = slot;
+    }
+
+//Public///////////////////////////////////////////////////////////////////////
+
+    /**
+     * Allocates a new handle for a Java object.
+     *
+     * @param javaObject Java object to allocate a handle for; it will only be weakly referenced.
+     * @param attachment Optional attachment to strongly associate with the handle.
+     *
+     * @return A new handle addressing the given Java object; never zero.
+     *
+     * @throws IllegalStateException If every slot is either allocated or retired.
+     */
+    public int allocate(Object javaObject, Object attachment) {
+        int slot;
+        if (firstFreeSlot != 0) {
+            slot = firstFreeSlot;
+            firstFreeSlot = nextFreeSlots[slot];
+        } else {
+            if (unusedSlot == references.length) {
+                grow();
+            }
+            slot = unusedSlot++;
+        }
+
+        references[slot] = new SlotReference(javaObject, queue, slot);
+        attachments[slot] = attachment;
+        size++;
+
+        return (generations[slot] << SLOT_BITS) | slot;
+    }
+
+    /**
+     * @param handle Handle to resolve.
+     *
+     * @return The Java object addressed by the given handle, or null if the
+     *         handle is stale or its object was garbage collected.
+     */
+    public Object get(int handle) {
+        int slot = slotOf(handle);
+        return slot < 0 ? null : references[slot].get();
+    }
+
+    /**
+     * @param handle Handle to resolve.
+     *
+     * @return The attachment of the given handle, or null if the handle is
+     *         stale or has no attachment.
+     */
+    public Object getAttachment(int handle) {
+        int slot = slotOf(handle);
+        return slot < 0 ? null : attachments[slot];
+    }
+
+    /**
+     * Releases a handle, allowing its slot to be reused.
+     *
+     * @param handle Handle to release.
+     *
+     * @return True if the handle was allocated before this call.
+     */
+    public boolean free(int handle) {
+        int slot = slotOf(handle);
+        if (slot < 0) {
+            return false;
+        }
+
+        freeSlot(slot);
+        return true;
+    }
+
+    /**
+     * Releases the handles of Java objects that have been garbage collected.
+     *
+     * Only objects the garbage collector has already found unreachable are
+     * released; this method never triggers a garbage collection itself.
+     *
+     * @param limit Maximum number of handles to release.
+     *
+     * @return Number of handles released.
+     */
+    public int removeCollected(int limit) {
+        int removed = 0;
+        while (removed < limit) {
+            Reference<?> reference = queue.poll();
+            if (reference == null) {
+                break;
+            }
+
+            // Ignore references of slots that were freed explicitly, and possibly reused since.
+            int slot = ((SlotReference) reference).slot;
+            if (references[slot] == reference) {
+                freeSlot(slot);
+                removed++;
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * @return Number of currently allocated handles.
+     */
+    public int size() {
+        return size;
+    }
+}
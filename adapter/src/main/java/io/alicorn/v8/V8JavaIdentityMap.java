@@ -0,0 +1,198 @@
+package io.alicorn.v8;
+
+import com.eclipsesource.v8.ReferenceHandler;
+import com.eclipsesource.v8.V8;
+import com.eclipsesource.v8.V8Object;
+import com.eclipsesource.v8.V8Value;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Map from Java objects attached to JS objects to their handles and JS objects.
+ *
+ * Java objects are compared by identity, so that equal but distinct objects are
+ * never confused and their {@link Object#hashCode()} and {@link Object#equals(Object)}
+ * methods are never invoked.
+ *
+ * Each entry strongly references its Java object, and weakly references its JS object
+ * through a {@link V8Object} made weak with {@link V8Object#setWeak()}. A Java object
+ * therefore lives at least as long as its JS object is reachable from JS. Once V8
+ * collects the JS object, the entry is queued for removal, and removed by the next
+ * call to {@link #removeReleased(int)}; the Java object is then left to the Java
+ * garbage collector.
+ *
+ * Lookups are safe from any thread. Every other method releases JS objects, and must
+ * therefore only be used from the thread of the V8 runtime the map belongs to.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+final class V8JavaIdentityMap implements ReferenceHandler {
+//Private//////////////////////////////////////////////////////////////////////
+
+    /**
+     * Key of the map, comparing Java objects by identity.
+     */
+    private static final class IdentityKey {
+        private final Object referent;
+
+        private IdentityKey(Object referent) {
+            this.referent = referent;
+        }
+
+        @Override public int hashCode() {
+            return System.identityHashCode(referent);
+        }
+
+        @Override public boolean equals(Object other) {
+            return other instanceof IdentityKey && ((IdentityKey) other).referent == referent;
+        }
+    }
+
+    private final ConcurrentMap<IdentityKey, Entry> entries = new ConcurrentHashMap<IdentityKey, Entry>();
+
+    // JS objects of the entries, mapped to their Java objects.
+    private final Map<V8Value, Object> owners = new IdentityHashMap<V8Value, Object>();
+
+    // Java objects whose JS objects have been released since the last call to removeReleased.
+    private final Queue<Object> released = new ArrayDeque<Object>();
+
+    // Runtime this map is registered as a reference handler with, if any.
+    private V8 runtime = null;
+
+    private static void release(Entry entry) {
+        if (entry != null && !entry.jsObject.isReleased()) {
+            entry.jsObject.release();
+        }
+    }
+
+//Public///////////////////////////////////////////////////////////////////////
+
+    /**
+     * Handle and JS object of a Java object.
+     */
+    static final class Entry {
+        final Object javaObject;
+        final int handle;
+        final V8Object jsObject;
+
+        private Entry(Object javaObject, int handle, V8Object jsObject) {
+            this.javaObject = javaObject;
+            this.handle = handle;
+            this.jsObject = jsObject;
+        }
+    }
+
+    /**
+     * @param javaObject Java object to look up.
+     *
+     * @return The entry of the given Java object, or null if it has none. The JS object
+     *         of the entry remains owned by this map and must not be released.
+     */
+    public Entry get(Object javaObject) {
+        return entries.get(new IdentityKey(javaObject));
+    }
+
+    /**
+     * Maps a Java object to its handle and JS object, releasing the JS object it was
+     * previously mapped to, if any.
+     *
+     * @param javaObject Java object to map.
+     * @param handle Handle of the Java object.
+     * @param jsObject JS object of the Java object; this map takes ownership of it, and
+     *                 makes it weak.
+     */
+    public void put(Object javaObject, int handle, V8Object jsObject) {
+        if (runtime == null) {
+            runtime = jsObject.getRuntime();
+            runtime.addReferenceHandler(this);
+        }
+
+        jsObject.setWeak();
+        owners.put(jsObject, javaObject);
+        release(entries.put(new IdentityKey(javaObject), new Entry(javaObject, handle, jsObject)));
+    }
+
+    /**
+     * Removes the entry of a Java object, releasing its JS object.
+     *
+     * @param javaObject Java object to remove the entry of.
+     * @param handle Handle the entry must have; entries with other handles are kept.
+     */
+    public void remove(Object javaObject, int handle) {
+        IdentityKey key = new IdentityKey(javaObject);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.handle == handle && entries.remove(key, entry)) {
+            release(entry);
+        }
+    }
+
+    /**
+     * Removes the entries whose JS objects have been released, such as once V8
+     * collected them.
+     *
+     * @param limit Maximum number of entries to remove.
+     *
+     * @return Number of entries removed.
+     */
+    public int removeReleased(int limit) {
+        int removed = 0;
+        while (removed < limit) {
+            Object javaObject = released.poll();
+            if (javaObject == null) {
+                break;
+            }
+
+            // The Java object may have been mapped to a new JS object since.
+            IdentityKey key = new IdentityKey(javaObject);
+            Entry entry = entries.get(key);
+            if (entry != null && entry.jsObject.isReleased() && entries.remove(key, entry)) {
+                removed++;
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        if (runtime != null) {
+            runtime.removeReferenceHandler(this);
+            runtime = null;
+        }
+
+        for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext();) {
+            Entry entry = iterator.next();
+            iterator.remove();
+            release(entry);
+        }
+        owners.clear();
+        released.clear();
+    }
+
+    /**
+     * @return Number of entries, including those whose JS objects have been released
+     *         since they were last removed.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    @Override public void v8HandleCreated(V8Value object) {
+    }
+
+    @Override public void v8HandleDisposed(V8Value object) {
+        // Invoked for every released V8Value of the runtime, so only do a single lookup.
+        Object javaObject = owners.remove(object);
+        if (javaObject != null) {
+            released.add(javaObject);
+        }
+    }
+}
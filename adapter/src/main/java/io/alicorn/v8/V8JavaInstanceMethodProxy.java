@@ -0,0 +1,96 @@
+package io.alicorn.v8;
+
+import com.eclipsesource.v8.*;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Proxies an instance method of a Java class and makes it callable from the V8 context.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+final class V8JavaInstanceMethodProxy extends V8JavaMethodProxy {
+
+    // Cache for the V8 runtime this proxy exists on.
+    private final V8JavaCache cache;
+
+    // Shared callback used when this method is bound to a class prototype.
+    private JavaCallback prototypeCallback = null;
+
+    /**
+     * Invokes the proxied method on a Java object.
+     *
+     * @param o Java object to invoke the method on.
+     * @param receiver JS object the method was invoked on.
+     * @param parameters JS arguments of the invocation.
+     *
+     * @return The translated return value of the method.
+     */
+    private Object invoke(Object o, V8Object receiver, V8Array parameters) {
+        V8JavaArguments arguments = V8JavaArguments.fetch(parameters, receiver, cache);
+        try {
+            //See if a method exists.
+            Object[] coercedArguments = null;
+            V8JavaSignature coercedSignature = null;
+            for (V8JavaSignature.Binding binding : getDispatchTable().getCandidates(arguments)) {
+                coercedArguments = binding.translateArguments(arguments, receiver, cache);
+                if (coercedArguments != null) {
+                    coercedSignature = binding.getSignature();
+                    break;
+                }
+            }
+
+            if (coercedArguments == null) {
+                throw arguments.noSignatureFound("No signature exists for " + getMethodName() + " with specified parameters");
+            }
+
+            //Invoke the method.
+            try {
+                return V8JavaObjectUtils.translateJavaArgumentToJavascript(coercedSignature.invoke(o, coercedArguments), V8JavaObjectUtils.getRuntimeSarcastically(receiver), cache);
+            //TODO: add more details of expected and actual arguments for existing try-catch and for IllegalArgumentException as well.
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Method received invalid arguments [" + e.getMessage() + "]!");
+            } catch (InstantiationException e) {
+                throw new IllegalArgumentException("Method received invalid arguments [" + e.getMessage() + "]!");
+            } catch (InvocationTargetException e) {
+                throw new RuntimeException(e.getCause());
+            }
+        } finally {
+            arguments.release();
+        }
+    }
+
+    public V8JavaInstanceMethodProxy(String name, V8JavaCache cache) {
+        super(name);
+        this.cache = cache;
+    }
+
+    public JavaCallback getCallbackForInstance(final Object o) {
+        return new JavaCallback() {
+            @Override public Object invoke(V8Object receiver, V8Array parameters) {
+                return V8JavaInstanceMethodProxy.this.invoke(o, receiver, parameters);
+            }
+        };
+    }
+
+    /**
+     * Returns a callback that can be registered once on a class prototype and
+     * shared by every JS object inheriting from it.
+     *
+     * The returned callback resolves the Java object to invoke this method on
+     * from the Java object handle of the receiver.
+     *
+     * @return A callback shared by all instances of the proxied class.
+     */
+    public JavaCallback getCallbackForPrototype() {
+        if (prototypeCallback == null) {
+            prototypeCallback = new JavaCallback() {
+                @Override public Object invoke(V8Object receiver, V8Array parameters) {
+                    return V8JavaInstanceMethodProxy.this.invoke(cache.getJavaObject(receiver), receiver, parameters);
+                }
+            };
+        }
+
+        return prototypeCallback;
+    }
+}
@@ -0,0 +1,63 @@
+package io.alicorn.v8;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Invokes a proxied Java method or constructor with already translated arguments.
+ *
+ * This is the portable implementation, which relies on plain reflection so that it
+ * runs on Java 1.6 and Android. When the adapter is packaged as a multi-release
+ * JAR, Java 9 and newer runtimes load an implementation of this class built on
+ * {@link java.lang.invoke.MethodHandle}s instead (see src/main/java9).
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+abstract class V8JavaInvoker {
+//Public///////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates an invoker for a Java method.
+     *
+     * @param method Method to invoke.
+     *
+     * @return An invoker for the method.
+     */
+    public static V8JavaInvoker forMethod(final Method method) {
+        return new V8JavaInvoker() {
+            @Override public Object invoke(Object target, Object[] arguments) throws IllegalAccessException, InstantiationException, InvocationTargetException {
+                return method.invoke(target, arguments);
+            }
+        };
+    }
+
+    /**
+     * Creates an invoker for a Java constructor.
+     *
+     * @param constructor Constructor to invoke.
+     *
+     * @return An invoker for the constructor.
+     */
+    public static V8JavaInvoker forConstructor(final Constructor<?> constructor) {
+        return new V8JavaInvoker() {
+            @Override public Object invoke(Object target, Object[] arguments) throws IllegalAccessException, InstantiationException, InvocationTargetException {
+                return constructor.newInstance(arguments);
+            }
+        };
+    }
+
+    /**
+     * Invokes the method or constructor of this invoker.
+     *
+     * @param target Object to invoke an instance method on; ignored for static methods and constructors.
+     * @param arguments Translated Java arguments, with any varargs already collected into an array.
+     *
+     * @return The return value of the method, or the new instance of the constructor.
+     *
+     * @throws IllegalAccessException If the method or constructor is not accessible.
+     * @throws InstantiationException If the constructor belongs to an abstract class.
+     * @throws InvocationTargetException If the method or constructor threw an exception.
+     */
+    public abstract Object invoke(Object target, Object[] arguments) throws IllegalAccessException, InstantiationException, InvocationTargetException;
+}
@@ -0,0 +1,195 @@
+package io.alicorn.v8;
+
+import com.eclipsesource.v8.*;
+
+import java.util.*;
+
+/**
+ * Exposes a Java {@link Collection} to V8 as a JS array-like.
+ *
+ * The JS object of an injected collection is wrapped in a JS Proxy that supports
+ * index access, {@code length}, the iteration protocol and the generic methods of
+ * {@code Array.prototype} (such as {@code map} or {@code filter}). Elements are
+ * fetched from Java in chunks of {@link #CHUNK_SIZE}, so that looping over a large
+ * list only crosses into Java once per chunk. The methods of the Java object stay
+ * callable, and take precedence over array methods of the same name.
+ *
+ * Other iterables are injected as plain Java objects: they may be single-pass or
+ * unbounded, and have no length to expose without walking them.
+ *
+ * Fetched elements and the length are cached until a method of the Java object is
+ * called through the proxy, or until the current script finishes.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+final class V8JavaIterableProxy {
+//Private//////////////////////////////////////////////////////////////////////
+
+    /**
+     * Script of the function wrapping the JS object of a collection in an array-like proxy.
+     */
+    private static final String ARRAY_LIKE_FACTORY =
+            "(function(target, size, fetch, chunkSize) {\n" +
+            "  var chunk = null, chunkStart = 0, length = -1, expiring = false, methods = Object.create(null);\n" +
+            "  function invalidate() { chunk = null; length = -1; }\n" +
+            "  function expire() {\n" +
+            "    if (!expiring) {\n" +
+            "      expiring = true;\n" +
+            "      Promise.resolve().then(function() { expiring = false; invalidate(); });\n" +
+            "    }\n" +
+            "  }\n" +
+            "  function getLength() {\n" +
+            "    if (length < 0) { length = size(); expire(); }\n" +
+            "    return length;\n" +
+            "  }\n" +
+            "  function getElement(index) {\n" +
+            "    if (index >= getLength()) return undefined;\n" +
+            "    if (chunk === null || index < chunkStart || index >= chunkStart + chunk.length) {\n" +
+            "      chunkStart = index - index % chunkSize;\n" +
+            "      chunk = fetch(chunkStart, chunkSize);\n" +
+            "      expire();\n" +
+            "    }\n" +
+            "    return chunk[index - chunkStart];\n" +
+            "  }\n" +
+            "  function toIndex(key) {\n" +
+            "    if (typeof key !== 'string') return -1;\n" +
+            "    var index = Number(key);\n" +
+            "    return index >>> 0 === index && String(index) === key ? index : -1;\n" +
+            "  }\n" +
+            "  function iterator() {\n" +
+            "    var index = 0;\n" +
+            "    return { next: function() {\n" +
+            "      return index < getLength() ? { value: getElement(index++), done: false } : { value: undefined, done: true };\n" +
+            "    } };\n" +
+            "  }\n" +
+            "  return new Proxy(target, {\n" +
+            "    get: function(target, key) {\n" +
+            "      var index = toIndex(key);\n" +
+            "      if (index >= 0) return getElement(index);\n" +
+            "      if (key === 'length') return getLength();\n" +
+            "      if (key === Symbol.iterator) return iterator;\n" +
+            "      if (key in target) {\n" +
+            "        var value = target[key];\n" +
+            "        if (typeof value !== 'function') return value;\n" +
+            "        if (!(key in methods)) {\n" +
+            "          methods[key] = function() {\n" +
+            "            invalidate();\n" +
+            "            try { return value.apply(target, arguments); } finally { invalidate(); }\n" +
+            "          };\n" +
+            "        }\n" +
+            "        return methods[key];\n" +
+            "      }\n" +
+            "      return Array.prototype[key];\n" +
+            "    },\n" +
+            "    has: function(target, key) {\n" +
+            "      var index = toIndex(key);\n" +
+            "      return index >= 0 ? index < getLength() : key === 'length' || key in target;\n" +
+            "    }\n" +
+            "  });\n" +
+            "})";
+
+    private final Collection<?> collection;
+    private final V8JavaCache cache;
+
+    // Iterator of a collection that is not a list, and the index of the next element it returns.
+    private Iterator<?> cursor = null;
+    private int cursorIndex = 0;
+
+    private V8JavaIterableProxy(Collection<?> collection, V8JavaCache cache) {
+        this.collection = collection;
+        this.cache = cache;
+    }
+
+    /**
+     * Returns up to count elements of the collection, starting at the given index.
+     *
+     * Lists are read by index. Other collections are read through an iterator kept
+     * between calls, so that reading them sequentially only walks them once.
+     */
+    private Object[] fetch(int start, int count) {
+        List<Object> elements = new ArrayList<Object>(count);
+        if (collection instanceof List) {
+            List<?> list = (List<?>) collection;
+            int end = Math.min(list.size(), start + count);
+            for (int i = start; i < end; i++) {
+                elements.add(list.get(i));
+            }
+        } else {
+            try {
+                if (cursor == null || cursorIndex > start) {
+                    cursor = collection.iterator();
+                    cursorIndex = 0;
+                }
+                for (; cursorIndex < start && cursor.hasNext(); cursorIndex++) {
+                    cursor.next();
+                }
+                for (; elements.size() < count && cursor.hasNext(); cursorIndex++) {
+                    elements.add(cursor.next());
+                }
+            } catch (ConcurrentModificationException e) {
+                // The collection changed since the cursor was created; start over.
+                cursor = null;
+                return fetch(start, count);
+            }
+        }
+
+        return elements.toArray();
+    }
+
+//Protected////////////////////////////////////////////////////////////////////
+
+    /**
+     * Number of elements fetched from Java at once.
+     */
+    static final int CHUNK_SIZE = 256;
+
+    /**
+     * Returns the compiled function wrapping JS objects in array-like proxies,
+     * compiling it if the runtime does not have it yet.
+     */
+    static V8Function getFactory(V8 v8, V8JavaCache cache) {
+        if (cache.iterableProxyFactory == null || cache.iterableProxyFactory.isReleased()) {
+            cache.iterableProxyFactory = (V8Function) v8.executeObjectScript(ARRAY_LIKE_FACTORY);
+            cache.registerResource(cache.iterableProxyFactory);
+        }
+
+        return cache.iterableProxyFactory;
+    }
+
+//Public///////////////////////////////////////////////////////////////////////
+
+    /**
+     * Wraps the JS object of an injected collection in an array-like proxy.
+     *
+     * @param collection Java collection attached to the JS object.
+     * @param jsObject JS object the collection is attached to.
+     * @param cache V8JavaCache associated with the runtime of the JS object.
+     *
+     * @return The array-like proxy. It is the responsibility of the caller to release it.
+     */
+    public static V8Object wrap(Collection<?> collection, V8Object jsObject, final V8JavaCache cache) {
+        final V8 v8 = V8JavaObjectUtils.getRuntimeSarcastically(jsObject);
+        final V8JavaIterableProxy proxy = new V8JavaIterableProxy(collection, cache);
+
+        V8Function size = new V8Function(v8, new JavaCallback() {
+            @Override public Object invoke(V8Object receiver, V8Array parameters) {
+                return proxy.collection.size();
+            }
+        });
+        V8Function fetch = new V8Function(v8, new JavaCallback() {
+            @Override public Object invoke(V8Object receiver, V8Array parameters) {
+                Object[] elements = proxy.fetch(parameters.getInteger(0), parameters.getInteger(1));
+                return V8JavaObjectUtils.translateJavaArgumentsToJavascript(elements, v8, proxy.cache);
+            }
+        });
+
+        V8Array args = new V8Array(v8).push(jsObject).push(size).push(fetch).push(CHUNK_SIZE);
+        try {
+            return (V8Object) getFactory(v8, cache).call(null, args);
+        } finally {
+            args.release();
+            size.release();
+            fetch.release();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.alicorn.v8;
+
+import com.eclipsesource.v8.Releasable;
+import com.eclipsesource.v8.V8Array;
+import com.eclipsesource.v8.V8Object;
+import com.eclipsesource.v8.V8Value;
+
+import java.lang.reflect.Type;
+import java.util.AbstractList;
+
+/**
+ * Read-only {@link java.util.List} view of a JS array, translating its elements
+ * to Java on first access.
+ *
+ * The length of the view is fixed when it is created. The view is released along
+ * with the arguments of the invocation it was created for, after which elements
+ * that were not accessed yet can no longer be read.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+final class V8JavaLazyList extends AbstractList<Object> implements Releasable {
+//Private//////////////////////////////////////////////////////////////////////
+
+    private final V8Array array;
+    private final Class<?> elementType;
+    private final Type elementGenericType;
+    private final V8Object receiver;
+    private final V8JavaCache cache;
+    private final V8JavaArguments owner;
+
+    // Translated elements, and whether each of them was translated yet.
+    private final Object[] elements;
+    private final boolean[] translated;
+
+//Public///////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param array JS array to view; the view takes ownership of it.
+     * @param elementType Java type of the elements.
+     * @param elementGenericType Generic type of the elements, or null.
+     * @param receiver V8Object receiver that any functional elements should be tied to.
+     * @param cache V8JavaCache associated with the runtime of the array.
+     * @param owner Arguments the view was created for, releasing it along with any nested views.
+     */
+    public V8JavaLazyList(V8Array array, Class<?> elementType, Type elementGenericType, V8Object receiver, V8JavaCache cache, V8JavaArguments owner) {
+        this.array = array;
+        this.elementType = elementType;
+        this.elementGenericType = elementGenericType;
+        this.receiver = receiver;
+        this.cache = cache;
+        this.owner = owner;
+
+        int length = array.length();
+        this.elements = new Object[length];
+        this.translated = new boolean[length];
+    }
+
+    @Override public Object get(int index) {
+        if (index < 0 || index >= elements.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.length);
+        }
+
+        if (!translated[index]) {
+            if (array.isReleased()) {
+                throw new IllegalStateException("Lazy list was released before element " + index + " was accessed.");
+            }
+
+            // We have to release the value immediately after using it if it's a V8Value.
+            Object element = array.get(index);
+            try {
+                elements[index] = V8JavaObjectUtils.translateJavascriptArgumentToLazyJava(
+                        elementType, element, receiver, cache, elementGenericType, owner);
+                translated[index] = true;
+            } finally {
+                if (element instanceof V8Value) {
+                    ((V8Value) element).release();
+                }
+            }
+        }
+
+        return elements[index];
+    }
+
+    @Override public int size() {
+        return elements.length;
+    }
+
+    @Override public void release() {
+        if (!array.isReleased()) {
+            array.release();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.alicorn.v8;
+
+import com.eclipsesource.v8.Releasable;
+import com.eclipsesource.v8.V8Object;
+import com.eclipsesource.v8.V8Value;
+
+import java.lang.reflect.Type;
+import java.util.*;
+
+/**
+ * Read-only {@link java.util.Map} view of a JS object, translating its values
+ * to Java on first access.
+ *
+ * The keys of the view are fetched when it is created. The view is released along
+ * with the arguments of the invocation it was created for, after which values that
+ * were not accessed yet can no longer be read.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+final class V8JavaLazyMap extends AbstractMap<String, Object> implements Releasable {
+//Private//////////////////////////////////////////////////////////////////////
+
+    private final V8Object object;
+    private final Class<?> valueType;
+    private final Type valueGenericType;
+    private final V8Object receiver;
+    private final V8JavaCache cache;
+    private final V8JavaArguments owner;
+
+    private final Set<String> keys;
+
+    // Values translated so far.
+    private final Map<String, Object> values = new HashMap<String, Object>();
+
+    private final Set<Entry<String, Object>> entries = new AbstractSet<Entry<String, Object>>() {
+        @Override public Iterator<Entry<String, Object>> iterator() {
+            final Iterator<String> iterator = keys.iterator();
+            return new Iterator<Entry<String, Object>>() {
+                @Override public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override public Entry<String, Object> next() {
+                    String key = iterator.next();
+                    return new SimpleImmutableEntry<String, Object>(key, get(key));
+                }
+
+                @Override public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override public int size() {
+            return keys.size();
+        }
+    };
+
+//Public///////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param object JS object to view; the view takes ownership of it.
+     * @param valueType Java type of the values.
+     * @param valueGenericType Generic type of the values, or null.
+     * @param receiver V8Object receiver that any functional values should be tied to.
+     * @param cache V8JavaCache associated with the runtime of the object.
+     * @param owner Arguments the view was created for, releasing it along with any nested views.
+     */
+    public V8JavaLazyMap(V8Object object, Class<?> valueType, Type valueGenericType, V8Object receiver, V8JavaCache cache, V8JavaArguments owner) {
+        this.object = object;
+        this.valueType = valueType;
+        this.valueGenericType = valueGenericType;
+        this.receiver = receiver;
+        this.cache = cache;
+        this.owner = owner;
+        this.keys = Collections.unmodifiableSet(new LinkedHashSet<String>(Arrays.asList(object.getKeys())));
+    }
+
+    @Override public Object get(Object key) {
+        if (!keys.contains(key)) {
+            return null;
+        }
+
+        if (!values.containsKey(key)) {
+            if (object.isReleased()) {
+                throw new IllegalStateException("Lazy map was released before key " + key + " was accessed.");
+            }
+
+            // We have to release the value immediately after using it if it's a V8Value.
+            Object value = object.get((String) key);
+            try {
+                values.put((String) key, V8JavaObjectUtils.translateJavascriptArgumentToLazyJava(
+                        valueType, value, receiver, cache, valueGenericType, owner));
+            } finally {
+                if (value instanceof V8Value) {
+                    ((V8Value) value).release();
+                }
+            }
+        }
+
+        return values.get(key);
+    }
+
+    @Override public boolean containsKey(Object key) {
+        return keys.contains(key);
+    }
+
+    @Override public Set<String> keySet() {
+        return keys;
+    }
+
+    @Override public int size() {
+        return keys.size();
+    }
+
+    @Override public Set<Entry<String, Object>> entrySet() {
+        return entries;
+    }
+
+    @Override public void release() {
+        if (!object.isReleased()) {
+            object.release();
+        }
+    }
+}
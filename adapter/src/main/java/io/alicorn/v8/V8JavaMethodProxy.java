@@ -15,6 +15,17 @@ abstract class V8JavaMethodProxy {
 
     private final String name;
     private final List<Method> methodSignatures = new ArrayList<Method>();
+    private final V8JavaDispatchTable dispatchTable = new V8JavaDispatchTable();
+
+//Protected////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return Dispatch table resolving the signatures of this proxy that accept
+     *         the arguments of a JS invocation.
+     */
+    V8JavaDispatchTable getDispatchTable() {
+        return dispatchTable;
+    }
 
 //Public///////////////////////////////////////////////////////////////////////
 
@@ -25,10 +36,11 @@ abstract class V8JavaMethodProxy {
     /**
      * Associates a new Java method signature with this proxy.
      *
-     * @param method Method signature to add.
+     * @param signature Method signature to add.
      */
-    public void addMethodSignature(Method method) {
-        methodSignatures.add(method);
+    public void addMethodSignature(V8JavaSignature signature) {
+        methodSignatures.add((Method) signature.getMember());
+        dispatchTable.addSignature(signature);
     }
 
     /**
@@ -4,6 +4,9 @@ import com.eclipsesource.v8.*;
 import io.alicorn.v8.annotations.callback.JSListener;
 
 import java.lang.reflect.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
 import java.util.*;
 import java.util.concurrent.Executor;
 
@@ -35,6 +38,8 @@ public final class V8JavaObjectUtils {
 
     static {
         BOXED_PRIMITIVE_MAP.put(boolean.class, Boolean.class);
+        BOXED_PRIMITIVE_MAP.put(byte.class, Byte.class);
+        BOXED_PRIMITIVE_MAP.put(char.class, Character.class);
         BOXED_PRIMITIVE_MAP.put(short.class, Short.class);
         BOXED_PRIMITIVE_MAP.put(int.class, Integer.class);
         BOXED_PRIMITIVE_MAP.put(long.class, Long.class);
@@ -56,6 +61,80 @@ public final class V8JavaObjectUtils {
                 object instanceof Double;
     }
 
+    /**
+     * Returns a view of the bytes of a JS typed array, sharing the memory of its ArrayBuffer.
+     * The ArrayBuffer is kept alive by the cache for as long as the view is reachable.
+     */
+    private static ByteBuffer getTypedArrayView(V8TypedArray typedArray, V8JavaCache cache) {
+        int offset = typedArray.getInteger("byteOffset");
+        int length = typedArray.getInteger("byteLength");
+
+        ByteBuffer view = borrowBackingStore(typedArray, typedArray.getByteBuffer(), cache).duplicate();
+        view.limit(offset + length);
+        view.position(offset);
+        return view.slice().order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Keeps the ArrayBuffer of a JS value alive for as long as Java can reach its backing
+     * store, or any view derived from it.
+     *
+     * @return The backing store.
+     */
+    private static ByteBuffer borrowBackingStore(V8Value owner, ByteBuffer backingStore, V8JavaCache cache) {
+        // Twins of ArrayBuffers reference their backing stores, so a plain array holds the value instead.
+        V8Array holder = new V8Array(owner.getRuntime()).push(owner);
+        cache.retain(holder);
+        cache.sharedBuffers.borrow(holder, backingStore);
+        return backingStore;
+    }
+
+    /**
+     * Returns true if the passed type is an interface with exactly one abstract
+     * method, meaning a JS function can be passed wherever it is expected.
+     */
+    static boolean isFunctionalInterface(Class<?> javaArgumentType) {
+        if (!javaArgumentType.isInterface()) {
+            return false;
+        }
+
+        int methodsCount = 0;
+        Method[] interfaceMethods = javaArgumentType.getMethods(); //we want the original methods, not the virtual methods
+        Method[] objectMethods = Object.class.getMethods();
+        for (int i = 0; i < interfaceMethods.length; i++) {
+            if (!interfaceMethods[i].isDefault()) { //java 8 or greater version
+                Breakable:
+                {
+                    for (int j = 0; j < objectMethods.length; j++) {
+                        if (objectMethods[j].equals(interfaceMethods[i])) {
+                            break Breakable;
+                        }
+                    }
+                    methodsCount++;
+                }
+            }
+        }
+
+        return methodsCount == 1;
+    }
+
+    /**
+     * Returns true if a primitive JS value of the passed type can be passed as
+     * the passed Java argument type.
+     */
+    static boolean isPrimitiveCompatible(Class<?> javaArgumentType, Class<?> argumentType) {
+        return javaArgumentType.isAssignableFrom(argumentType) ||
+                BOXED_PRIMITIVE_MAP.get(argumentType).isAssignableFrom(BOXED_PRIMITIVE_MAP.get(javaArgumentType)) ||
+                (Number.class.isAssignableFrom(javaArgumentType) && Number.class.isAssignableFrom(argumentType));
+    }
+
+    /**
+     * @return The boxed counterpart of the passed type if it is primitive, or the type itself.
+     */
+    static Class<?> boxed(Class<?> type) {
+        return BOXED_PRIMITIVE_MAP.get(type);
+    }
+
     /**
      * Set of {@link V8Value}s held by this class or one of its delegates.
      *  If {@link #perV8GcExecutor} is set - the implementation is weak reference based and underlying
@@ -156,6 +235,8 @@ public final class V8JavaObjectUtils {
             this.receiver = receiver.twin();
             this.function = function.twin();
             this.cache = cache;
+            cache.retain(this.receiver);
+            cache.retain(this.function);
 
             final Set<V8Value> v8Resources = getV8Resources();
             v8Resources.add(this.receiver);
@@ -249,9 +330,11 @@ public final class V8JavaObjectUtils {
             if (obj instanceof V8Object) {
                 V8Object v8Obj = ((V8Object) obj);
                 if (!v8Obj.isUndefined()) {
-                    Object ret = cache.identifierToJavaObjectMap.get(v8Obj.get(JAVA_OBJECT_HANDLE_ID).toString()).get();
-                    v8Obj.release();
-                    return ret;
+                    try {
+                        return cache.getJavaObject(v8Obj);
+                    } finally {
+                        v8Obj.release();
+                    }
                 } else {
                     v8Obj.release();
                     return null;
@@ -339,6 +422,15 @@ public final class V8JavaObjectUtils {
         }
     }
 
+    /**
+     * Releases the passed object if it is a {@link V8Value}.
+     */
+    static void releaseIfV8Value(Object object) {
+        if (object instanceof V8Value) {
+            ((V8Value) object).release();
+        }
+    }
+
     private static class DefaultJsBasedCallBack extends JsCallBackAdapter implements JsBasedCallBack {
         public DefaultJsBasedCallBack(V8Object receiver, V8Function function, V8JavaCache cache) {
             super(receiver, function, cache);
@@ -384,6 +476,12 @@ public final class V8JavaObjectUtils {
                 ret[i] = (Byte) array[i];
             }
             return ret;
+        } else if (Character.class.equals(type)) {
+            char[] ret = new char[array.length];
+            for (int i = 0; i < array.length; i++) {
+                ret[i] = (Character) array[i];
+            }
+            return ret;
         } else if (Short.class.equals(type)) {
             short[] ret = new short[array.length];
             for (int i = 0; i < array.length; i++) {
@@ -419,6 +517,155 @@ public final class V8JavaObjectUtils {
         return array;
     }
 
+    /**
+     * Translates a primitive Java array into a JS typed array.
+     *
+     * The contents of the Java array are copied in bulk into a backing store allocated
+     * and owned by V8, so no element crosses between Java and V8 individually. Java
+     * heap arrays cannot back a typed array themselves, so changes made to the typed
+     * array are not reflected in the Java array. Arrays are translated as follows:
+     *
+     * <ul>
+     *     <li>byte[] to Int8Array, short[] to Int16Array and int[] to Int32Array.</li>
+     *     <li>char[] to Uint16Array.</li>
+     *     <li>float[] to Float32Array and double[] to Float64Array.</li>
+     *     <li>long[] to Float64Array, widening every long like a single long would be.</li>
+     *     <li>boolean[] to a regular JS array, as there is no boolean typed array.</li>
+     * </ul>
+     *
+     * @param array Java array to translate.
+     * @param v8 V8 runtime to create the typed array in.
+     *
+     * @return The JS array, or null if the passed object is not a primitive array.
+     *         It is the responsibility of the caller to release it.
+     */
+    public static V8Array translatePrimitiveArrayToJavascript(Object array, V8 v8) {
+        final int type;
+        final int elementSize;
+        if (array instanceof byte[]) {
+            type = V8Value.INT_8_ARRAY;
+            elementSize = 1;
+        } else if (array instanceof short[]) {
+            type = V8Value.INT_16_ARRAY;
+            elementSize = 2;
+        } else if (array instanceof char[]) {
+            type = V8Value.UNSIGNED_INT_16_ARRAY;
+            elementSize = 2;
+        } else if (array instanceof int[]) {
+            type = V8Value.INT_32_ARRAY;
+            elementSize = 4;
+        } else if (array instanceof float[]) {
+            type = V8Value.FLOAT_32_ARRAY;
+            elementSize = 4;
+        } else if (array instanceof double[] || array instanceof long[]) {
+            type = V8Value.FLOAT_64_ARRAY;
+            elementSize = 8;
+        } else if (array instanceof boolean[]) {
+            V8Array booleans = new V8Array(v8);
+            for (boolean value : (boolean[]) array) {
+                booleans.push(value);
+            }
+            return booleans;
+        } else {
+            return null;
+        }
+
+        // V8 allocates and owns the backing store, so it lives exactly as long as the typed array.
+        final int length = Array.getLength(array);
+        V8ArrayBuffer arrayBuffer = new V8ArrayBuffer(v8, length * elementSize);
+        try {
+            ByteBuffer buffer = arrayBuffer.getBackingStore().order(ByteOrder.nativeOrder());
+            if (array instanceof byte[]) {
+                buffer.put((byte[]) array);
+            } else if (array instanceof short[]) {
+                buffer.asShortBuffer().put((short[]) array);
+            } else if (array instanceof char[]) {
+                buffer.asCharBuffer().put((char[]) array);
+            } else if (array instanceof int[]) {
+                buffer.asIntBuffer().put((int[]) array);
+            } else if (array instanceof float[]) {
+                buffer.asFloatBuffer().put((float[]) array);
+            } else if (array instanceof double[]) {
+                buffer.asDoubleBuffer().put((double[]) array);
+            } else {
+                DoubleBuffer doubles = buffer.asDoubleBuffer();
+                for (long value : (long[]) array) {
+                    doubles.put((double) value);
+                }
+            }
+
+            return new V8TypedArray(v8, arrayBuffer, type, 0, length);
+        } finally {
+            arrayBuffer.release();
+        }
+    }
+
+    /**
+     * Translates a Java buffer into a JS ArrayBuffer.
+     *
+     * The remaining bytes of a writable direct buffer are shared with JS without copying,
+     * so that changes made from either side are visible to the other. Heap and read-only
+     * buffers are copied into a new ArrayBuffer owned by V8 instead.
+     *
+     * V8 does not own the memory of a shared buffer: the runtime keeps the buffer alive
+     * for as long as the ArrayBuffer is reachable from JS, or until
+     * {@link #releaseV8Resources(V8)} is called, after which JS must no longer use the
+     * ArrayBuffer.
+     *
+     * @param buffer Java buffer to translate.
+     * @param v8 V8 runtime to create the ArrayBuffer in.
+     *
+     * @return The JS ArrayBuffer. It is the responsibility of the caller to release it.
+     */
+    public static V8ArrayBuffer translateByteBufferToJavascript(ByteBuffer buffer, V8 v8) {
+        if (buffer.isDirect() && !buffer.isReadOnly()) {
+            ByteBuffer shared = buffer.slice();
+            V8ArrayBuffer arrayBuffer = new V8ArrayBuffer(v8, shared);
+            V8JavaAdapter.getCacheForRuntime(v8).registerSharedBuffer(arrayBuffer, shared);
+            return arrayBuffer;
+        }
+
+        V8ArrayBuffer arrayBuffer = new V8ArrayBuffer(v8, buffer.remaining());
+        arrayBuffer.getBackingStore().put(buffer.duplicate());
+        return arrayBuffer;
+    }
+
+    /**
+     * Translates a Java value into a copy made of plain JS values.
+     *
+     * The value is encoded into a single binary buffer, from which V8 rebuilds it in one
+     * crossing. Java maps and beans (through their getters) become JS objects, Java
+     * arrays and iterables become JS arrays, and enums become their names. Shared and
+     * cyclic references are preserved. See {@link #translateJavascriptValueToJava(Object, V8)}
+     * for the opposite direction.
+     *
+     * @param value Java value to translate.
+     * @param v8 V8 runtime to translate the value into.
+     *
+     * @return The JS copy: a primitive, null, or a V8Value that it is the responsibility of
+     *         the caller to release.
+     */
+    public static Object translateJavaValueToJavascript(Object value, V8 v8) {
+        return V8JavaValueTransfer.toJavascript(value, v8, V8JavaAdapter.getCacheForRuntime(v8));
+    }
+
+    /**
+     * Translates a JS value into a copy made of plain Java values.
+     *
+     * The value is encoded by V8 into a single binary buffer, from which it is rebuilt
+     * in Java. JS objects become {@link LinkedHashMap}s, JS arrays become {@link ArrayList}s,
+     * and JS objects bound to Java objects become those Java objects. Shared and cyclic
+     * references are preserved; functions and undefined become null.
+     *
+     * @param value JS value to translate, as returned by V8. It is not released by this method.
+     * @param v8 V8 runtime the value belongs to.
+     *
+     * @return The Java copy.
+     */
+    public static Object translateJavascriptValueToJava(Object value, V8 v8) {
+        return V8JavaValueTransfer.toJava(value, v8, V8JavaAdapter.getCacheForRuntime(v8));
+    }
+
     /**
      * Attempts to widen a given number to work with the specified class.
      *
@@ -441,37 +688,37 @@ public final class V8JavaObjectUtils {
             if (to == Short.class || to == short.class) {
                 return (T) from;
             } else if (to == Integer.class || to == int.class) {
-                return (T) new Integer((Short) from);
+                return (T) Integer.valueOf((Short) from);
             } else if (to == Long.class || to == long.class) {
-                return (T) new Long((Short) from);
+                return (T) Long.valueOf((Short) from);
             } else if (to == Float.class || to == float.class) {
-                return (T) new Float((Short) from);
+                return (T) Float.valueOf((Short) from);
             } else if (to == Double.class || to == double.class) {
-                return (T) new Double((Short) from);
+                return (T) Double.valueOf((Short) from);
             }
         } else if (from instanceof Integer) {
             if (to == Integer.class || to == int.class) {
                 return (T) from;
             } else if (to == Long.class || to == long.class) {
-                return (T) new Long((Integer) from);
+                return (T) Long.valueOf((Integer) from);
             } else if (to == Float.class || to == float.class) {
-                return (T) new Float((Integer) from);
+                return (T) Float.valueOf((Integer) from);
             } else if (to == Double.class || to == double.class) {
-                return (T) new Double((Integer) from);
+                return (T) Double.valueOf((Integer) from);
             }
         } else if (from instanceof Long) {
             if (to == Long.class || to == long.class) {
                 return (T) from;
             } else if (to == Float.class || to == float.class) {
-                return (T) new Float((Long) from);
+                return (T) Float.valueOf((Long) from);
             } else if (to == Double.class || to == double.class) {
-                return (T) new Double((Long) from);
+                return (T) Double.valueOf((Long) from);
             }
         } else if (from instanceof Float) {
             if (to == Float.class || to == float.class) {
                 return (T) from;
             } else if (to == Double.class || to == double.class) {
-                return (T) new Double((Float) from);
+                return (T) Double.valueOf((Float) from);
             }
         } else if (from instanceof Double) {
             if (to == Double.class || to == double.class) {
@@ -534,7 +781,7 @@ public final class V8JavaObjectUtils {
     /**
      * @return whether GC V8 executor is specified and related V8-based JS call-backs could be GCed and released.
      */
-    private static boolean isGcExecutorSpecified(V8 v8) {
+    static boolean isGcExecutorSpecified(V8 v8) {
         return getGcExecutor(v8) != null;
     }
 
@@ -579,10 +826,17 @@ public final class V8JavaObjectUtils {
         }
 
         // Free any garbage collected classes.
+        V8JavaCache cache = V8JavaAdapter.getCacheForRuntime(v8);
         if (released > 0) {
-            V8JavaAdapter.getCacheForRuntime(v8).removeGarbageCollectedJavaObjects();
+            cache.removeGarbageCollectedJavaObjects();
         }
 
+        // Release the JS objects held for Java objects.
+        cache.javaObjectIdentities.clear();
+
+        // Stop keeping buffers shared with JS alive.
+        cache.sharedBuffers.clear();
+
         removeV8Resources(v8);
         removeGcExecutor(v8);
 
@@ -613,16 +867,22 @@ public final class V8JavaObjectUtils {
             } else if (isBasicallyPrimitive(javaArgument)) {
                 return javaArgument;
 
+            // Buffers are shared with JS as ArrayBuffers.
+            } else if (javaArgument instanceof ByteBuffer) {
+                return translateByteBufferToJavascript((ByteBuffer) javaArgument, v8);
+
+            // Primitive arrays are copied in bulk into typed arrays.
+            } else if (javaArgument.getClass().isArray() && javaArgument.getClass().getComponentType().isPrimitive()) {
+                return translatePrimitiveArrayToJavascript(javaArgument, v8);
+
             // Objects must be bound to their JS objects.
             } else {
-                String key = cache.v8ObjectToIdentifierMap.get(javaArgument);
-                if (key != null) {
-                    V8Object object = (V8Object) v8.get(key);
+                V8Object object = cache.getJsObject(javaArgument);
+                if (object != null) {
                     cache.cachedV8JavaClasses.get(javaArgument.getClass()).writeInjectedInterceptor(object);
                     return object;
                 } else {
-                    key = V8JavaAdapter.injectObject(null, javaArgument, v8);
-                    return v8.get(key);
+                    return V8JavaAdapter.injectObject(null, javaArgument, v8, cache);
                 }
             }
         }
@@ -676,6 +936,11 @@ public final class V8JavaObjectUtils {
      * It is the responsibility of the caller of this method to invoke {@link V8Value#release()} on
      * any objects passed to this method; this method will not make an effort to release them.
      *
+     * ArrayBuffers and typed arrays translated to {@link ByteBuffer} parameters are not
+     * copied: the returned buffer is a view of memory owned by V8, whose ArrayBuffer the
+     * cache keeps alive until Java collects the view. ArrayBuffers translated to any other
+     * type, including {@link Object}, are copied.
+     *
      * @param javaArgumentType Java type that the argument must match.
      * @param argument Argument to translate to Java.
      * @param receiver V8Object receiver that any functional arguments should be tied to.
@@ -693,37 +958,7 @@ public final class V8JavaObjectUtils {
         if (argument instanceof V8Value) {
             if (argument instanceof V8Function) {
                 final V8Function v8ArgumentFunction = (V8Function) argument;
-                int methodsCount = 0;
-                if(javaArgumentType.isInterface()) {
-                    Method[] interfaceMethods = javaArgumentType.getMethods(); //we want the original methods, not the virtual methods
-                    Method[] objectMethods = Object.class.getMethods();
-                    for (int i = 0; i < interfaceMethods.length; i++) {
-                    	boolean isDefault = false;
-                    	// if(!interfaceMethods[i].isDefault()){ //java 8 or greater version
-                        try {
-                        	Method isDefaultCall = interfaceMethods[i].getClass().getMethod("isDefault");
-							//if((isDefaultCall != null && (boolean)isDefaultCall.invoke(interfaceMethods[i]))){
-	                    	if(interfaceMethods[i].isDefault()){ //java 8 or greater version
-								isDefault = true;
-							}
-						} catch (Exception e) {
-							// TODO maybe better error handling or just replace with java 1.8 version only
-						}
-                        if(!isDefault) {
-							Breakable:
-						    {
-						        for (int j = 0; j < objectMethods.length; j++) {
-						            if(objectMethods[j].equals(interfaceMethods[i])){
-						                break Breakable;
-						            }
-						        }
-						        methodsCount++;
-						    }
-	                    }
-                    }
-                }
-                //TODO: update check in case of java 8 upgrade:
-                if (methodsCount == 1) {
+                if (isFunctionalInterface(javaArgumentType)) {
                     //Create a proxy class for the functional interface that wraps this V8Function.
                     final V8CallBackFunctionInvocationHandler handler;
                     ClassLoader loader = javaArgumentType.getClassLoader();
@@ -746,10 +981,20 @@ public final class V8JavaObjectUtils {
                     throw new IllegalArgumentException(
                             "Method was passed V8Function but does not accept a functional interface: found " + javaArgumentType);
                 }
+            } else if (argument instanceof V8TypedArray && ByteBuffer.class == javaArgumentType) {
+                return getTypedArrayView((V8TypedArray) argument, cache);
+            } else if (argument instanceof V8TypedArray && V8TypedArray.class == javaArgumentType) {
+                return ((V8TypedArray) argument).twin();
             } else if (argument instanceof V8Array) {
                 V8Array v8ArgumentArray = (V8Array) argument;
 
                 if (javaArgumentType.isArray()) {
+                    // Arrays of primitives and strings are fetched with a single call into V8 when possible.
+                    Object bulkArray = convertToArrayInBulk(v8ArgumentArray, javaArgumentType.getComponentType());
+                    if (bulkArray != null) {
+                        return bulkArray;
+                    }
+
                     // Perform a single cast up front.
 
                     // TODO: This logic is almost identical to the varargs manipulation logic. Maybe we can reuse it?
@@ -784,6 +1029,29 @@ public final class V8JavaObjectUtils {
                 } else {
                     throw new IllegalArgumentException("Method was passed a V8Array but does not accept arrays.");
                 }
+            } else if (argument instanceof V8ArrayBuffer) {
+                final V8ArrayBuffer v8ArgumentBuffer = (V8ArrayBuffer) argument;
+
+                if (ByteBuffer.class == javaArgumentType) {
+                    return borrowBackingStore(v8ArgumentBuffer, v8ArgumentBuffer.getBackingStore(), cache)
+                            .duplicate().order(ByteOrder.nativeOrder());
+                } else if (Object.class == javaArgumentType) {
+                    // Callers expecting any object may keep it anywhere, so they get a copy rather than a view.
+                    ByteBuffer backingStore = v8ArgumentBuffer.getBackingStore().duplicate();
+                    ByteBuffer copy = ByteBuffer.allocate(backingStore.remaining()).order(ByteOrder.nativeOrder());
+                    copy.put(backingStore);
+                    copy.flip();
+                    return copy;
+                } else if (byte[].class == javaArgumentType) {
+                    ByteBuffer backingStore = v8ArgumentBuffer.getBackingStore().duplicate();
+                    byte[] bytes = new byte[backingStore.remaining()];
+                    backingStore.get(bytes);
+                    return bytes;
+                } else if (V8ArrayBuffer.class == javaArgumentType) {
+                    return v8ArgumentBuffer.twin();
+                } else {
+                    throw new IllegalArgumentException("Method was passed an ArrayBuffer but does not accept binary data.");
+                }
             } else if (argument instanceof V8Object) {
                 final V8Object v8ArgumentObject = (V8Object) argument;
 
@@ -792,8 +1060,8 @@ public final class V8JavaObjectUtils {
                 try {
                     if (v8ArgumentObject.contains(JAVA_OBJECT_HANDLE_ID)) {
                         //Attempt to retrieve a Java object handle.
-                        String javaHandle = (String) v8ArgumentObject.get(JAVA_OBJECT_HANDLE_ID);
-                        Object javaObject = cache.identifierToJavaObjectMap.get(javaHandle).get();
+                        int javaHandle = (Integer) v8ArgumentObject.get(JAVA_OBJECT_HANDLE_ID);
+                        Object javaObject = cache.javaObjectHandles.get(javaHandle);
 
                         if (javaArgumentType.isAssignableFrom(javaObject.getClass())) {
                             // Check if it's intercepted.
@@ -849,6 +1117,71 @@ public final class V8JavaObjectUtils {
         }
     }
 
+    /**
+     * @return The type argument at the given index of a parameterized type, or Object if it has none.
+     */
+    private static Type getTypeArgument(Type genericType, int index) {
+        if (genericType instanceof ParameterizedType) {
+            Type[] typeArguments = ((ParameterizedType) genericType).getActualTypeArguments();
+            if (index < typeArguments.length) {
+                return typeArguments[index];
+            }
+        }
+
+        return Object.class;
+    }
+
+    /**
+     * @return The class of a type argument, or Object if it is not a class or parameterized type.
+     */
+    private static Class<?> getRawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        } else if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        } else {
+            return Object.class;
+        }
+    }
+
+    /**
+     * Translates a single JS value to Java like {@link #translateJavascriptArgumentToJava(Class, Object, V8Object, V8JavaCache, Type)},
+     * except that JS arrays and objects passed as a List, Map or Object are wrapped in
+     * lazy views instead of being copied.
+     *
+     * Views retain the JS value they wrap, and are released along with the given arguments.
+     *
+     * @param javaArgumentType Java type that the argument must match.
+     * @param argument Argument to translate to Java.
+     * @param receiver V8Object receiver that any functional arguments should be tied to.
+     * @param cache V8JavaCache associated with the given V8 runtime.
+     * @param argGenericType Generic type of the javaArgumentType. Could be null.
+     * @param owner Arguments of the invocation, releasing any views created for them.
+     *
+     * @return Translated Object based on the passed Java types and and Javascript value.
+     */
+    static Object translateJavascriptArgumentToLazyJava(Class<?> javaArgumentType, Object argument, V8Object receiver, V8JavaCache cache, Type argGenericType, V8JavaArguments owner) {
+        final boolean listOrObject = List.class == javaArgumentType || Object.class == javaArgumentType;
+        final boolean mapOrObject = Map.class == javaArgumentType || Object.class == javaArgumentType;
+
+        if (listOrObject && argument instanceof V8Array && !(argument instanceof V8TypedArray)) {
+            Type elementType = getTypeArgument(argGenericType, 0);
+            V8JavaLazyList view = new V8JavaLazyList(((V8Array) argument).twin(), getRawClass(elementType), elementType, receiver, cache, owner);
+            owner.addView(view);
+            return view;
+        } else if (mapOrObject && argument instanceof V8Object && !(argument instanceof V8Array) && !(argument instanceof V8Function)) {
+            V8Object object = (V8Object) argument;
+            if (!object.isUndefined() && !object.contains(JAVA_OBJECT_HANDLE_ID)) {
+                Type valueType = getTypeArgument(argGenericType, 1);
+                V8JavaLazyMap view = new V8JavaLazyMap(object.twin(), getRawClass(valueType), valueType, receiver, cache, owner);
+                owner.addView(view);
+                return view;
+            }
+        }
+
+        return translateJavascriptArgumentToJava(javaArgumentType, argument, receiver, cache, argGenericType);
+    }
+
     /**
      * @return class of the type param. E.g. List<String> => String or List<Map<Integer, String>> => Map.
      */
@@ -884,6 +1217,122 @@ public final class V8JavaObjectUtils {
         }
     }
 
+    /**
+     * Converts a JS array into a Java array of primitives or strings with a single typed
+     * read from V8, instead of fetching, boxing and translating every element.
+     *
+     * The same conversions as for single arguments apply: integral arrays only accept JS
+     * integers in the range of their component type, floating point arrays accept any JS
+     * numbers, and boolean arrays only accept JS booleans. Byte arrays also accept unsigned
+     * bytes, and char arrays accept char codes as well as single-character strings.
+     *
+     * @return The converted array, or null if the component type is not primitive, or is
+     *         String and the elements of the JS array are not all strings (such as when some
+     *         of them are null), in which case the array must be converted element by element.
+     *
+     * @throws IllegalArgumentException If the component type is primitive and an element of
+     *         the JS array cannot be converted to it.
+     */
+    private static Object convertToArrayInBulk(V8Array v8Array, Class<?> componentType) throws IllegalArgumentException {
+        final int length = v8Array.length();
+        if (!(componentType.isPrimitive() || String.class == componentType)) {
+            return null;
+        } else if (length == 0) {
+            return Array.newInstance(componentType, 0);
+        }
+
+        if (double.class == componentType || float.class == componentType || long.class == componentType) {
+            // Integers and doubles can be mixed, so let V8 check the elements while reading them.
+            final double[] doubles;
+            try {
+                doubles = v8Array.getDoubles(0, length);
+            } catch (V8ResultUndefined e) {
+                throw new IllegalArgumentException("Array elements must all be numbers to be converted to " + componentType + "[].", e);
+            }
+
+            if (double.class == componentType) {
+                return doubles;
+            } else if (float.class == componentType) {
+                float[] floats = new float[length];
+                for (int i = 0; i < length; i++) {
+                    floats[i] = (float) doubles[i];
+                }
+                return floats;
+            } else {
+                long[] longs = new long[length];
+                for (int i = 0; i < length; i++) {
+                    // Casting saturates, so values of 2^63 and beyond must be rejected explicitly.
+                    longs[i] = (long) doubles[i];
+                    if (longs[i] != doubles[i] || doubles[i] >= 0x1p63) {
+                        throw new IllegalArgumentException("Array element " + doubles[i] + " at index " + i + " is not a long.");
+                    }
+                }
+                return longs;
+            }
+        }
+
+        // V8 reports arrays of mixed types, including those holding null, as having no type.
+        int type;
+        try {
+            type = v8Array.getType(0, length);
+        } catch (V8ResultUndefined e) {
+            type = V8Value.UNDEFINED;
+        }
+
+        if (String.class == componentType) {
+            return type == V8Value.STRING ? v8Array.getStrings(0, length) : null;
+        } else if (boolean.class == componentType && type == V8Value.BOOLEAN) {
+            return v8Array.getBooleans(0, length);
+        } else if (char.class == componentType && type == V8Value.STRING) {
+            String[] strings = v8Array.getStrings(0, length);
+            char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                if (strings[i].length() != 1) {
+                    throw new IllegalArgumentException("Array element \"" + strings[i] + "\" at index " + i + " is not a single character.");
+                }
+                chars[i] = strings[i].charAt(0);
+            }
+            return chars;
+        } else if (type == V8Value.INTEGER && componentType != boolean.class) {
+            final int[] integers = v8Array.getIntegers(0, length);
+            if (int.class == componentType) {
+                return integers;
+            }
+
+            final int min;
+            final int max;
+            if (byte.class == componentType) {
+                min = Byte.MIN_VALUE;
+                max = 0xFF;
+            } else if (short.class == componentType) {
+                min = Short.MIN_VALUE;
+                max = Short.MAX_VALUE;
+            } else {
+                min = Character.MIN_VALUE;
+                max = Character.MAX_VALUE;
+            }
+
+            Object array = Array.newInstance(componentType, length);
+            for (int i = 0; i < length; i++) {
+                int integer = integers[i];
+                if (integer < min || integer > max) {
+                    throw new IllegalArgumentException("Array element " + integer + " at index " + i + " is out of range for " + componentType + ".");
+                }
+
+                if (byte.class == componentType) {
+                    ((byte[]) array)[i] = (byte) integer;
+                } else if (short.class == componentType) {
+                    ((short[]) array)[i] = (short) integer;
+                } else {
+                    ((char[]) array)[i] = (char) integer;
+                }
+            }
+            return array;
+        }
+
+        throw new IllegalArgumentException("Array elements cannot all be converted to " + componentType + "[].");
+    }
+
     private static Object[] convertToArray(V8Array v8Array, Class<?> arrayType, Class<?> originalArrayType, V8Object receiver, V8JavaCache cache) {
         Object[] array = (Object[]) Array.newInstance(arrayType, v8Array.length());
 
@@ -942,41 +1391,58 @@ public final class V8JavaObjectUtils {
      *         by the passed array of Java argument types.
      */
     public static Object[] translateJavascriptArgumentsToJava(boolean isVarArgs, Class<?>[] javaArgumentTypes, Type[] argsGenericType, V8Array javascriptArguments, V8Object receiver, V8JavaCache cache) throws IllegalArgumentException {
+        Object[] arguments = getJavascriptArguments(javascriptArguments);
+        try {
+            return translateJavascriptArgumentsToJava(isVarArgs, javaArgumentTypes, argsGenericType, arguments, receiver, cache);
+        } finally {
+            releaseJavascriptArguments(arguments);
+        }
+    }
+
+    /**
+     * Translates an array of arguments fetched from V8 to an Object array based on a set of Java argument types.
+     *
+     * It is the responsibility of the caller of this method to release any {@link V8Value}s
+     * among the passed arguments; this method will not make an effort to release them.
+     *
+     * @param isVarArgs Whether or not the Java parameters list ends in a varargs array.
+     * @param javaArgumentTypes Java types that the arguments must match.
+     * @param argsGenericType Generic types.
+     * @param javascriptArguments Arguments to translate to Java, as returned by {@link #getJavascriptArguments(V8Array)}.
+     * @param receiver V8Object receiver that any functional arguments should be tied to.
+     * @param cache V8JavaCache associated with the given V8 runtime.
+     *
+     * @return Translated Object array of arguments based on the passed Java types and arguments.
+     *
+     * @throws IllegalArgumentException if the arguments could not be coerced into the types specified
+     *         by the passed array of Java argument types.
+     */
+    static Object[] translateJavascriptArgumentsToJava(boolean isVarArgs, Class<?>[] javaArgumentTypes, Type[] argsGenericType, Object[] javascriptArguments, V8Object receiver, V8JavaCache cache) throws IllegalArgumentException {
         // Varargs handling.
         if (isVarArgs && javaArgumentTypes.length > 0 &&
                 javaArgumentTypes[javaArgumentTypes.length - 1].isArray() &&
-                javascriptArguments.length() >= javaArgumentTypes.length - 1) {
+                javascriptArguments.length >= javaArgumentTypes.length - 1) {
 
             Class<?> originalVarargsType = javaArgumentTypes[javaArgumentTypes.length - 1].getComponentType();
             Class<?> varargsType = originalVarargsType;
             if (BOXED_PRIMITIVE_MAP.containsKey(varargsType)) {
                 varargsType = BOXED_PRIMITIVE_MAP.get(varargsType);
             }
-            Object[] varargs = (Object[]) Array.newInstance(varargsType, javascriptArguments.length() - javaArgumentTypes.length + 1);
+            Object[] varargs = (Object[]) Array.newInstance(varargsType, javascriptArguments.length - javaArgumentTypes.length + 1);
             Object[] returnedArgumentValues = new Object[javaArgumentTypes.length];
 
-            for (int i = 0; i < javascriptArguments.length(); i++) {
-                Object argument = javascriptArguments.get(i);
+            for (int i = 0; i < javascriptArguments.length; i++) {
+                // If we haven't hit the varargs yet, insert normally.
+                if (returnedArgumentValues.length - 1 > i) {
+                    returnedArgumentValues[i] =
+                            translateJavascriptArgumentToJava(javaArgumentTypes[i],
+                                    javascriptArguments[i], receiver, cache, argsGenericType[i]);
 
-                try {
-                    // If we haven't hit the varargs yet, insert normally.
-                    if (returnedArgumentValues.length - 1 > i) {
-                        returnedArgumentValues[i] =
-                                translateJavascriptArgumentToJava(javaArgumentTypes[i],
-                                        argument, receiver, cache, argsGenericType[i]);
-
-                    // Otherwise insert into the varargs.
-                    } else {
-                        //argGenericType could be read for GenericArrayType case (e.g. Map<Integer, String>[]), but omitted for simplicity
-                        varargs[i - (returnedArgumentValues.length - 1)] =
-                                translateJavascriptArgumentToJava(varargsType, argument, receiver, cache);
-                    }
-                } catch (IllegalArgumentException e) {
-                    throw e;
-                } finally {
-                    if (argument instanceof V8Value) {
-                        ((V8Value) argument).release();
-                    }
+                // Otherwise insert into the varargs.
+                } else {
+                    //argGenericType could be read for GenericArrayType case (e.g. Map<Integer, String>[]), but omitted for simplicity
+                    varargs[i - (returnedArgumentValues.length - 1)] =
+                            translateJavascriptArgumentToJava(varargsType, javascriptArguments[i], receiver, cache);
                 }
             }
 
@@ -991,27 +1457,48 @@ public final class V8JavaObjectUtils {
 
         // Typical handling. Argument lengths must match exactly; Java does
         // not consistently support random null values being passed in to core libraries.
-        } else if (javaArgumentTypes.length == javascriptArguments.length()) {
+        } else if (javaArgumentTypes.length == javascriptArguments.length) {
             Object[] returnedArgumentValues = new Object[javaArgumentTypes.length];
 
-            for (int i = 0; i < javascriptArguments.length(); i++) {
-                Object argument = javascriptArguments.get(i);
-                try {
-                    returnedArgumentValues[i] = translateJavascriptArgumentToJava(javaArgumentTypes[i], argument, receiver, cache, argsGenericType[i]);
-                } catch (IllegalArgumentException e) {
-                    throw e;
-                } finally {
-                    if (argument instanceof V8Value) {
-                        ((V8Value) argument).release();
-                    }
-                }
+            for (int i = 0; i < javascriptArguments.length; i++) {
+                returnedArgumentValues[i] = translateJavascriptArgumentToJava(javaArgumentTypes[i], javascriptArguments[i], receiver, cache, argsGenericType[i]);
             }
 
             return returnedArgumentValues;
         } else {
             throw new IllegalArgumentException(
                 "Method arguments size and passed arguments size do not match. " +
-                "Expected " + javaArgumentTypes.length + ", but got " + javascriptArguments.length());
+                "Expected " + javaArgumentTypes.length + ", but got " + javascriptArguments.length);
+        }
+    }
+
+    /**
+     * Fetches every argument of a JS invocation from V8 in a single pass.
+     *
+     * It is the responsibility of the caller of this method to release the returned
+     * arguments via {@link #releaseJavascriptArguments(Object[])}.
+     *
+     * @param javascriptArguments Arguments of the JS invocation.
+     *
+     * @return The fetched arguments.
+     */
+    static Object[] getJavascriptArguments(V8Array javascriptArguments) {
+        Object[] arguments = new Object[javascriptArguments.length()];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = javascriptArguments.get(i);
+        }
+
+        return arguments;
+    }
+
+    /**
+     * Releases any {@link V8Value}s fetched via {@link #getJavascriptArguments(V8Array)}.
+     *
+     * @param arguments Fetched arguments to release.
+     */
+    static void releaseJavascriptArguments(Object[] arguments) {
+        for (Object argument : arguments) {
+            releaseIfV8Value(argument);
         }
     }
 }
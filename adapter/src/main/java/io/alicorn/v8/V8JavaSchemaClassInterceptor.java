@@ -0,0 +1,29 @@
+package io.alicorn.v8;
+
+/**
+ * {@link V8JavaClassInterceptor} whose contexts have a fixed set of fields.
+ *
+ * Instead of a Java object exposing {@code get} and {@code set} methods, the
+ * {@code context} passed to the {@code onJ2V8Inject} and {@code onJ2V8Extract}
+ * functions of its constructor script is a plain JS object with one property per
+ * field of the schema. Properties set onto it by {@code onJ2V8Extract} are read
+ * back into the context, translated to the types declared by the schema:
+ *
+ * <pre>
+ *     this.onJ2V8Inject = function(context) { i = context.i; };
+ *     this.onJ2V8Extract = function(context) { context.i = i; };
+ * </pre>
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+public interface V8JavaSchemaClassInterceptor<T> extends V8JavaClassInterceptor<T> {
+
+    /**
+     * Returns the schema of the contexts of this interceptor.
+     *
+     * This method is invoked once, when the intercepted class is injected.
+     *
+     * @return Schema of the contexts of this interceptor.
+     */
+    V8JavaClassInterceptorSchema getContextSchema();
+}
@@ -0,0 +1,170 @@
+package io.alicorn.v8;
+
+import com.eclipsesource.v8.V8;
+import com.eclipsesource.v8.V8Array;
+import com.eclipsesource.v8.V8Function;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scope of a unit of work on a V8 runtime, such as a single request, that releases
+ * everything the adapter created for it when closed.
+ *
+ * While a scope is open, the handle of every Java object attached to a JS object is
+ * tagged with it, whether the object was injected from Java or constructed from JS,
+ * along with the name of every global variable injected through the adapter. Closing
+ * the scope frees all of those handles at once, releasing the JS objects and
+ * interceptor contexts held for them, and deletes all of those global variables. JS
+ * objects of freed handles that are still referenced from JS can no longer be used
+ * to access their Java objects, except through methods bound directly to them by
+ * {@link V8JavaBindingMode#INSTANCE} binding, which J2V8 keeps until the runtime is
+ * released; classes whose objects are created within scopes should therefore use
+ * {@link V8JavaBindingMode#PROTOTYPE} or {@link V8JavaBindingMode#LAZY} binding.
+ *
+ * Scopes may be nested, but must be closed in the reverse order they were opened,
+ * from the thread of their runtime:
+ *
+ * <pre>
+ *     V8JavaScope scope = runtime.openScope();
+ *     try {
+ *         runtime.injectObject("request", request);
+ *         runtime.executeScript(rules);
+ *     } finally {
+ *         scope.close();
+ *     }
+ * </pre>
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+public final class V8JavaScope implements Closeable {
+//Private//////////////////////////////////////////////////////////////////////
+
+    /**
+     * Script of the function deleting a list of global variables.
+     */
+    private static final String DELETE_GLOBALS =
+            "(function(names) { for (var i = 0; i < names.length; i++) { delete this[names[i]]; } })";
+
+    private final V8 v8;
+    private final V8JavaCache cache;
+    private final V8JavaScope parent;
+
+    // Handles tagged with this scope.
+    private int[] handles = new int[16];
+    private int handleCount = 0;
+
+    // Names of global variables injected within this scope, if any.
+    private List<String> globals = null;
+
+    private boolean closed = false;
+
+    /**
+     * Returns the compiled function deleting global variables, compiling it if the
+     * runtime does not have it yet.
+     */
+    private V8Function getDeleteGlobalsFunction() {
+        if (cache.deleteGlobalsFunction == null || cache.deleteGlobalsFunction.isReleased()) {
+            cache.deleteGlobalsFunction = (V8Function) v8.executeObjectScript(DELETE_GLOBALS);
+            cache.registerResource(cache.deleteGlobalsFunction);
+        }
+
+        return cache.deleteGlobalsFunction;
+    }
+
+    private void deleteGlobals() {
+        V8Function deleteGlobals = getDeleteGlobalsFunction();
+        V8Array names = new V8Array(v8);
+        V8Array args = new V8Array(v8);
+        try {
+            for (String name : globals) {
+                names.push(name);
+            }
+            args.push(names);
+            deleteGlobals.call(v8, args);
+        } finally {
+            args.release();
+            names.release();
+        }
+    }
+
+//Protected////////////////////////////////////////////////////////////////////
+
+    V8JavaScope(V8 v8, V8JavaCache cache, V8JavaScope parent) {
+        this.v8 = v8;
+        this.cache = cache;
+        this.parent = parent;
+    }
+
+    /**
+     * Tags a Java object handle with this scope.
+     */
+    void addHandle(int handle) {
+        if (handleCount == handles.length) {
+            int[] newHandles = new int[handles.length * 2];
+            System.arraycopy(handles, 0, newHandles, 0, handleCount);
+            handles = newHandles;
+        }
+        handles[handleCount++] = handle;
+    }
+
+    /**
+     * Tags a global variable injected through the adapter with this scope.
+     */
+    void addGlobal(String name) {
+        if (globals == null) {
+            globals = new ArrayList<String>();
+        }
+        globals.add(name);
+    }
+
+//Public///////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return Number of Java object handles tagged with this scope so far.
+     */
+    public int getHandleCount() {
+        return handleCount;
+    }
+
+    /**
+     * @return True if this scope has been closed.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Frees every Java object handle and deletes every global variable tagged with
+     * this scope. Closing a scope that is already closed has no effect.
+     *
+     * @throws IllegalStateException If a scope opened within this scope is still open.
+     */
+    @Override public void close() throws IllegalStateException {
+        if (closed) {
+            return;
+        }
+
+        if (cache.scope != this) {
+            throw new IllegalStateException("Scopes must be closed in the reverse order they were opened.");
+        }
+
+        closed = true;
+        cache.scope = parent;
+
+        for (int i = 0; i < handleCount; i++) {
+            Object javaObject = cache.javaObjectHandles.get(handles[i]);
+            if (javaObject != null) {
+                cache.javaObjectIdentities.remove(javaObject, handles[i]);
+            }
+            cache.javaObjectHandles.free(handles[i]);
+        }
+        handles = null;
+
+        if (globals != null && !v8.isReleased()) {
+            deleteGlobals();
+        }
+        globals = null;
+    }
+}
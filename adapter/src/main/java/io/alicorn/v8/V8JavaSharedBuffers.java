@@ -0,0 +1,149 @@
+package io.alicorn.v8;
+
+import com.eclipsesource.v8.ReferenceHandler;
+import com.eclipsesource.v8.V8;
+import com.eclipsesource.v8.V8ArrayBuffer;
+import com.eclipsesource.v8.V8Value;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Memory of a V8 runtime shared between Java and JS without copying.
+ *
+ * V8 does not own the memory of an ArrayBuffer created over a direct buffer, so the
+ * direct buffer must not be collected by Java while JS can still reach the ArrayBuffer.
+ * Each shared buffer is therefore strongly referenced by a weak twin of its ArrayBuffer,
+ * made weak with {@link V8Value#setWeak()}, and dropped once V8 collects the ArrayBuffer
+ * and releases the twin.
+ *
+ * Conversely, Java owns no memory of an ArrayBuffer it borrows a view of, so the
+ * ArrayBuffer must not be collected by V8 while Java can still reach the view. Each
+ * borrowed ArrayBuffer is therefore kept alive by a JS array holding it, released once Java collects
+ * the backing store the view was derived from. Every duplicate or slice of the view
+ * references that backing store, so no view outlives it.
+ *
+ * This class must only be used from the thread of the V8 runtime it belongs to.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+final class V8JavaSharedBuffers implements ReferenceHandler {
+//Private//////////////////////////////////////////////////////////////////////
+
+    // Weak twins of the ArrayBuffers, mapped to the direct buffers backing them.
+    private final Map<V8Value, ByteBuffer> buffers = new IdentityHashMap<V8Value, ByteBuffer>();
+
+    // Runtime this map is registered as a reference handler with, if any.
+    private V8 runtime = null;
+
+    // Arrays keeping borrowed ArrayBuffers alive, by weak reference to their backing stores.
+    private final Map<Reference<ByteBuffer>, V8Value> borrowed = new HashMap<Reference<ByteBuffer>, V8Value>();
+    private final ReferenceQueue<ByteBuffer> borrowedQueue = new ReferenceQueue<ByteBuffer>();
+
+//Public///////////////////////////////////////////////////////////////////////
+
+    /**
+     * Keeps a direct buffer alive for as long as an ArrayBuffer created over it is
+     * reachable from JS.
+     *
+     * @param arrayBuffer Twin of the ArrayBuffer created over the direct buffer; this
+     *                    map takes ownership of it, and makes it weak.
+     * @param buffer Direct buffer backing the ArrayBuffer.
+     */
+    public void put(V8ArrayBuffer arrayBuffer, ByteBuffer buffer) {
+        if (runtime == null) {
+            runtime = arrayBuffer.getRuntime();
+            runtime.addReferenceHandler(this);
+        }
+
+        arrayBuffer.setWeak();
+        buffers.put(arrayBuffer, buffer);
+    }
+
+    /**
+     * Keeps an ArrayBuffer alive for as long as Java can reach a view of its backing store.
+     *
+     * @param holder JS value holding the ArrayBuffer, or a typed array over it; this map
+     *               takes ownership of it. It must not reference the backing store from Java.
+     * @param backingStore Backing store of the ArrayBuffer, which every view handed to Java
+     *                     must be derived from.
+     */
+    public void borrow(V8Value holder, ByteBuffer backingStore) {
+        removeUnreachable(V8JavaCache.RECLAIM_BATCH_SIZE);
+        borrowed.put(new WeakReference<ByteBuffer>(backingStore, borrowedQueue), holder);
+    }
+
+    /**
+     * Releases the holders of borrowed ArrayBuffers whose views Java has collected.
+     *
+     * @param limit Maximum number of holders to release.
+     *
+     * @return Number of holders released.
+     */
+    public int removeUnreachable(int limit) {
+        int removed = 0;
+        Reference<? extends ByteBuffer> reference;
+        while (removed < limit && (reference = borrowedQueue.poll()) != null) {
+            V8Value holder = borrowed.remove(reference);
+            if (holder != null && !holder.isReleased()) {
+                holder.release();
+            }
+            removed++;
+        }
+
+        return removed;
+    }
+
+    /**
+     * Stops keeping every shared buffer and borrowed ArrayBuffer alive, releasing their
+     * twins and holders. Neither JS nor Java must use them afterwards.
+     */
+    public void clear() {
+        if (runtime != null) {
+            runtime.removeReferenceHandler(this);
+            runtime = null;
+        }
+
+        for (Iterator<V8Value> iterator = buffers.keySet().iterator(); iterator.hasNext();) {
+            V8Value twin = iterator.next();
+            iterator.remove();
+            if (!twin.isReleased()) {
+                twin.release();
+            }
+        }
+
+        for (V8Value holder : borrowed.values()) {
+            if (!holder.isReleased()) {
+                holder.release();
+            }
+        }
+        borrowed.clear();
+    }
+
+    /**
+     * @return Number of buffers currently kept alive.
+     */
+    public int size() {
+        return buffers.size();
+    }
+
+    /**
+     * @return Number of borrowed ArrayBuffers currently kept alive.
+     */
+    public int borrowedSize() {
+        return borrowed.size();
+    }
+
+    @Override public void v8HandleCreated(V8Value object) {
+    }
+
+    @Override public void v8HandleDisposed(V8Value object) {
+        buffers.remove(object);
+    }
+}
@@ -0,0 +1,357 @@
+package io.alicorn.v8;
+
+import com.eclipsesource.v8.V8Array;
+import com.eclipsesource.v8.V8Function;
+import com.eclipsesource.v8.V8ArrayBuffer;
+import com.eclipsesource.v8.V8Object;
+import com.eclipsesource.v8.V8TypedArray;
+import io.alicorn.v8.annotations.JSLazy;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single signature of a Java method or constructor, along with the reflective
+ * information needed to match and translate JS arguments to it.
+ *
+ * All reflective information is computed once when the signature is created,
+ * since querying it from the underlying member copies it on every call.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+final class V8JavaSignature {
+//Private//////////////////////////////////////////////////////////////////////
+
+    // Method or constructor represented by this signature.
+    private final Member member;
+
+    private final Class<?>[] parameterTypes;
+    private final Type[] genericParameterTypes;
+    private final boolean varArgs;
+
+    // Boxed component type of the trailing varargs array, or null if this signature has no varargs.
+    private final Class<?> varArgsType;
+
+    // Parameters annotated with JSLazy, or null if there are none.
+    private final boolean[] lazyParameters;
+
+    // Invoker of the method or constructor, taken from a generated binding or created
+    // on first invocation. Signatures are shared between runtimes, but racing to create
+    // the invoker is benign: invokers are immutable, and any of them will do.
+    private V8JavaInvoker invoker;
+
+    // Conversions of a single JS argument to Java, resolved once per argument kind.
+    private static final byte CONVERT_GENERIC = 0;
+    private static final byte CONVERT_NULL = 1;
+    private static final byte CONVERT_DIRECT = 2;
+    private static final byte CONVERT_JAVA_OBJECT = 3;
+    private static final byte CONVERT_LAZY = 4;
+
+    /**
+     * Returns which parameters are annotated with {@link JSLazy}, or null if none are.
+     */
+    private static boolean[] getLazyParameters(Annotation[][] parameterAnnotations) {
+        boolean[] lazyParameters = null;
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            for (Annotation annotation : parameterAnnotations[i]) {
+                if (annotation instanceof JSLazy) {
+                    if (lazyParameters == null) {
+                        lazyParameters = new boolean[parameterAnnotations.length];
+                    }
+                    lazyParameters[i] = true;
+                }
+            }
+        }
+
+        return lazyParameters;
+    }
+
+    private V8JavaSignature(Member member, Class<?>[] parameterTypes, Type[] genericParameterTypes, boolean varArgs,
+                            Annotation[][] parameterAnnotations, V8JavaBinding binding) {
+        this.member = member;
+        this.invoker = binding == null ? null : binding.getInvoker(member);
+        this.parameterTypes = parameterTypes;
+        this.genericParameterTypes = genericParameterTypes;
+        this.varArgs = varArgs && parameterTypes.length > 0 && parameterTypes[parameterTypes.length - 1].isArray();
+
+        if (this.varArgs) {
+            Class<?> componentType = parameterTypes[parameterTypes.length - 1].getComponentType();
+            this.varArgsType = V8JavaObjectUtils.boxed(componentType);
+        } else {
+            this.varArgsType = null;
+        }
+
+        this.lazyParameters = getLazyParameters(parameterAnnotations);
+    }
+
+//Public///////////////////////////////////////////////////////////////////////
+
+    public V8JavaSignature(Method method) {
+        this(method, null);
+    }
+
+    public V8JavaSignature(Constructor<?> constructor) {
+        this(constructor, null);
+    }
+
+    /**
+     * @param method Method represented by this signature.
+     * @param binding Generated binding of the class of the method, or null to invoke it reflectively.
+     */
+    public V8JavaSignature(Method method, V8JavaBinding binding) {
+        this(method, method.getParameterTypes(), method.getGenericParameterTypes(), method.isVarArgs(),
+             method.getParameterAnnotations(), binding);
+    }
+
+    /**
+     * @param constructor Constructor represented by this signature.
+     * @param binding Generated binding of the class of the constructor, or null to invoke it reflectively.
+     */
+    public V8JavaSignature(Constructor<?> constructor, V8JavaBinding binding) {
+        this(constructor, constructor.getParameterTypes(), constructor.getGenericParameterTypes(), constructor.isVarArgs(),
+             constructor.getParameterAnnotations(), binding);
+    }
+
+    /**
+     * @return The method or constructor represented by this signature.
+     */
+    public Member getMember() {
+        return member;
+    }
+
+    /**
+     * Invokes the method or constructor represented by this signature.
+     *
+     * @param target Object to invoke an instance method on; ignored for static methods and constructors.
+     * @param arguments Translated Java arguments, as returned by {@link Binding#translateArguments(V8JavaArguments, V8Object, V8JavaCache)}.
+     *
+     * @return The return value of the method, or the new instance of the constructor.
+     *
+     * @throws IllegalAccessException If the method or constructor is not accessible.
+     * @throws InstantiationException If the constructor belongs to an abstract class.
+     * @throws InvocationTargetException If the method or constructor threw an exception.
+     */
+    public Object invoke(Object target, Object[] arguments) throws IllegalAccessException, InstantiationException, InvocationTargetException {
+        if (invoker == null) {
+            invoker = member instanceof Method ? V8JavaInvoker.forMethod((Method) member) :
+                                                 V8JavaInvoker.forConstructor((Constructor<?>) member);
+        }
+
+        return invoker.invoke(target, arguments);
+    }
+
+    /**
+     * Checks whether a JS argument of the given kind can be passed as the given Java parameter type.
+     *
+     * This mirrors the rules of {@link V8JavaObjectUtils#translateJavascriptArgumentToJava(Class, Object, V8Object, V8JavaCache, Type)}
+     * without touching the argument itself.
+     *
+     * @param parameterType Java type of the parameter.
+     * @param kind Kind of the JS argument, as computed by {@link V8JavaArguments}.
+     *
+     * @return True if the argument can be passed as the parameter.
+     */
+    public static boolean accepts(Class<?> parameterType, Class<?> kind) {
+        if (kind == null) {
+            return !parameterType.isPrimitive();
+        } else if (kind == V8JavaArguments.AGED_OUT_KIND) {
+            return false;
+        } else if (kind == V8Function.class || kind == V8JavaArguments.GC_ABLE_FUNCTION_KIND) {
+            return V8Function.class == parameterType ||
+                   (Object.class == parameterType && kind == V8JavaArguments.GC_ABLE_FUNCTION_KIND) ||
+                   V8JavaObjectUtils.isFunctionalInterface(parameterType);
+        } else if (kind == V8Array.class || kind == V8TypedArray.class) {
+            return parameterType.isArray() ||
+                   List.class == parameterType ||
+                   Object.class == parameterType ||
+                   V8Array.class == parameterType ||
+                   (kind == V8TypedArray.class && (ByteBuffer.class == parameterType || V8TypedArray.class == parameterType));
+        } else if (kind == V8ArrayBuffer.class) {
+            return ByteBuffer.class == parameterType ||
+                   byte[].class == parameterType ||
+                   Object.class == parameterType ||
+                   V8ArrayBuffer.class == parameterType;
+        } else if (kind == V8Object.class) {
+            return Map.class == parameterType ||
+                   Object.class == parameterType ||
+                   V8Object.class == parameterType;
+        } else if (V8JavaArguments.isPrimitiveKind(kind)) {
+            return V8JavaObjectUtils.isPrimitiveCompatible(parameterType, kind);
+        } else {
+            return parameterType.isAssignableFrom(kind);
+        }
+    }
+
+    /**
+     * Checks whether JS arguments of the given kinds can be passed to this signature.
+     *
+     * Arguments that pass this check may still fail to translate if they are arrays or
+     * objects whose contents do not match the types expected by this signature.
+     *
+     * @param argumentKinds Kinds of the JS arguments, as computed by {@link V8JavaArguments}.
+     *
+     * @return True if arguments of the given kinds can be passed to this signature.
+     */
+    public boolean accepts(Class<?>[] argumentKinds) {
+        if (varArgs && argumentKinds.length >= parameterTypes.length - 1) {
+            int fixedParameters = parameterTypes.length - 1;
+            for (int i = 0; i < argumentKinds.length; i++) {
+                Class<?> parameterType = i < fixedParameters ? parameterTypes[i] : varArgsType;
+                if (!accepts(parameterType, argumentKinds[i])) {
+                    return false;
+                }
+            }
+
+            return true;
+        } else if (parameterTypes.length == argumentKinds.length) {
+            for (int i = 0; i < argumentKinds.length; i++) {
+                if (!accepts(parameterTypes[i], argumentKinds[i])) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Resolves how JS arguments of the given kinds are converted to the parameters
+     * of this signature.
+     *
+     * @param argumentKinds Kinds of the JS arguments, which must be accepted by this signature.
+     *
+     * @return A binding of this signature to the given argument kinds.
+     */
+    public Binding bind(Class<?>[] argumentKinds) {
+        // Varargs are always converted through the general translation path.
+        if (varArgs) {
+            return new Binding(this, null);
+        }
+
+        byte[] converters = new byte[argumentKinds.length];
+        for (int i = 0; i < argumentKinds.length; i++) {
+            Class<?> kind = argumentKinds[i];
+            if (kind == null) {
+                converters[i] = CONVERT_NULL;
+            } else if (V8JavaArguments.isPrimitiveKind(kind) &&
+                       (parameterTypes[i].isAssignableFrom(kind) ||
+                        kind.isAssignableFrom(V8JavaObjectUtils.boxed(parameterTypes[i])))) {
+                converters[i] = CONVERT_DIRECT;
+            } else if (V8JavaArguments.isJavaObjectKind(kind)) {
+                converters[i] = CONVERT_JAVA_OBJECT;
+            } else if (lazyParameters != null && lazyParameters[i] && (kind == V8Array.class || kind == V8Object.class)) {
+                converters[i] = CONVERT_LAZY;
+            } else {
+                converters[i] = CONVERT_GENERIC;
+            }
+        }
+
+        return new Binding(this, converters);
+    }
+
+    /**
+     * Translates JS arguments to the Java arguments of this signature.
+     *
+     * @param arguments JS arguments to translate.
+     * @param receiver V8Object receiver that any functional arguments should be tied to.
+     * @param cache V8JavaCache associated with the given V8 runtime.
+     *
+     * @return The translated Java arguments.
+     *
+     * @throws IllegalArgumentException if the JS arguments could not be coerced into this signature.
+     */
+    public Object[] translateArguments(V8JavaArguments arguments, V8Object receiver, V8JavaCache cache) throws IllegalArgumentException {
+        return V8JavaObjectUtils.translateJavascriptArgumentsToJava(varArgs, parameterTypes, genericParameterTypes, arguments.getValues(), receiver, cache);
+    }
+
+    /**
+     * A signature along with the conversion of each JS argument to its parameter,
+     * resolved for one combination of argument kinds.
+     */
+    static final class Binding {
+        private final V8JavaSignature signature;
+
+        // Conversion of each argument, or null if all arguments go through the general translation path.
+        private final byte[] converters;
+
+        private Binding(V8JavaSignature signature, byte[] converters) {
+            this.signature = signature;
+            this.converters = converters;
+        }
+
+        /**
+         * @return The signature bound by this binding.
+         */
+        public V8JavaSignature getSignature() {
+            return signature;
+        }
+
+        /**
+         * Translates JS arguments of the kinds this binding was resolved for to the
+         * Java arguments of its signature.
+         *
+         * @param arguments JS arguments to translate.
+         * @param receiver V8Object receiver that any functional arguments should be tied to.
+         * @param cache V8JavaCache associated with the given V8 runtime.
+         *
+         * Arguments of the right kinds may still not match the signature if they are arrays
+         * or objects whose contents do not match the types it expects. Such a mismatch is
+         * recorded on the arguments, see {@link V8JavaArguments#getMismatch()}, so that the
+         * next candidate can be tried.
+         *
+         * @return The translated Java arguments, or null if they do not match the signature.
+         */
+        public Object[] translateArguments(V8JavaArguments arguments, V8Object receiver, V8JavaCache cache) {
+            try {
+                return converters == null ? signature.translateArguments(arguments, receiver, cache) :
+                                            convertArguments(arguments, receiver, cache);
+            } catch (IllegalArgumentException e) {
+                arguments.setMismatch(e);
+                return null;
+            }
+        }
+
+        private Object[] convertArguments(V8JavaArguments arguments, V8Object receiver, V8JavaCache cache) throws IllegalArgumentException {
+            Object[] values = arguments.getValues();
+            Object[] translated = new Object[converters.length];
+            for (int i = 0; i < converters.length; i++) {
+                switch (converters[i]) {
+                    case CONVERT_NULL:
+                        translated[i] = null;
+                        break;
+                    case CONVERT_DIRECT:
+                        translated[i] = values[i];
+                        break;
+                    case CONVERT_JAVA_OBJECT:
+                        Object javaObject = arguments.getJavaObject(i);
+                        V8JavaClassProxy proxy = cache.cachedV8JavaClasses.get(javaObject.getClass());
+                        if (proxy != null) {
+                            // Check if it's intercepted.
+                            proxy.readInjectedInterceptor((V8Object) values[i]);
+                        }
+                        translated[i] = javaObject;
+                        break;
+                    case CONVERT_LAZY:
+                        translated[i] = V8JavaObjectUtils.translateJavascriptArgumentToLazyJava(
+                                signature.parameterTypes[i], values[i], receiver, cache, signature.genericParameterTypes[i], arguments);
+                        break;
+                    default:
+                        translated[i] = V8JavaObjectUtils.translateJavascriptArgumentToJava(
+                                signature.parameterTypes[i], values[i], receiver, cache, signature.genericParameterTypes[i]);
+                        break;
+                }
+            }
+
+            return translated;
+        }
+    }
+}
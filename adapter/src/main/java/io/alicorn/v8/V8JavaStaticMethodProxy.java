@@ -0,0 +1,57 @@
+package io.alicorn.v8;
+
+import com.eclipsesource.v8.JavaCallback;
+import com.eclipsesource.v8.V8Array;
+import com.eclipsesource.v8.V8Object;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Proxies a static method of a Java class and makes it available to the V8 runtime.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+class V8JavaStaticMethodProxy extends V8JavaMethodProxy implements JavaCallback {
+
+    // Cache for the V8 runtime this proxy exists on.
+    private final V8JavaCache cache;
+
+    public V8JavaStaticMethodProxy(String name, V8JavaCache cache) {
+        super(name);
+        this.cache = cache;
+    }
+
+    @Override public Object invoke(V8Object receiver, V8Array parameters) {
+        V8JavaArguments arguments = V8JavaArguments.fetch(parameters, receiver, cache);
+        try {
+            //See if a method exists.
+            Object[] coercedArguments = null;
+            V8JavaSignature coercedSignature = null;
+            for (V8JavaSignature.Binding binding : getDispatchTable().getCandidates(arguments)) {
+                coercedArguments = binding.translateArguments(arguments, receiver, cache);
+                if (coercedArguments != null) {
+                    coercedSignature = binding.getSignature();
+                    break;
+                }
+            }
+
+            if (coercedArguments == null) {
+                throw arguments.noSignatureFound("No signature exists for " + getMethodName() + " with specified parameters");
+            }
+
+            //Invoke the method.
+            try {
+                return V8JavaObjectUtils.translateJavaArgumentToJavascript(coercedSignature.invoke(null,coercedArguments), V8JavaObjectUtils.getRuntimeSarcastically(receiver), cache);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Method received invalid arguments!");
+            } catch (InstantiationException e) {
+                throw new IllegalArgumentException("Method received invalid arguments!");
+            } catch (InvocationTargetException e) {
+                e.printStackTrace();
+                throw new IllegalArgumentException("Method received invalid arguments!");
+            }
+        } finally {
+            arguments.release();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package io.alicorn.v8;
+
+import com.eclipsesource.v8.V8;
+import com.eclipsesource.v8.V8Object;
+
+import java.util.Map;
+
+/**
+ * Represents a V8 JavaScript engine which may be injected with
+ * classes and objects.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+public class V8Runtime {
+//Protected////////////////////////////////////////////////////////////////////
+
+    // Wrapped J2V8 instance.
+    protected final V8 v8;
+
+    // Local object cache. Class metadata is shared between runtimes by V8JavaClassDescriptor.
+    protected final V8JavaCache cache;
+
+    // Protected constructor to force factory construction.
+    protected V8Runtime() {
+        this.v8 = V8.createV8Runtime();
+        this.cache = V8JavaAdapter.getCacheForRuntime(v8);
+    }
+
+    /**
+     * @param name Name of the injected object in the V8 context.
+     * @param object Object to inject.
+     * @param rootObject Object to inject the object into.
+     *
+     * @return The unique ID of the injected object in the V8 context.
+     *
+     * @see #injectObject(String, Object)
+     */
+    protected String injectObject(String name, Object object, V8Object rootObject) {
+        return V8JavaAdapter.injectObject(name, object, rootObject);
+    }
+
+    /**
+     * @param name Name of the injected class in the V8 context.
+     * @param classy Class to inject.
+     * @param interceptor Class intercetor to tie to the class.
+     * @param rootObject Object to inject the class in.
+     *
+     * @see #injectClass(Class)
+     */
+    protected void injectClass(String name, Class<?> classy, V8JavaClassInterceptor interceptor, V8Object rootObject) {
+        V8JavaAdapter.injectClass(name, classy, interceptor, rootObject);
+    }
+
+//Public///////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates and returns a new {@link V8Runtime}.
+     *
+     * @return A new {@link V8Runtime}.
+     */
+    public static V8Runtime create() {
+        return new V8Runtime();
+    }
+
+    /**
+     * Injects an existing Java object into V8 as a variable.
+     * <p>
+     * If the passed object represents an object array (e.g., String[], Object[]),
+     * the array will be unwrapped and injected into the V8 context as an ArrayList. Any
+     * modifications made to the injected list will not be passed back up to the Java runtime.
+     * <p>
+     * If the passed object is a primitive array (e.g., int[], double[]), it is copied into
+     * a JS typed array instead, as described by
+     * {@link V8JavaObjectUtils#translatePrimitiveArrayToJavascript(Object, com.eclipsesource.v8.V8)}.
+     * <p>
+     * If the passed object is a {@link java.nio.ByteBuffer}, it is injected as a JS ArrayBuffer,
+     * sharing the memory of direct buffers as described by
+     * {@link V8JavaObjectUtils#translateByteBufferToJavascript(java.nio.ByteBuffer, com.eclipsesource.v8.V8)}.
+     * <p>
+     * This method will immediately invoke {@link #injectClass(Class)}
+     * before injecting the object, causing the object's class to be automatically
+     * injected into V8 if it wasn't already.
+     *
+     * @param name Name of the variable to assign the Java object to. If this value is null,
+     * the object will not be assigned to any variable.
+     * @param object Java object to inject.
+     *
+     * @return String identifier of the injected object's handle, or the passed name if the
+     * object's interceptor overrode its injection with a value that has no handle.
+     */
+    public String injectObject(String name, Object object) {
+        return injectObject(name, object, v8);
+    }
+
+    /**
+     * Injects a copy of a Java value into V8 as a variable, transferring the whole
+     * value at once as plain JS objects and arrays.
+     *
+     * @param name Name of the variable to assign the copy to.
+     * @param value Java value to copy.
+     *
+     * @see V8JavaAdapter#injectValue(String, Object, V8Object)
+     */
+    public void injectValue(String name, Object value) {
+        V8JavaAdapter.injectValue(name, value, v8);
+    }
+
+    /**
+     * Injects many existing Java objects into V8 as variables at once, creating their
+     * JS objects in a single script execution.
+     *
+     * @param objects Java objects to inject, keyed by the name of the variable to assign them to.
+     *
+     * @return String identifiers of the injected objects' handles, keyed by the names of the objects.
+     *
+     * @see V8JavaAdapter#injectObjects(Map, V8Object)
+     */
+    public Map<String, String> injectObjects(Map<String, ?> objects) {
+        return V8JavaAdapter.injectObjects(objects, v8);
+    }
+
+    /**
+     * Injects a Java class into V8 as a prototype.
+     * <p>
+     * The injected "class" will be equivalent to a Java Script prototype with
+     * a name identical to the simple name of the class.
+     *
+     * @param classy Java class to inject.
+     */
+    public void injectClass(Class<?> classy) {
+        injectClass(classy.getSimpleName(), classy, null, v8);
+    }
+
+    /**
+     * Opens a new {@link V8JavaScope} on this runtime, within the innermost scope
+     * that is currently open, if any.
+     *
+     * @return The opened scope. It is the responsibility of the caller to close it.
+     *
+     * @see V8JavaAdapter#openScope(V8)
+     */
+    public V8JavaScope openScope() {
+        return V8JavaAdapter.openScope(v8);
+    }
+
+    /**
+     * Opens a new {@link V8JavaArena} on this runtime, within the innermost arena
+     * that is currently open, if any.
+     *
+     * Every V8 value created on this runtime until the arena is closed, including the
+     * values returned by {@link #executeObjectScript(String)}, is released when it is
+     * closed unless it is escaped.
+     *
+     * @return The opened arena. It is the responsibility of the caller to close it.
+     */
+    public V8JavaArena openArena() {
+        return V8JavaArena.open(v8);
+    }
+
+    /**
+     * Sets the {@link V8JavaBindingMode} used by classes injected into this runtime.
+     * <p>
+     * Classes that were already injected keep the binding mode they were injected with.
+     *
+     * @param bindingMode Binding mode to use for classes injected from now on.
+     */
+    public void setBindingMode(V8JavaBindingMode bindingMode) {
+        if (bindingMode == null) throw new IllegalArgumentException("Not null binding mode required");
+
+        cache.bindingMode = bindingMode;
+    }
+
+    /**
+     * Releases any native resources held by this V8 runtime.
+     *
+     * This method must be invoked before shutdown, or else memory leaks could occur!
+     */
+    public void release() {
+        V8JavaObjectUtils.releaseV8Resources(v8);
+        v8.release(true);
+    }
+
+    /**
+     * Executes a script within this V8 runtime.
+     *
+     * @param script Script to execute.
+     */
+    public void executeScript(String script) {
+        v8.executeVoidScript(script);
+    }
+
+    /**
+     * Executes a script within this V8 runtime.
+     *
+     * @param script Script to execute.
+     *
+     * @return The boolean return value of the script.
+     */
+    public boolean executeBooleanScript(String script) {
+        return v8.executeBooleanScript(script);
+    }
+
+    /**
+     * Executes a script within this V8 runtime.
+     *
+     * @param script Script to execute.
+     *
+     * @return The integer return value of the script.
+     */
+    public int executeIntegerScript(String script) {
+        return v8.executeIntegerScript(script);
+    }
+
+    /**
+     * Executes a script within this V8 runtime.
+     *
+     * @param script Script to execute.
+     *
+     * @return The double return value of the script.
+     */
+    public double executeDoubleScript(String script) {
+        return v8.executeDoubleScript(script);
+    }
+
+    /**
+     * Executes a script within this V8 runtime.
+     *
+     * @param script Script to execute.
+     *
+     * @return The string return value of the script.
+     */
+    public String executeStringScript(String script) {
+        return v8.executeStringScript(script);
+    }
+
+    /**
+     * Executes a script within this V8 runtime.
+     *
+     * @param script Script to execute.
+     *
+     * @return The object return value of the script.
+     */
+    public Object executeObjectScript(String script) {
+        return v8.executeObjectScript(script);
+    }
+}
@@ -0,0 +1,23 @@
+package io.alicorn.v8.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a {@link java.util.List}, {@link java.util.Map} or {@link Object} parameter
+ * as receiving a lazy view of a JS array or object instead of a full Java copy.
+ *
+ * Entries of the view are translated the first time they are accessed, and cached.
+ * The view is only valid during the invocation it was passed to, and can be released
+ * earlier through {@link com.eclipsesource.v8.Releasable#release()}. Callers that
+ * keep the contents beyond the invocation should copy them.
+ *
+ * This annotation has no effect on parameters of methods with varargs.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface JSLazy {
+    String value() default "";
+}
@@ -1,9 +1,11 @@
 package io.alicorn.v8.engine;
 
 import com.eclipsesource.v8.V8;
+import com.eclipsesource.v8.V8Value;
 import io.alicorn.v8.ConcurrentV8;
 import io.alicorn.v8.ConcurrentV8Runnable;
 import io.alicorn.v8.V8JavaAdapter;
+import io.alicorn.v8.V8JavaArena;
 import io.alicorn.v8.V8JavaObjectUtils;
 
 import javax.script.*;
@@ -91,10 +93,14 @@ public class V8ScriptingEngine extends AbstractScriptEngine implements Invocable
     public Object invokeFunction(final String name, final Object... args) throws ScriptException, NoSuchMethodException {
         try {
             final Object[] result = new Object[1];
-            concurrentV8.run(new ConcurrentV8Runnable() {
+            // Arguments are released by the arena; only the result outlives the run.
+            concurrentV8.runInArena(new ConcurrentV8Runnable() {
                 @Override
                 public void run(V8 v8) {
                     result[0] = v8.executeJSFunction(name, V8JavaObjectUtils.translateJavaArgumentsToJavascript(args, v8, V8JavaAdapter.getCacheForRuntime(v8)));
+                    if (result[0] instanceof V8Value) {
+                        V8JavaArena.current(v8).escape((V8Value) result[0]);
+                    }
                 }
             });
             return result[0];
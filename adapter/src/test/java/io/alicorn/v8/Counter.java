@@ -0,0 +1,36 @@
+package io.alicorn.v8;
+
+import io.alicorn.v8.annotations.JSDisableMethodAutodetect;
+import io.alicorn.v8.annotations.JSFunction;
+
+/**
+ * Class whose binding {@code Counter$$V8Binding} is generated by v8-adapter-processor
+ * while compiling the tests.
+ */
+@JSDisableMethodAutodetect
+public class Counter {
+    private int count;
+
+    // Class that last called into this class, to tell generated bindings from reflection.
+    static String lastCaller = null;
+
+    private static void recordCaller() {
+        lastCaller = new Throwable().getStackTrace()[2].getClassName();
+    }
+
+    public Counter(int count) {
+        this.count = count;
+    }
+
+    @JSFunction
+    public int add(int amount) {
+        recordCaller();
+        return count += amount;
+    }
+
+    @JSFunction
+    public int get() {
+        recordCaller();
+        return count;
+    }
+}
@@ -0,0 +1,2024 @@
+package io.alicorn.v8;
+
+import com.eclipsesource.v8.*;
+import com.eclipsesource.v8.utils.V8ObjectUtils;
+import io.alicorn.v8.annotations.JSDisableMethodAutodetect;
+import io.alicorn.v8.annotations.JSGetter;
+import io.alicorn.v8.annotations.JSLazy;
+import io.alicorn.v8.annotations.JSSetter;
+import io.alicorn.v8.annotations.JSStaticFunction;
+import io.alicorn.v8.annotations.callback.JSListener;
+import org.hamcrest.core.IsInstanceOf;
+import org.hamcrest.core.StringContains;
+import org.junit.*;
+import org.junit.rules.ExpectedException;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class V8JavaAdapterTest {
+//Setup classes////////////////////////////////////////////////////////////////
+    private interface Baz {
+        Foo doFooInterface(Foo foo);
+    }
+
+    private interface Bar {
+        int doInterface(int args);
+    }
+
+    private interface CallBack {
+        Object call(Object... args);
+    }
+
+    @JSListener
+    private interface Listener extends CallBack {
+        @Override Object call(Object... args);
+    }
+
+    private static final class Foo {
+        public int i;
+        public Foo(int i) { this.i = i; }
+        public static int doStatic() { return 9001; }
+        public int doInstance(int i) { return this.i + i; }
+        public int doInstance(int i, int i2) { return this.i + (i * i2); }
+        public void add(Foo foo) { this.i += foo.i; }
+        public void add(Bar bar) { this.i = bar.doInterface(this.i); }
+        public void addBaz(Baz baz) { this.i = baz.doFooInterface(this).getI(); }
+        public Object invokeCallBack(CallBack callBack, Object... args) {return callBack.call(args); }
+        public Object invokeCallBackTwice(CallBack callBack, Object... args) {
+            final Object result = callBack.call(args);
+
+            //should throw here as callback is already released
+            callBack.call(args);
+
+            return result;
+        }
+
+        public Object invokeListenerTwice(Listener listener, Object... args) {
+            final Object result = listener.call(args);
+
+            //should NOT throw here as it's listener, but not call-back
+            listener.call(args);
+
+            return result;
+        }
+
+        public Object invokeAndReleaseListener(Listener listener, Object... args) {
+          final Object jsCallResult = invokeAndManuallyReleaseInner(listener, args);
+          return jsCallResult;
+        }
+
+        public Object reInvokeReleasedListener(Listener listener, Object... args) throws V8ScriptExecutionException {
+          final Object jsCallResult = invokeAndManuallyReleaseInner(listener, args);
+
+          //should throw here as listener is already released manually
+          listener.call(args);
+
+          return jsCallResult;
+        }
+
+        private Object invokeAndManuallyReleaseInner(Listener listener, Object[] args) {
+          final Object call = listener.call(args);
+          //despite Listener does not implement Releasable it's safe to cast as it's implemented by Proxy
+          ((Releasable) listener).release();
+          return call;
+        }
+
+
+      public String doString(String s) { return s; }
+        public int getI() { return i; }
+        public Foo copy() { return new Foo(i); }
+        public int doArray(int[] a) {
+            int ret = 0;
+            for (int i = 0; i < a.length; i++) {
+                ret += a[i];
+            }
+            return ret;
+        }
+        public int doNArray(int[][] a) {
+            int ret = 0;
+            for (int i = 0; i < a.length; i++) {
+                ret += doArray(a[i]);
+            }
+            return ret;
+        }
+        public int doVarargs(int a, int b, int... c) {
+            int ret = a + b;
+            for (int i = 0; i < c.length; i++) {
+                ret += c[i];
+            }
+            return ret;
+        }
+    }
+
+    private static final class Echo {
+        public Echo() {}
+        public Object echo(Object o) { return o; }
+    }
+
+    private static final class Bytes {
+        public ByteBuffer shared = ByteBuffer.allocateDirect(4);
+        public Bytes() {}
+        public ByteBuffer getShared() { return shared; }
+        public int sum(ByteBuffer buffer) {
+            int sum = 0;
+            while (buffer.hasRemaining()) {
+                sum += buffer.get();
+            }
+            return sum;
+        }
+        public int length(byte[] bytes) { return bytes.length; }
+        public ByteBuffer kept;
+        public void keep(ByteBuffer buffer) { kept = buffer; }
+        public Object keptObject;
+        public void keepObject(Object object) { keptObject = object; }
+    }
+
+    private static final class LazyReader {
+        public List<Object> kept;
+        public LazyReader() {}
+        public Object pick(@JSLazy Map<String, Integer> map, String key) { return map.get(key); }
+        public int sum(@JSLazy List<Map<String, Integer>> items) {
+            int sum = 0;
+            for (Map<String, Integer> item : items) {
+                sum += item.get("x");
+            }
+            return sum;
+        }
+        public int keep(@JSLazy List<Object> list) {
+            kept = list;
+            return list.size();
+        }
+    }
+
+    private static final class Squares {
+        public Squares() {}
+        public double[] of(int n) {
+            double[] squares = new double[n];
+            for (int i = 0; i < n; i++) {
+                squares[i] = i * i;
+            }
+            return squares;
+        }
+        public double sum(double[] values) {
+            double sum = 0;
+            for (double value : values) {
+                sum += value;
+            }
+            return sum;
+        }
+        public long total(long[] values) {
+            long sum = 0;
+            for (long value : values) {
+                sum += value;
+            }
+            return sum;
+        }
+        public float average(float[] values) {
+            float sum = 0;
+            for (float value : values) {
+                sum += value;
+            }
+            return sum / values.length;
+        }
+        public String describe(byte[] bytes) {
+            return Arrays.toString(bytes);
+        }
+        public String describe(short[] shorts) {
+            return Arrays.toString(shorts);
+        }
+        public String spell(char[] chars) {
+            return new String(chars);
+        }
+        public String join(String[] parts) {
+            StringBuilder joined = new StringBuilder();
+            for (String part : parts) {
+                joined.append(part);
+            }
+            return joined.toString();
+        }
+    }
+
+    private static final class Overloaded {
+        public Overloaded() {}
+        public Overloaded(String s) {}
+        public String describe(int i) { return "int"; }
+        public String describe(String s) { return "String"; }
+        public String describe(Foo foo) { return "Foo"; }
+        public String describe(int[] a) { return "int[]"; }
+        public String describe(String[] a) { return "String[]"; }
+        public String describe(Bar bar) { return "Bar"; }
+        public String describe(Object o, Object o2) { return "Object, Object"; }
+    }
+
+    private static final class Point {
+        private final String constructedWith;
+        public Point() { constructedWith = "none"; }
+        public Point(int x, int y) { constructedWith = "int " + x + " " + y; }
+        public Point(double x, double y) { constructedWith = "double " + x + " " + y; }
+        public Point(String s, int y) { constructedWith = "String " + s + " " + y; }
+        public String getConstructedWith() { return constructedWith; }
+    }
+
+    @JSDisableMethodAutodetect
+    private static final class FooNoAutoDetect {
+        @JSStaticFunction
+        public static int doStaticAnnotated() { return 9001; }
+
+        public static int doStaticNotAnnotated() { return 9001; }
+    }
+
+    private static final class InterceptableFoo {
+        public int i;
+        public InterceptableFoo(int i) { this.i = i; }
+        public void add(int i) { this.i += i; }
+        public int getI() { return i; }
+        public void setI(int i) { this.i = i; }
+    }
+
+    private abstract static class WannabeBeanBase {
+        public int i = 0;
+        public int j = 0;
+        public WannabeBeanBase() {}
+        public int getI() { return i / 2; }
+        public void setI(int value) { i = value; }
+        public int getJ() { return j; }
+        public void setJ(int value) { j = value * 2; }
+        public boolean isFullySetUp() { return i != 0 && j != 0; }
+    }
+
+    private static class WannabeBean extends WannabeBeanBase {
+        public WannabeBean() {}
+        @JSGetter @Override public int getI() { return super.getI(); }
+        @JSSetter @Override public void setI(int value) { super.setI(value); }
+        @JSGetter @Override public int getJ() { return super.getJ(); }
+        @JSSetter @Override public void setJ(int value) { super.setJ(value); }
+        @JSGetter @Override public boolean isFullySetUp() { return super.isFullySetUp(); }
+    }
+
+    @JSDisableMethodAutodetect
+    private static final class WannabeBeanNoAutoDetect extends WannabeBean {
+        public WannabeBeanNoAutoDetect() {
+        }
+    }
+
+    private static class WannabeBeanNoAnnotations extends WannabeBeanBase {
+        public WannabeBeanNoAnnotations() {}
+        @Override public int getI() { return super.getI(); }
+        @Override public void setI(int value) { super.setI(value); }
+        @Override public int getJ() { return super.getJ(); }
+        @Override public void setJ(int value) { super.setJ(value); }
+        @Override public boolean isFullySetUp() { return super.isFullySetUp(); }
+    }
+
+    @JSDisableMethodAutodetect
+    private static final class WannabeBeanNoAnnotationsNoAutoDetect extends WannabeBeanNoAnnotations {
+        public WannabeBeanNoAnnotationsNoAutoDetect() {
+        }
+    }
+
+    private static class NotBean {
+        public NotBean() {}
+        public int i = 0;
+        public int j = 0;
+        public int incrementI() { return ++i; }
+        public int decrementj() { return --j; }
+
+    }
+
+    @JSDisableMethodAutodetect
+    private static final class NotBeanNoAutoDetect extends NotBean {
+        public NotBeanNoAutoDetect() {
+        }
+    }
+
+    @JSDisableMethodAutodetect
+    private static final class NotBeanAnnotatedNoAutoDetect extends NotBean {
+        public NotBeanAnnotatedNoAutoDetect() {}
+        @JSGetter public int incrementI() { return super.incrementI(); }
+        @JSSetter public void assignToj(int newJ) {
+            this.j = newJ;
+        }
+        @JSGetter public int sum() {
+            return i + j;
+        }
+    }
+
+
+    private static final class IncompleteBeanOne {
+        public int i = 0;
+        public IncompleteBeanOne() { }
+        @JSGetter public int getI() { return 3344; }
+    }
+
+    private static final class IncompleteBeanTwo {
+        public int j = 0;
+        public IncompleteBeanTwo() { }
+        @JSSetter public void setJ(int value) { j = value; }
+        @JSGetter public int getDecoratedJ() { return j; }
+    }
+
+    private static final class FooInterceptor implements V8JavaClassInterceptor<InterceptableFoo> {
+
+        @Override public Object objectInjectorOverride(InterceptableFoo object) { return null; }
+
+        @Override public String getConstructorScriptBody() {
+            return "var i = 0;\n" +
+                    "this.getI = function() { return i; };\n" +
+                    "this.setI = function(other) { i = other; };\n" +
+                    "this.add = function(other) { i = i + other; };\n" +
+                    "this.onJ2V8Inject = function(context) { i = context.get(\"i\"); };\n" +
+                    "this.onJ2V8Extract = function(context) { context.set(\"i\", i); };";
+        }
+
+        @Override public void onInject(V8JavaClassInterceptorContext context, InterceptableFoo object) {
+            context.set("i", object.i);
+        }
+
+        @Override public void onExtract(V8JavaClassInterceptorContext context, InterceptableFoo object) {
+            object.i = V8JavaObjectUtils.widenNumber(context.get("i"), Integer.class);
+        }
+    }
+
+    private static final class SchemaFooInterceptor implements V8JavaSchemaClassInterceptor<InterceptableFoo> {
+
+        private static final V8JavaClassInterceptorSchema SCHEMA =
+                new V8JavaClassInterceptorSchema(new String[] {"i", "label"}, new Class<?>[] {Integer.class, String.class});
+
+        @Override public V8JavaClassInterceptorSchema getContextSchema() { return SCHEMA; }
+
+        @Override public Object objectInjectorOverride(InterceptableFoo object) { return null; }
+
+        @Override public String getConstructorScriptBody() {
+            return "var i = 0;\n" +
+                    "this.getI = function() { return i; };\n" +
+                    "this.setI = function(other) { i = other; };\n" +
+                    "this.add = function(other) { i = i + other; };\n" +
+                    "this.onJ2V8Inject = function(context) { i = context.i; this.label = context.label; };\n" +
+                    "this.onJ2V8Extract = function(context) { context.i = i; context.label = 'seen ' + i; };";
+        }
+
+        @Override public void onInject(V8JavaClassInterceptorContext context, InterceptableFoo object) {
+            context.set(0, object.i);
+            context.set("label", "foo " + object.i);
+        }
+
+        @Override public void onExtract(V8JavaClassInterceptorContext context, InterceptableFoo object) {
+            object.i = (Integer) context.get(0);
+            Assert.assertEquals("seen " + object.i, context.get("label"));
+        }
+    }
+
+    private static final class Fooey {
+        public int i = 0;
+        public Fooey(int i) { this.i = i; }
+        public void doInstance(InterceptableFoo foo) { this.i += foo.getI(); }
+        public void setI(int i) { this.i = i; }
+        public int getI() { return i; }
+    }
+
+    private static final class NativeJsObjectReader {
+
+        private final String yKey = "y";
+
+        public NativeJsObjectReader() {}
+
+        public Object readJsObjectAsMapAndGetY(Map mapWithYProperty) {
+            return mapWithYProperty.get(yKey);
+        }
+
+        public Object readJsObjectAsV8ObjectAndGetY(V8Object objectWithYProperty) {
+            final Object yValue = objectWithYProperty.get(yKey);
+            objectWithYProperty.release();
+            return yValue;
+        }
+
+        public Object readJsObjectAsJavaObjectAndTryGetY(Object possibleMapWithYProperty) {
+            if (!(possibleMapWithYProperty instanceof Map)) {
+                throw new IllegalArgumentException("Can't read from object, which is not map, but " + possibleMapWithYProperty);
+            }
+
+            return ((Map) possibleMapWithYProperty).get(yKey);
+        }
+    }
+
+    private static final class RawMapHolder {
+        Map<String, ?> map;
+
+        public Map<String, ?> getMap() {
+            return map;
+        }
+
+        public void setMap(Map<String, ?> map) {
+            this.map = map;
+        }
+    }
+
+    private static final class RawListHolder {
+        List<?> list;
+
+        public List<?> getMap() {
+            return list;
+        }
+
+        public void setList(List<?> list) {
+            this.list = list;
+        }
+    }
+
+    private static final class StringMapHolder {
+        Map<String, String> map;
+
+        public Map<String, String> getMap() {
+            return map;
+        }
+
+        public void setMap(Map<String, String> map) {
+            this.map = map;
+        }
+    }
+
+    private static final class NativeJsFunctionReader {
+        public NativeJsFunctionReader() {}
+
+        public void sumAndNotify(int left, int right, V8Function callBack) {
+            final int sum = left + right;
+            final List<Integer> callBackArg = Collections.singletonList(sum);
+
+            final V8 v8 = callBack.getRuntime();
+            final V8Array v8Args = V8ObjectUtils.toV8Array(v8, callBackArg);
+            callBack.call(v8, v8Args);
+
+            v8Args.release();
+            callBack.release();
+        }
+
+        public void sumAndAndTryToNotify(int left, int right, Object possibleCallBack) {
+            final int sum = left + right;
+            final List<Integer> callBackArg = Collections.singletonList(sum);
+
+            if (!(possibleCallBack instanceof JsBasedCallBack)) {
+              throw new IllegalArgumentException("Can't call object, which is not JsBasedCallBack, but " + possibleCallBack);
+            }
+
+            final JsBasedCallBack callBack = (JsBasedCallBack) possibleCallBack;
+            callBack.call(sum);
+        }
+    }
+
+    private static final class NativeJsArrayReader {
+
+        private final int firstPostition = 0;
+
+        public NativeJsArrayReader() {}
+
+        public Object readJsArrayAsJavaArrayAndGet1st(Integer[] intsArray) {
+            return intsArray[firstPostition];
+        }
+
+        public Object readJsArrayAsJavaListAndGet1st(List<Integer> intsList) {
+            return intsList.get(firstPostition);
+        }
+
+        public Object readJsArrayAsJavaRawArrayAndGet1st(Object[] objectsArray) {
+            return objectsArray[firstPostition];
+        }
+
+        public Object readJsArrayAsRawJavaListAndGet1st(List objectsList) {
+            return objectsList.get(firstPostition);
+        }
+
+        public Object readJsArrayAsV8ArrayAndGet1st(V8Array array) {
+            final Object firstValue = array.get(firstPostition);
+            array.release();
+            return firstValue;
+        }
+
+        public Object readJsArrayAsJavaObjectAndTryGet1st(Object possibleList) {
+            if (!(possibleList instanceof List)) {
+                throw new IllegalArgumentException("Can't read from object, which is not list, but " + possibleList);
+            }
+
+            return ((List) possibleList).get(firstPostition);
+        }
+    }
+
+    private static final class JsNullReader {
+        public JsNullReader() {}
+
+        public int readAndGetInt(int arg) {
+            return arg;
+        }
+
+        public Integer readAndGetInteger(Integer arg) {
+            return arg;
+        }
+
+        public Foo readAndGetJavaClass(Foo arg) {
+            return arg;
+        }
+
+        public Foo readAndGetJavaFunctionalInterface(Foo arg) {
+            return arg;
+        }
+    }
+
+    private static final class Twin {
+        private static int hashCodes = 0;
+
+        @Override public boolean equals(Object other) {
+            return other instanceof Twin;
+        }
+
+        @Override public int hashCode() {
+            hashCodes++;
+            return 0;
+        }
+    }
+
+    private static final class Twins {
+        private final Twin left = new Twin();
+        private final Twin right = new Twin();
+
+        public Twins() {}
+
+        public Twin left() {
+            return left;
+        }
+
+        public Twin right() {
+            return right;
+        }
+    }
+
+//Tests////////////////////////////////////////////////////////////////////////
+
+    private V8 v8;
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Before
+    public void setup() {
+        v8 = V8.createV8Runtime();
+        V8JavaAdapter.injectClass(Foo.class, v8);
+    }
+
+    @After
+    public void teardown() {
+        V8JavaObjectUtils.releaseV8Resources(v8);
+        v8.release(true);
+    }
+
+    @Test
+    public void shouldInjectObjects() {
+        V8JavaAdapter.injectObject("bar", new Bar() {
+            @Override public int doInterface(int args) {
+                return args * 2;
+            }
+        }, v8);
+        Assert.assertEquals(10, v8.executeIntegerScript("bar.doInterface(5);"));
+        V8JavaAdapter.injectObject("bar", new Bar() {
+            @Override public int doInterface(int args) {
+                return args * 4;
+            }
+        }, v8);
+        Assert.assertEquals(20, v8.executeIntegerScript("bar.doInterface(5);"));
+    }
+
+    @Test
+    public void shouldNotPublishInjectedObjectsAsGlobals() {
+        final int globalsBefore = v8.getKeys().length;
+
+        V8JavaAdapter.injectObject("named", new Foo(1), v8);
+        V8JavaAdapter.injectObject(null, new Foo(2), v8);
+        v8.executeVoidScript("var x = new Foo(3); x.copy();");
+
+        Assert.assertEquals(globalsBefore + 2, v8.getKeys().length);
+    }
+
+    @Test
+    public void shouldReturnSameJsObjectForKnownJavaObjects() {
+        V8JavaAdapter.injectClass(Echo.class, v8);
+        V8JavaAdapter.injectObject("bar", new Foo(3344), v8);
+
+        Assert.assertTrue(v8.executeBooleanScript("var echo = new Echo(); var foo = new Foo(1); echo.echo(foo) === foo;"));
+        Assert.assertTrue(v8.executeBooleanScript("echo.echo(bar) === bar;"));
+        Assert.assertEquals(3344, v8.executeIntegerScript("echo.echo(bar).getI();"));
+    }
+
+    @Test
+    public void shouldResolveOverloadsByArgumentKinds() {
+        V8JavaAdapter.injectClass(Overloaded.class, v8);
+        v8.executeVoidScript("var o = new Overloaded('o');");
+
+        Assert.assertEquals("int", v8.executeStringScript("o.describe(1);"));
+        Assert.assertEquals("String", v8.executeStringScript("o.describe('1');"));
+        Assert.assertEquals("Foo", v8.executeStringScript("o.describe(new Foo(1));"));
+        Assert.assertEquals("int[]", v8.executeStringScript("o.describe([1, 2]);"));
+        Assert.assertEquals("String[]", v8.executeStringScript("o.describe(['1', '2']);"));
+        Assert.assertEquals("Bar", v8.executeStringScript("o.describe(function(i) { return i; });"));
+        Assert.assertEquals("Object, Object", v8.executeStringScript("o.describe(null, new Foo(1));"));
+        Assert.assertEquals("int", v8.executeStringScript("o.describe(2);"));
+    }
+
+    @Test
+    public void shouldReportMissingOverloads() {
+        V8JavaAdapter.injectClass(Overloaded.class, v8);
+
+        thrown.expect(V8ScriptExecutionException.class);
+        thrown.expectMessage(StringContains.containsString("No signature exists for describe"));
+        v8.executeVoidScript("new Overloaded().describe(true);");
+    }
+
+    @Test
+    public void shouldReportMissingSignaturesOfInstanceAndStaticMethodsAlike() {
+        String[] calls = { "new Foo(0).doInstance('a')", "Foo.doStatic('a')" };
+        String[] names = { "doInstance", "doStatic" };
+        for (int i = 0; i < calls.length; i++) {
+            try {
+                v8.executeVoidScript(calls[i] + ";");
+                Assert.fail(calls[i]);
+            } catch (V8ScriptExecutionException e) {
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains(
+                        "No signature exists for " + names[i] + " with specified parameters [String]"));
+            }
+        }
+    }
+
+    private V8JavaCallSiteStatistics getCallSiteStatistics(Class<?> classy, String methodName) {
+        for (V8JavaCallSiteStatistics statistics : V8JavaAdapter.getCallSiteStatistics(v8)) {
+            if (statistics.getDeclaringClass() == classy && statistics.getMethodName().equals(methodName)) {
+                return statistics;
+            }
+        }
+
+        return null;
+    }
+
+    @Test
+    public void shouldHitInlineCacheForMonomorphicCallSites() {
+        v8.executeVoidScript("var x = new Foo(1); for (var i = 0; i < 10; i++) { x.doInstance(i); }");
+
+        V8JavaCallSiteStatistics statistics = getCallSiteStatistics(Foo.class, "doInstance");
+        Assert.assertEquals(9, statistics.getHits());
+        Assert.assertEquals(1, statistics.getMisses());
+        Assert.assertFalse(statistics.isMegamorphic());
+        Assert.assertNull(getCallSiteStatistics(Foo.class, "copy"));
+    }
+
+    @Test
+    public void shouldMarkPolymorphicCallSitesMegamorphic() {
+        V8JavaAdapter.injectClass(Overloaded.class, v8);
+        v8.executeVoidScript("var o = new Overloaded(); for (var i = 0; i < 20; i++) { o.describe(i); o.describe('' + i); }");
+
+        V8JavaCallSiteStatistics statistics = getCallSiteStatistics(Overloaded.class, "describe");
+        Assert.assertEquals(0, statistics.getHits());
+        Assert.assertEquals(40, statistics.getMisses());
+        Assert.assertTrue(statistics.isMegamorphic());
+        Assert.assertEquals("String", v8.executeStringScript("o.describe('1');"));
+    }
+
+    @Test
+    public void shouldLetMegamorphicCallSitesBecomeMonomorphicAgain() {
+        V8JavaAdapter.injectClass(Overloaded.class, v8);
+        v8.executeVoidScript("var o = new Overloaded(); for (var i = 0; i < 20; i++) { o.describe(i); o.describe('' + i); }");
+        Assert.assertTrue(getCallSiteStatistics(Overloaded.class, "describe").isMegamorphic());
+
+        v8.executeVoidScript("for (var i = 0; i < 200; i++) { o.describe('' + i); }");
+        V8JavaCallSiteStatistics statistics = getCallSiteStatistics(Overloaded.class, "describe");
+        Assert.assertFalse(statistics.isMegamorphic());
+        Assert.assertTrue(statistics.getHits() > 100);
+    }
+
+    @Test
+    public void shouldResolveNoArgAndNumericConstructors() {
+        V8JavaAdapter.injectClass(Point.class, v8);
+
+        Assert.assertEquals("none", v8.executeStringScript("new Point().getConstructedWith();"));
+        Assert.assertEquals("int 1 2", v8.executeStringScript("new Point(1, 2).getConstructedWith();"));
+        Assert.assertEquals("double 1.5 2.5", v8.executeStringScript("new Point(1.5, 2.5).getConstructedWith();"));
+        Assert.assertEquals("String a 2", v8.executeStringScript("new Point('a', 2).getConstructedWith();"));
+        Assert.assertEquals("int 3 4", v8.executeStringScript("new Point(3, 4).getConstructedWith();"));
+        Assert.assertEquals("double -0.0 2.5", v8.executeStringScript("new Point(-0, 2.5).getConstructedWith();"));
+        Assert.assertEquals("String null 2", v8.executeStringScript("new Point(null, 2).getConstructedWith();"));
+    }
+
+    @Test
+    public void shouldInvokeThroughGeneratedBindings() {
+        V8JavaAdapter.injectClass(Counter.class, v8);
+
+        Assert.assertEquals(5, v8.executeIntegerScript("var c = new Counter(2); c.add(3);"));
+        Assert.assertEquals(Counter.class.getName() + V8JavaBinding.BINDING_CLASS_SUFFIX, Counter.lastCaller);
+        Counter.lastCaller = null;
+        Assert.assertEquals(5, v8.executeIntegerScript("c.get();"));
+        Assert.assertEquals(Counter.class.getName() + V8JavaBinding.BINDING_CLASS_SUFFIX, Counter.lastCaller);
+    }
+
+    @Test
+    public void shouldInjectPrimitiveArraysAsTypedArrays() {
+        V8JavaAdapter.injectObject("ints", new int[] {1, 2, 3}, v8);
+        V8JavaAdapter.injectObject("doubles", new double[] {0.5, 1.5}, v8);
+        V8JavaAdapter.injectObject("bytes", new byte[] {-1, 127}, v8);
+        V8JavaAdapter.injectObject("longs", new long[] {1L << 40}, v8);
+        V8JavaAdapter.injectObject("booleans", new boolean[] {true, false}, v8);
+
+        Assert.assertTrue(v8.executeBooleanScript("ints instanceof Int32Array && ints.length === 3;"));
+        Assert.assertEquals(6, v8.executeIntegerScript("ints[0] + ints[1] + ints[2];"));
+        Assert.assertTrue(v8.executeBooleanScript("doubles instanceof Float64Array && doubles[1] === 1.5;"));
+        Assert.assertTrue(v8.executeBooleanScript("bytes instanceof Int8Array && bytes[0] === -1 && bytes[1] === 127;"));
+        Assert.assertEquals(Math.pow(2, 40), v8.executeDoubleScript("longs[0];"), 0);
+        Assert.assertTrue(v8.executeBooleanScript("Array.isArray(booleans) && booleans[0] === true;"));
+    }
+
+    @Test
+    public void shouldReturnPrimitiveArraysAsTypedArrays() {
+        V8JavaAdapter.injectClass(Squares.class, v8);
+
+        Assert.assertTrue(v8.executeBooleanScript("var s = new Squares().of(4); s instanceof Float64Array && s.length === 4;"));
+        Assert.assertEquals(14, v8.executeIntegerScript("s[1] + s[2] + s[3];"));
+    }
+
+    @Test
+    public void shouldKeepTypedArraysValidAfterJavaGarbageCollection() {
+        V8JavaAdapter.injectClass(Squares.class, v8);
+        v8.executeVoidScript("var s = new Squares().of(1024);");
+
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            byte[] garbage = new byte[1 << 20];
+            garbage[0] = 1;
+        }
+
+        v8.executeVoidScript("s[1023] = -1;");
+        Assert.assertEquals(1022.0 * 1022.0, v8.executeDoubleScript("s[1022];"), 0);
+        Assert.assertEquals(-1.0, v8.executeDoubleScript("s[1023];"), 0);
+    }
+
+    @Test
+    public void shouldPassArrayBuffersAsByteBuffers() {
+        V8JavaAdapter.injectObject("bytes", new Bytes(), v8);
+
+        Assert.assertEquals(10, v8.executeIntegerScript("var a = new Int8Array([1, 2, 3, 4]); bytes.sum(a.buffer);"));
+        Assert.assertEquals(5, v8.executeIntegerScript("bytes.sum(new Int8Array(a.buffer, 1, 2));"));
+        Assert.assertEquals(4, v8.executeIntegerScript("bytes.length(a.buffer);"));
+    }
+
+    @Test
+    public void shouldShareDirectByteBuffersWithoutCopying() {
+        final Bytes bytes = new Bytes();
+        V8JavaAdapter.injectObject("bytes", bytes, v8);
+
+        Assert.assertTrue(v8.executeBooleanScript("var b = bytes.getShared(); b instanceof ArrayBuffer && b.byteLength === 4;"));
+        v8.executeVoidScript("new Int8Array(b)[2] = 42;");
+        Assert.assertEquals(42, bytes.shared.get(2));
+    }
+
+    @Test
+    public void shouldKeepSharedByteBuffersAliveOnlyWhileTheirArrayBuffersAre() {
+        V8JavaAdapter.injectObject("bytes", new Bytes(), v8);
+        V8JavaCache cache = V8JavaAdapter.getCacheForRuntime(v8);
+
+        v8.executeVoidScript("var b = bytes.getShared(); for (var i = 0; i < 100; i++) { bytes.getShared(); }");
+        for (int i = 0; i < 100 && cache.sharedBuffers.size() > 1; i++) {
+            v8.lowMemoryNotification();
+        }
+        Assert.assertEquals(1, cache.sharedBuffers.size());
+
+        v8.executeVoidScript("b = null;");
+        for (int i = 0; i < 100 && cache.sharedBuffers.size() > 0; i++) {
+            v8.lowMemoryNotification();
+        }
+        Assert.assertEquals(0, cache.sharedBuffers.size());
+    }
+
+    @Test
+    public void shouldKeepArrayBuffersAliveWhileJavaViewsOfThemAre() {
+        final Bytes bytes = new Bytes();
+        V8JavaAdapter.injectObject("bytes", bytes, v8);
+        V8JavaCache cache = V8JavaAdapter.getCacheForRuntime(v8);
+
+        v8.executeVoidScript("bytes.keep(new Int8Array([7, 7, 7, 7]).buffer);");
+        for (int i = 0; i < 10; i++) {
+            v8.lowMemoryNotification();
+            v8.executeVoidScript("for (var i = 0; i < 100; i++) { new Int8Array(4).fill(9); }");
+        }
+        for (int i = 0; i < 4; i++) {
+            Assert.assertEquals(7, bytes.kept.get(i));
+        }
+        Assert.assertEquals(1, cache.sharedBuffers.borrowedSize());
+
+        bytes.kept = null;
+        for (int i = 0; i < 100 && cache.sharedBuffers.borrowedSize() > 0; i++) {
+            System.gc();
+            cache.removeGarbageCollectedJavaObjects();
+        }
+        Assert.assertEquals(0, cache.sharedBuffers.borrowedSize());
+    }
+
+    @Test
+    public void shouldCopyArrayBuffersPassedAsObjects() {
+        final Bytes bytes = new Bytes();
+        V8JavaAdapter.injectObject("bytes", bytes, v8);
+
+        v8.executeVoidScript("var a = new Int8Array([7, 7]); bytes.keepObject(a.buffer); a[0] = 9;");
+        ByteBuffer copy = (ByteBuffer) bytes.keptObject;
+        Assert.assertFalse(copy.isDirect());
+        Assert.assertEquals(2, copy.remaining());
+        Assert.assertEquals(7, copy.get(0));
+        Assert.assertEquals(0, V8JavaAdapter.getCacheForRuntime(v8).sharedBuffers.borrowedSize());
+    }
+
+    @Test
+    public void shouldConvertArraysOfPrimitivesAndStringsInBulk() {
+        V8JavaAdapter.injectClass(Squares.class, v8);
+        V8JavaAdapter.injectClass(Foo.class, v8);
+
+        Assert.assertEquals(3.5, v8.executeDoubleScript("var s = new Squares(); s.sum([1, 2.5]);"), 0);
+        Assert.assertEquals(6.0, v8.executeDoubleScript("s.sum(new Float64Array([1, 2, 3]));"), 0);
+        Assert.assertEquals("abc", v8.executeStringScript("s.join(['a', 'b', 'c']);"));
+        Assert.assertEquals(5, v8.executeIntegerScript("s.total([2, 3]);"));
+        Assert.assertEquals(6, v8.executeIntegerScript("new Foo(0).doArray(new Int32Array([1, 2, 3]));"));
+        Assert.assertEquals(0, v8.executeIntegerScript("new Foo(0).doArray([]);"));
+    }
+
+    @Test
+    public void shouldBoxEveryPrimitiveType() {
+        final Class<?>[] primitives = { boolean.class, byte.class, char.class, short.class, int.class, long.class, float.class, double.class };
+        final Class<?>[] boxes = { Boolean.class, Byte.class, Character.class, Short.class, Integer.class, Long.class, Float.class, Double.class };
+        for (int i = 0; i < primitives.length; i++) {
+            Assert.assertEquals(boxes[i], V8JavaObjectUtils.boxed(primitives[i]));
+        }
+        Assert.assertEquals(String.class, V8JavaObjectUtils.boxed(String.class));
+
+        Assert.assertArrayEquals(new char[] { 'a', 'b' }, (char[]) V8JavaObjectUtils.toPrimitiveArray(new Character[] { 'a', 'b' }, Character.class));
+    }
+
+    @Test
+    public void shouldConvertArraysOfNarrowAndFloatingPrimitivesInBulk() {
+        V8JavaAdapter.injectClass(Squares.class, v8);
+
+        Assert.assertEquals(1.25, v8.executeDoubleScript("var s = new Squares(); s.average([1, 1.5]);"), 0);
+        Assert.assertEquals(3.0, v8.executeDoubleScript("s.average(new Float32Array([2, 4]));"), 0);
+        Assert.assertEquals(1L << 40, (long) v8.executeDoubleScript("s.total([Math.pow(2, 40) - 1, 1]);"));
+        Assert.assertEquals("[-128, -1, 127]", v8.executeStringScript("s.describe(new Int8Array([-128, 255, 127]));"));
+        Assert.assertEquals("[-1, 255]", v8.executeStringScript("s.describe(new Int16Array([-1, 255]));"));
+        Assert.assertEquals("hi!", v8.executeStringScript("s.spell([104, 105, 33]);"));
+        Assert.assertEquals("hi!", v8.executeStringScript("s.spell(['h', 'i', '!']);"));
+        Assert.assertEquals("", v8.executeStringScript("s.spell([]);"));
+    }
+
+    @Test
+    public void shouldRejectArraysOfNarrowPrimitivesOutOfRange() {
+        V8JavaAdapter.injectClass(Squares.class, v8);
+
+        Assert.assertTrue(v8.executeBooleanScript("var s = new Squares(); try { s.total([1.5]); false; } catch (e) { true; }"));
+        Assert.assertTrue(v8.executeBooleanScript("try { s.spell([-1]); false; } catch (e) { true; }"));
+        Assert.assertTrue(v8.executeBooleanScript("try { s.spell(['hi']); false; } catch (e) { true; }"));
+        thrown.expect(V8ScriptExecutionException.class);
+        v8.executeVoidScript("s.describe(new Int32Array([70000]));");
+    }
+
+    @Test
+    public void shouldRejectMixedArraysOfPrimitives() {
+        V8JavaAdapter.injectClass(Squares.class, v8);
+
+        // Arrays of primitives are only converted in bulk, which rejects non-numbers.
+        thrown.expect(V8ScriptExecutionException.class);
+        v8.executeVoidScript("new Squares().sum([1, 'two']);");
+    }
+
+    @Test
+    public void shouldConvertMixedArraysOfStringsElementByElement() {
+        V8JavaAdapter.injectClass(Squares.class, v8);
+        V8JavaAdapter.injectClass(Overloaded.class, v8);
+
+        Assert.assertEquals("anull", v8.executeStringScript("var s = new Squares(); s.join(['a', null]);"));
+        Assert.assertEquals("String[]", v8.executeStringScript("new Overloaded().describe(['a', null]);"));
+    }
+
+    @Test
+    public void shouldReportMixedAndOutOfRangeArraysAsMismatches() {
+        V8JavaAdapter.injectClass(Squares.class, v8);
+        V8JavaAdapter.injectClass(Foo.class, v8);
+
+        final String[] calls = {
+                "new Squares().join(['a', 1])",
+                "new Foo(0).doArray([1, 2.5])",
+                "new Foo(0).doArray([1, 3e9])",
+                "new Foo(0).doArray([1, null])",
+                "new Squares().total([1, Math.pow(2, 63)])",
+                "new Squares().total([NaN])"
+        };
+        for (String call : calls) {
+            try {
+                v8.executeVoidScript(call + ";");
+                Assert.fail(call);
+            } catch (V8ScriptExecutionException e) {
+                Assert.assertTrue(call + ": " + e.getMessage(), e.getMessage().contains("No signature exists for "));
+            }
+        }
+
+        Assert.assertEquals(-0x1p63, v8.executeDoubleScript("new Squares().total([-Math.pow(2, 63)]);"), 0);
+    }
+
+    @Test
+    public void shouldReportWhyNoSignatureMatched() {
+        V8JavaAdapter.injectClass(Squares.class, v8);
+        V8JavaAdapter.injectClass(Point.class, v8);
+
+        try {
+            v8.executeVoidScript("new Squares().sum([1, 'two']);");
+            Assert.fail();
+        } catch (V8ScriptExecutionException e) {
+            Assert.assertNotNull(e.getCause().getCause());
+        }
+
+        try {
+            v8.executeVoidScript("new Point('a', 'b');");
+            Assert.fail();
+        } catch (V8ScriptExecutionException e) {
+            Assert.assertThat(e.getCause().getMessage(), StringContains.containsString("with specified arguments [String, String]"));
+        }
+    }
+
+    @Test
+    public void shouldTranslateLazyParametersOnAccess() {
+        V8JavaAdapter.injectObject("reader", new LazyReader(), v8);
+
+        Assert.assertEquals(2, v8.executeIntegerScript(
+                "var reads = 0; reader.pick({ get a() { reads++; return 1; }, b: 2 }, 'b');"));
+        Assert.assertEquals(0, v8.executeIntegerScript("reads;"));
+        Assert.assertEquals(6, v8.executeIntegerScript("reader.sum([{ x: 1, y: [] }, { x: 2 }, { x: 3 }]);"));
+    }
+
+    @Test
+    public void shouldReleaseLazyParametersAfterInvocation() {
+        final LazyReader reader = new LazyReader();
+        V8JavaAdapter.injectObject("reader", reader, v8);
+
+        Assert.assertEquals(3, v8.executeIntegerScript("reader.keep([1, 2, 3]);"));
+        Assert.assertEquals(3, reader.kept.size());
+
+        thrown.expect(IllegalStateException.class);
+        reader.kept.get(0);
+    }
+
+    @Test
+    public void shouldExposeListsAsArrayLikes() {
+        final List<Integer> list = new ArrayList<Integer>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+        V8JavaAdapter.injectObject("list", list, v8);
+        V8JavaAdapter.injectObject("echo", new Echo(), v8);
+
+        Assert.assertEquals(1000, v8.executeIntegerScript("list.length;"));
+        Assert.assertEquals(7, v8.executeIntegerScript("list[7];"));
+        Assert.assertEquals(499500, v8.executeIntegerScript("var sum = 0; for (var i of list) { sum += i; } sum;"));
+        Assert.assertEquals(18, v8.executeIntegerScript("list.map(function(i) { return i * 2; })[9];"));
+        Assert.assertEquals(1000, v8.executeIntegerScript("list.size();"));
+        Assert.assertTrue(v8.executeBooleanScript("echo.echo(list) === list;"));
+
+        // Changes made through Java methods or between scripts are visible.
+        Assert.assertEquals(1001, v8.executeIntegerScript("list.length; list.add(1000); list.length;"));
+        Assert.assertEquals(0, v8.executeIntegerScript("list[0];"));
+        list.set(0, 42);
+        Assert.assertEquals(42, v8.executeIntegerScript("list[0];"));
+    }
+
+    @Test
+    public void shouldFetchIterableElementsInChunks() {
+        final AtomicInteger reads = new AtomicInteger();
+        final List<Integer> list = new AbstractList<Integer>() {
+            @Override public Integer get(int index) {
+                reads.incrementAndGet();
+                return index;
+            }
+            @Override public int size() {
+                return 1000;
+            }
+        };
+        V8JavaAdapter.injectObject("list", list, v8);
+        reads.set(0);
+
+        Assert.assertEquals(1, v8.executeIntegerScript("list[0] + list[1];"));
+        Assert.assertEquals(V8JavaIterableProxy.CHUNK_SIZE, reads.get());
+        Assert.assertEquals(499500, v8.executeIntegerScript("var sum = 0; for (var i = 0; i < list.length; i++) { sum += list[i]; } sum;"));
+        Assert.assertEquals(V8JavaIterableProxy.CHUNK_SIZE + 1000, reads.get());
+    }
+
+    @Test
+    public void shouldIterateNonListCollections() {
+        V8JavaAdapter.injectObject("set", new LinkedHashSet<String>(Arrays.asList("a", "b", "c")), v8);
+
+        Assert.assertEquals("abc", v8.executeStringScript("var s = ''; for (var e of set) { s += e; } s;"));
+        Assert.assertEquals("c,b,a", v8.executeStringScript("Array.prototype.slice.call(set).reverse().join(',');"));
+    }
+
+    @Test
+    public void shouldOnlyExposeCollectionsAsArrayLikes() {
+        final Iterable<String> iterable = new Iterable<String>() {
+            @Override public Iterator<String> iterator() {
+                throw new AssertionError("Injected iterables must not be walked.");
+            }
+        };
+        V8JavaAdapter.injectObject("iterable", iterable, v8);
+        V8JavaAdapter.injectObject("array", new String[] { "a", "b" }, v8);
+
+        Assert.assertTrue(v8.executeBooleanScript("iterable.length === undefined && typeof iterable.iterator === 'function';"));
+        Assert.assertTrue(v8.executeBooleanScript("array.length === undefined && array[0] === undefined;"));
+        Assert.assertEquals("b", v8.executeStringScript("array.get(1);"));
+    }
+
+    @Test
+    public void shouldInjectValuesAsPlainCopies() {
+        final Map<String, Object> order = new LinkedHashMap<String, Object>();
+        order.put("id", 7);
+        order.put("total", 12.5);
+        order.put("tags", Arrays.asList("new", "paid"));
+        order.put("lines", new Object[] { new Foo(3), null, true });
+        order.put("self", order);
+
+        V8JavaAdapter.injectValue("order", order, v8);
+
+        Assert.assertEquals(7, v8.executeIntegerScript("order.id;"));
+        Assert.assertEquals(12.5, v8.executeDoubleScript("order.total;"), 0);
+        Assert.assertTrue(v8.executeBooleanScript("Array.isArray(order.tags) && order.tags[1] === 'paid';"));
+        Assert.assertEquals(3, v8.executeIntegerScript("order.lines[0].i;"));
+        Assert.assertTrue(v8.executeBooleanScript("order.lines[1] === null && order.lines[2] === true;"));
+        Assert.assertTrue(v8.executeBooleanScript("order.self === order;"));
+    }
+
+    @Test
+    public void shouldTranslateJavascriptValuesToPlainCopies() {
+        final Foo foo = new Foo(1);
+        V8JavaAdapter.injectObject("foo", foo, v8);
+
+        V8Object result = v8.executeObjectScript("var r = { n: -0.5, s: 'h\u00e9', a: [1, { b: null }], foo: foo, f: function() {} }; r.me = r; r;");
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> copy = (Map<String, Object>) V8JavaObjectUtils.translateJavascriptValueToJava(result, v8);
+
+            Assert.assertEquals(-0.5, copy.get("n"));
+            Assert.assertEquals("h\u00e9", copy.get("s"));
+            Assert.assertEquals(Arrays.asList(1, Collections.singletonMap("b", null)), copy.get("a"));
+            Assert.assertSame(foo, copy.get("foo"));
+            Assert.assertNull(copy.get("f"));
+            Assert.assertSame(copy, copy.get("me"));
+        } finally {
+            result.release();
+        }
+    }
+
+    @Test
+    public void shouldTransferLargeValuesOfMixedNumbersAndRepeatedStrings() {
+        final List<Object> values = new ArrayList<Object>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(i);
+            values.add(i + 0.25);
+            values.add(i % 2 == 0 ? "even" : "odd \u00e9");
+            values.add(-0.0);
+        }
+
+        V8JavaAdapter.injectValue("values", values, v8);
+        Assert.assertEquals(4000, v8.executeIntegerScript("values.length;"));
+        Assert.assertEquals(999.25, v8.executeDoubleScript("values[3997];"), 0);
+        Assert.assertEquals("odd \u00e9", v8.executeStringScript("values[3998];"));
+        Assert.assertTrue(v8.executeBooleanScript("1 / values[3999] === -Infinity;"));
+
+        V8Array result = v8.executeArrayScript("values;");
+        try {
+            Assert.assertEquals(values, V8JavaObjectUtils.translateJavascriptValueToJava(result, v8));
+        } finally {
+            result.release();
+        }
+    }
+
+    @Test
+    public void shouldReuseCompiledFactoryForInjectedObjects() {
+        V8JavaAdapter.injectObject("first", new Foo(1), v8);
+        final V8Function factory = V8JavaAdapter.getCacheForRuntime(v8).cachedV8JavaClasses.get(Foo.class).getFactory(v8);
+        V8JavaAdapter.injectObject("second", new Foo(2), v8);
+
+        Assert.assertSame(factory, V8JavaAdapter.getCacheForRuntime(v8).cachedV8JavaClasses.get(Foo.class).getFactory(v8));
+        Assert.assertEquals(3, v8.executeIntegerScript("first.getI() + second.getI();"));
+    }
+
+    @Test
+    public void shouldInjectObjectsInBatches() {
+        final Map<String, Object> objects = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < 50; i++) {
+            objects.put("foo" + i, new Foo(i));
+        }
+        objects.put("notBean", new NotBean());
+
+        final Map<String, String> identifiers = V8JavaAdapter.injectObjects(objects, v8);
+
+        Assert.assertEquals(objects.keySet(), identifiers.keySet());
+        Assert.assertEquals(49, v8.executeIntegerScript("foo49.getI();"));
+        Assert.assertEquals(1225, v8.executeIntegerScript("var sum = 0; for (var i = 0; i < 50; i++) { sum += this['foo' + i].getI(); } sum;"));
+        Assert.assertEquals(Integer.parseInt(identifiers.get("foo7")), v8.executeIntegerScript("foo7.____JavaObjectHandleID____;"));
+        Assert.assertEquals(1, v8.executeIntegerScript("notBean.incrementI();"));
+    }
+
+    @Test
+    public void shouldInjectBatchesOfAnySizeThroughOneCompiledFunction() {
+        V8JavaCache cache = V8JavaAdapter.getCacheForRuntime(v8);
+        Map<String, Object> objects = new LinkedHashMap<String, Object>();
+        objects.put("batchedFoo", new Foo(1));
+        objects.put("batchedInts", new int[] {1, 2});
+        objects.put("batchedList", new ArrayList<Object>(Arrays.asList(1, 2, 3)));
+        V8JavaAdapter.injectObjects(objects, v8);
+        V8Function shellsFactory = cache.shellsFactory;
+
+        Map<String, Object> others = new LinkedHashMap<String, Object>();
+        others.put("otherFoo", new Foo(2));
+        others.put("anotherFoo", new Foo(3));
+        V8JavaAdapter.injectObjects(others, v8);
+
+        Assert.assertSame(shellsFactory, cache.shellsFactory);
+        Assert.assertEquals(1, v8.executeIntegerScript("batchedFoo.getI();"));
+        Assert.assertEquals(2, v8.executeIntegerScript("batchedInts[1];"));
+        Assert.assertEquals(3, v8.executeIntegerScript("batchedList.length;"));
+        Assert.assertEquals(5, v8.executeIntegerScript("otherFoo.getI() + anotherFoo.getI();"));
+    }
+
+    @Test
+    public void shouldInjectClasses() {
+        int i = new Random().nextInt(1000);
+        Assert.assertEquals(i, v8.executeIntegerScript(String.format("var x = new Foo(%d); x.getI();", i)));
+    }
+
+    @Test
+    public void shouldHandleStaticInvocations() {
+        Assert.assertEquals(9001, v8.executeIntegerScript("Foo.doStatic();"));
+    }
+
+    @Test
+    public void shouldHandleAnnotatedStaticInvocationsNoAutoDetect() {
+        V8JavaAdapter.injectClass(FooNoAutoDetect.class, v8);
+
+        Assert.assertEquals(9001, v8.executeIntegerScript("FooNoAutoDetect.doStaticAnnotated();"));
+    }
+
+    @Test
+    public void shouldNotHandleNotAnnotatedStaticInvocationsNoAutoDetect() {
+        V8JavaAdapter.injectClass(FooNoAutoDetect.class, v8);
+
+        thrown.expect(V8ScriptExecutionException.class);
+        thrown.expectMessage(StringContains.containsString("FooNoAutoDetect.doStaticNotAnnotated is not a function"));
+        v8.executeScript("FooNoAutoDetect.doStaticNotAnnotated();");
+    }
+
+    @Test
+    public void shouldHandleInstanceInvocations() {
+        Assert.assertEquals(3344, v8.executeIntegerScript("var x = new Foo(3300); x.doInstance(44);"));
+        Assert.assertEquals(9000, v8.executeIntegerScript("var x = new Foo(3000); x.doInstance(3000, 2);"));
+    }
+
+    @Test
+    public void shouldHandleComplexArguments() {
+        Assert.assertEquals(3344, v8.executeIntegerScript("var x = new Foo(3300); x.add(new Foo(44)); x.getI();"));
+    }
+
+    @Test
+    public void shouldHandleFunctionalArguments() {
+        Assert.assertEquals(1500, v8.executeIntegerScript("var x = new Foo(3000); x.add(function(i) { return i / 2; }); x.getI();"));
+        Assert.assertEquals(1500, v8.executeIntegerScript("var x = new Foo(3000); x.addBaz(function(foo) { return new Foo(foo.getI() / 2); }); x.getI();"));
+    }
+
+    @Test
+    public void shouldHandleFunctionalArgumentsWithVarArg() {
+        final int one = 1;
+        final int two = 2;
+        final int three = 3;
+        final int sum = one + two + three;
+
+        Assert.assertEquals(sum, v8.executeScript("var x = new Foo(0); var sumCallBack = function(arg1, arg2, arg3) { return arg1 + arg2 + arg3; }; x.invokeCallBack(sumCallBack, " + one + ", " + two + ", " + three + ");"));
+
+        final int four = 4;
+        Assert.assertEquals(sum, v8.executeScript("var x = new Foo(0); var sumCallBack = function(arg1, arg2, arg3) { return arg1 + arg2 + arg3; }; x.invokeCallBack(sumCallBack, " + one + ", " + two + ", " + three + ", " + four + ");"));
+    }
+
+    //TODO: remove this test, this is no longer something to test because java 8 or later could recall the same method (list.forEach for example)
+    @Test
+    public void shouldNotThrowIfFunctionCallBackArgumentsIsCalledTwice() {//should no longer throw
+        final int one = 1;
+        final int two = 2;
+        final int three = 3;
+        final int sum = one + two + three;
+
+        //thrown.expect(V8ScriptExecutionException.class);
+        //thrown.expectMessage(StringContains.containsString("Object released"));
+
+        //should throw here
+        final Object actualResult = v8.executeScript("var x = new Foo(0); var sumCallBack = function(arg1, arg2, arg3) { return arg1 + arg2 + arg3; }; x.invokeCallBackTwice(sumCallBack, " + one + ", " + two + ", " + three + ");");
+    }
+
+    @Test
+    public void shouldAllowCallingFunctionListenerArgumentsTwice() {
+        final int one = 1;
+        final int two = 2;
+        final int three = 3;
+        final int sum = one + two + three;
+
+        Assert.assertEquals(sum, v8.executeScript("var x = new Foo(0); var sumCallBack = function(arg1, arg2, arg3) { return arg1 + arg2 + arg3; }; x.invokeListenerTwice(sumCallBack, " + one + ", " + two + ", " + three + ");"));
+    }
+
+    @Test
+    public void functionalListenerArgumentsShouldBeReleasable() {
+      final int one = 1;
+      final int two = 2;
+      final int three = 3;
+      final int sum = one + two + three;
+
+      Assert.assertEquals(sum, v8.executeScript("var x = new Foo(0); var sumCallBack = function(arg1, arg2, arg3) { return arg1 + arg2 + arg3; }; x.invokeAndReleaseListener(sumCallBack, " + one + ", " + two + ", " + three + ");"));
+    }
+
+    @Test
+    public void shouldThrowIfFunctionalListenerArgumentsIsReleasedAndReInvokedAgain() {
+      final int one = 1;
+      final int two = 2;
+      final int three = 3;
+      final int sum = one + two + three;
+
+      thrown.expect(Exception.class);
+      thrown.expectMessage(StringContains.containsString("Object released"));
+
+      Assert.assertEquals(sum, v8.executeScript("var x = new Foo(0); var sumCallBack = function(arg1, arg2, arg3) { return arg1 + arg2 + arg3; }; x.reInvokeReleasedListener(sumCallBack, " + one + ", " + two + ", " + three + ");"));
+    }
+
+    @Test
+    public void shouldHandleComplexReturnTypes() {
+        int i = new Random().nextInt(1000);
+        Assert.assertEquals(i, v8.executeIntegerScript(String.format("var x = new Foo(%d); x.copy().getI();", i)));
+    }
+
+    @Test
+    public void shouldHandleStringArguments() {
+        Assert.assertEquals("aStringArgument", v8.executeStringScript("var x = new Foo(9001); x.doString(\"aStringArgument\");"));
+    }
+
+    @Test
+    public void shouldHandleObjectArrays() {
+        V8JavaAdapter.injectObject("objectArray", new String[] {"Hello", "World"}, v8);
+        Assert.assertEquals("Hello", v8.executeStringScript("objectArray.get(0)"));
+        Assert.assertEquals("World", v8.executeStringScript("objectArray.get(1)"));
+    }
+
+    @Test
+    public void shouldInterceptClasses() {
+        V8JavaAdapter.injectClass(InterceptableFoo.class, new FooInterceptor(), v8);
+        Assert.assertEquals(3344, v8.executeIntegerScript("var x = new InterceptableFoo(0); x.add(3344); x.getI();"));
+        V8JavaAdapter.injectObject("bazz", new Fooey(3000), v8);
+        Assert.assertEquals(9001, v8.executeIntegerScript("x.setI(6001); bazz.doInstance(x); bazz.getI();"));
+        InterceptableFoo foo = new InterceptableFoo(4444);
+        V8JavaAdapter.injectObject("foobar", foo, v8);
+        Assert.assertEquals(8888, v8.executeIntegerScript("foobar.add(4444); foobar.getI();"));
+        Assert.assertEquals(8888, v8.executeIntegerScript("bazz.setI(0); bazz.doInstance(foobar); bazz.getI();"));
+        Assert.assertEquals(8888, foo.getI());
+    }
+
+    @Test
+    public void shouldHandleVarargs() {
+        Assert.assertEquals(30, v8.executeIntegerScript("var x = new Foo(3000); x.doVarargs(10, 20);"));
+        Assert.assertEquals(60, v8.executeIntegerScript("var x = new Foo(3000); x.doVarargs(10, 20, 30);"));
+        Assert.assertEquals(100, v8.executeIntegerScript("var x = new Foo(3000); x.doVarargs(10, 20, 30, 40);"));
+    }
+
+    @Test
+    public void shouldHandleArrays() {
+        Assert.assertEquals(30, v8.executeIntegerScript("var x = new Foo(3000); x.doArray([10, 15, 5]);"));
+        Assert.assertEquals(70, v8.executeIntegerScript("var x = new Foo(3000); x.doNArray([[10, 15], [20, 25]]);"));
+    }
+
+    @Test
+    public void shouldNotGarbageCollectLivingObjects() {
+        v8.executeVoidScript("var x = new Foo(1000);");
+        for (int i = 0; i < 250; i++) {
+            Assert.assertEquals(3000, v8.executeIntegerScript("x.doInstance(2000);"));
+            Assert.assertTrue(
+                    V8JavaAdapter.getCacheForRuntime(v8).javaObjectHandles.get(
+                    v8.executeIntegerScript("x.____JavaObjectHandleID____;")) != null);
+            V8JavaAdapter.getCacheForRuntime(v8).removeGarbageCollectedJavaObjects();
+            System.gc();
+        }
+    }
+
+    @Test
+    public void shouldShareMethodsThroughPrototypeBinding() {
+        V8JavaAdapter.setBindingMode(v8, V8JavaBindingMode.PROTOTYPE);
+        V8JavaAdapter.injectClass(NotBean.class, v8);
+        V8JavaAdapter.injectObject("injected", new NotBean(), v8);
+        v8.executeVoidScript("var x = new NotBean(); var y = new NotBean();");
+
+        Assert.assertEquals(1, v8.executeIntegerScript("x.incrementI();"));
+        Assert.assertEquals(2, v8.executeIntegerScript("x.incrementI();"));
+        Assert.assertEquals(1, v8.executeIntegerScript("y.incrementI();"));
+        Assert.assertEquals(1, v8.executeIntegerScript("injected.incrementI();"));
+        Assert.assertFalse(v8.executeBooleanScript("x.hasOwnProperty('incrementI');"));
+        Assert.assertTrue(v8.executeBooleanScript("x.incrementI === y.incrementI && x.incrementI === injected.incrementI;"));
+        Assert.assertTrue(v8.executeBooleanScript("x instanceof NotBean && injected instanceof NotBean;"));
+    }
+
+    @Test
+    public void shouldBindMethodsAndPropertiesLazily() {
+        V8JavaAdapter.setBindingMode(v8, V8JavaBindingMode.LAZY);
+        V8JavaAdapter.injectClass(WannabeBean.class, v8);
+        final WannabeBean injected = new WannabeBean();
+        V8JavaAdapter.injectObject("injected", injected, v8);
+        v8.executeVoidScript("var x = new WannabeBean(); var p = Object.getPrototypeOf(x);");
+
+        Assert.assertEquals(0, v8.executeIntegerScript("Object.getOwnPropertyNames(p).length;"));
+        Assert.assertEquals(3344, v8.executeIntegerScript("x.i = 6688; x.i;"));
+        Assert.assertEquals("i", v8.executeStringScript("Object.getOwnPropertyNames(p).join();"));
+        Assert.assertEquals(6688, v8.executeIntegerScript("x.j = 3344; x.j;"));
+        Assert.assertEquals(6688, v8.executeIntegerScript("x.getJ();"));
+        Assert.assertTrue(v8.executeBooleanScript("p.hasOwnProperty('getJ') && !p.hasOwnProperty('getI');"));
+        Assert.assertTrue(v8.executeBooleanScript("'fullySetUp' in x && !('missing' in x);"));
+        Assert.assertTrue(v8.executeBooleanScript("x.missing === undefined && x.toString() === '[object Object]';"));
+
+        v8.executeVoidScript("injected.j = 10; x.extra = 1;");
+        Assert.assertEquals(20, injected.j);
+        Assert.assertTrue(v8.executeBooleanScript("x.hasOwnProperty('extra') && !x.hasOwnProperty('i');"));
+        Assert.assertTrue(v8.executeBooleanScript("injected instanceof WannabeBean;"));
+    }
+
+    @Test
+    public void shouldRejectPrototypeInvocationsWithoutJavaObject() {
+        V8JavaAdapter.setBindingMode(v8, V8JavaBindingMode.PROTOTYPE);
+        V8JavaAdapter.injectClass(NotBean.class, v8);
+
+        thrown.expect(V8ScriptExecutionException.class);
+        thrown.expectCause(IsInstanceOf.<Throwable>instanceOf(IllegalArgumentException.class));
+        v8.executeVoidScript("NotBean.prototype.incrementI();");
+    }
+
+    @Test
+    public void shouldGeneratePropertiesForGettersAndSettersWithAnnotations() {
+        final String readBooleanGetterScript = "x.fullySetUp;";
+        V8JavaAdapter.injectClass(WannabeBean.class, v8);
+
+        Assert.assertEquals(3344, v8.executeIntegerScript("var x = new WannabeBean(); x.i = 6688; x.i;"));
+        Assert.assertEquals(false, v8.executeScript(readBooleanGetterScript));
+
+        Assert.assertEquals(6688, v8.executeIntegerScript("x.j = 3344; x.j;"));
+        Assert.assertEquals(true, v8.executeBooleanScript(readBooleanGetterScript));
+    }
+
+    @Test
+    public void shouldGeneratePrototypePropertiesForGettersAndSetters() {
+        V8JavaAdapter.setBindingMode(v8, V8JavaBindingMode.PROTOTYPE);
+        V8JavaAdapter.injectClass(WannabeBean.class, v8);
+        final WannabeBean injected = new WannabeBean();
+        V8JavaAdapter.injectObject("injected", injected, v8);
+
+        Assert.assertEquals(3344, v8.executeIntegerScript("var x = new WannabeBean(); x.i = 6688; x.i;"));
+        Assert.assertEquals(0, v8.executeIntegerScript("var y = new WannabeBean(); y.i;"));
+        Assert.assertEquals(false, v8.executeScript("x.fullySetUp;"));
+        Assert.assertEquals(6688, v8.executeIntegerScript("x.j = 3344; x.j;"));
+        Assert.assertEquals(true, v8.executeBooleanScript("x.fullySetUp;"));
+
+        v8.executeVoidScript("injected.j = 10;");
+        Assert.assertEquals(20, injected.j);
+        Assert.assertFalse(v8.executeBooleanScript("x.hasOwnProperty('i') || injected.hasOwnProperty('i');"));
+    }
+
+    @Test
+    public void shouldGeneratePropertiesForGettersAndSettersWithAnnotationsNoAutoDetect() {
+        final String readBooleanGetterScript = "x.fullySetUp;";
+        V8JavaAdapter.injectClass(WannabeBeanNoAutoDetect.class, v8);
+
+        Assert.assertEquals(3344, v8.executeIntegerScript("var x = new WannabeBeanNoAutoDetect(); x.i = 6688; x.i;"));
+        Assert.assertEquals(false, v8.executeScript(readBooleanGetterScript));
+
+        Assert.assertEquals(6688, v8.executeIntegerScript("x.j = 3344; x.j;"));
+        Assert.assertEquals(true, v8.executeBooleanScript(readBooleanGetterScript));
+    }
+
+    @Test
+    public void shouldGeneratePropertiesForGettersAndSettersWithoutAnnotations() {
+        final String readBooleanGetterScript = "x.fullySetUp;";
+        V8JavaAdapter.injectClass(WannabeBeanNoAnnotations.class, v8);
+
+        Assert.assertEquals(3344, v8.executeIntegerScript("var x = new WannabeBeanNoAnnotations(); x.i = 6688; x.i;"));
+        Assert.assertEquals(false, v8.executeScript(readBooleanGetterScript));
+
+        Assert.assertEquals(6688, v8.executeIntegerScript("x.j = 3344; x.j;"));
+        Assert.assertEquals(true, v8.executeBooleanScript(readBooleanGetterScript));
+    }
+
+    @Test
+    public void shouldNotGeneratePropertiesForGettersAndSettersWithoutAnnotationsNoAutoDetect() {
+        final String readBooleanGetterScript = "x.fullySetUp;";
+        V8JavaAdapter.injectClass(WannabeBeanNoAnnotationsNoAutoDetect.class, v8);
+
+        Assert.assertNotEquals(3344, v8.executeIntegerScript("var x = new WannabeBeanNoAnnotationsNoAutoDetect(); x.i = 6688; x.i;"));
+        Assert.assertEquals(V8.getUndefined(), v8.executeScript(readBooleanGetterScript));
+
+        Assert.assertNotEquals(6688, v8.executeIntegerScript("x.j = 3344; x.j;"));
+        Assert.assertEquals(V8.getUndefined(), v8.executeScript(readBooleanGetterScript));
+    }
+
+    @Test
+    public void shouldNotGeneratePropertiesWhenNoGettersAndSettersByConvention() {
+        V8JavaAdapter.injectClass(NotBean.class, v8);
+        v8.executeScript("var x = new NotBean();");
+
+        Assert.assertEquals(1, v8.executeIntegerScript("x.incrementI();"));
+
+        final V8Object jsIncFunction = v8.executeObjectScript("x.incrementI;");
+        Assert.assertTrue(jsIncFunction instanceof V8Function);
+        jsIncFunction.release();
+
+        Assert.assertEquals(2, v8.executeIntegerScript("x.incrementI();"));
+
+
+        Assert.assertEquals(-1, v8.executeIntegerScript("x.decrementj();"));
+
+        final V8Object jsDecFunction = v8.executeObjectScript("x.decrementj;");
+        Assert.assertTrue(jsDecFunction instanceof V8Function);
+        jsDecFunction.release();
+
+        Assert.assertEquals(-2, v8.executeIntegerScript("x.decrementj();"));
+    }
+
+    @Test
+    public void shouldGeneratePropertiesWhenNoGettersAndSettersByConventionWithAnnotationsNoAutoDetect() {
+        V8JavaAdapter.injectClass(NotBeanAnnotatedNoAutoDetect.class, v8);
+        v8.executeScript("var x = new NotBeanAnnotatedNoAutoDetect();");
+
+        final int expectedX = 1;
+        //test getter
+        Assert.assertEquals(expectedX, v8.executeScript("x.incrementI;"));
+
+        final int newJ = 3;
+        //test setter
+        v8.executeScript("x.assignToj = " + newJ + ";");
+
+        final int expectedSum = expectedX + newJ;
+        //test getter
+        Assert.assertEquals(expectedSum, v8.executeScript("x.sum;"));
+    }
+
+    @Test
+    public void shouldNotGenerateInstanceFunctionsWithoutAnnotationsNoAutoDetect() {
+        V8JavaAdapter.injectClass(NotBeanNoAutoDetect.class, v8);
+        v8.executeScript("var x = new NotBeanNoAutoDetect();");
+
+        final V8Object jsIncFunction = v8.executeObjectScript("x.incrementI;");
+        Assert.assertEquals(V8.getUndefined(), jsIncFunction);
+        jsIncFunction.release();
+
+        final V8Object jsDecFunction = v8.executeObjectScript("x.decrementj;");
+        Assert.assertEquals(V8.getUndefined(), jsDecFunction);
+        jsDecFunction.release();
+
+        thrown.expect(V8ScriptExecutionException.class);
+        thrown.expectMessage(StringContains.containsString("x.incrementI is not a function"));
+        v8.executeScript("x.incrementI();");
+    }
+
+    @Test
+    public void shouldInjectAsymmetricGettersAndSetters() {
+        V8JavaAdapter.injectClass(IncompleteBeanOne.class, v8);
+        Assert.assertEquals(3344, v8.executeIntegerScript("var x = new IncompleteBeanOne(); x.i;"));
+
+        V8JavaAdapter.injectClass(IncompleteBeanTwo.class, v8);
+        Assert.assertEquals(6688, v8.executeIntegerScript("var x = new IncompleteBeanTwo(); x.j = 6688; x.decoratedJ;"));
+    }
+
+    @Test
+    public void shouldInjectAsymmetricGettersAndIgnoreNewValueAssigment() {
+        V8JavaAdapter.injectClass(IncompleteBeanOne.class, v8);
+        Assert.assertEquals(3344, v8.executeIntegerScript("var x = new IncompleteBeanOne(); x.i = 'new_value'; x.i;"));
+    }
+
+    @Test
+    public void shouldInjectAsymmetricSettersAndGetterUndefined() {
+        V8JavaAdapter.injectClass(IncompleteBeanTwo.class, v8);
+        Assert.assertEquals(V8.getUndefined(), v8.executeScript("var x = new IncompleteBeanTwo(); x.j = 6688; x.j;"));
+    }
+
+//    - Test Map<String, Integer>
+////    - Test Map<String, Foo>
+
+    @Test
+    public void shouldReadJsObjectAsMap() {
+        V8JavaAdapter.injectClass(NativeJsObjectReader.class, v8);
+        final String done = "done";
+        Assert.assertEquals(done, v8.executeScript("var x = new NativeJsObjectReader(); var y = x.readJsObjectAsMapAndGetY({y: '" + done + "'}); y;"));
+    }
+
+    @Test
+    public void shouldReadJsObjectAsMapWithPreviouslyInjectedObject() {
+        final String holderJsName = "holder";
+        final RawMapHolder holder = new RawMapHolder();
+        V8JavaAdapter.injectObject(holderJsName, holder, v8);
+
+        final WannabeBean wannabeBean = new WannabeBean();
+        final String wannabeBeanJsName = "bean";
+        V8JavaAdapter.injectObject(wannabeBeanJsName, wannabeBean, v8);
+
+        v8.executeVoidScript(("var y = " + holderJsName + ".setMap({y: " + wannabeBeanJsName + "}); y;"));
+
+        final Map<String, Object> expected = new HashMap<String, Object>();
+        expected.put("y", wannabeBean);
+        Assert.assertEquals(expected, holder.getMap());
+    }
+
+    @Test
+    public void shouldReadJsObjectAsGenericMap() {
+        final String holderJsName = "holder";
+        final StringMapHolder holder = new StringMapHolder();
+        V8JavaAdapter.injectObject(holderJsName, holder, v8);
+
+        final Integer one = 1;
+
+        thrown.expect(V8ScriptExecutionException.class);
+        thrown.expectCause(IsInstanceOf.<Throwable>instanceOf(IllegalArgumentException.class));
+        thrown.expectMessage(StringContains.containsString("No signature exists for setMap"));
+
+        v8.executeVoidScript(("var y = " + holderJsName + ".setMap({y: " + one + "}); y;"));
+    }
+
+    @Test
+    public void shouldReadJsObjectAsV8Object() {
+        V8JavaAdapter.injectClass(NativeJsObjectReader.class, v8);
+        final String done = "done";
+        Assert.assertEquals(done, v8.executeScript("var x = new NativeJsObjectReader(); var y = x.readJsObjectAsV8ObjectAndGetY({y: '" + done + "'}); y;"));
+    }
+
+    @Test
+    public void shouldReadJsObjectAsJavaObject() {
+        V8JavaAdapter.injectClass(NativeJsObjectReader.class, v8);
+        final String done = "done";
+        Assert.assertEquals(done, v8.executeScript("var x = new NativeJsObjectReader(); var y = x.readJsObjectAsJavaObjectAndTryGetY({y: '" + done + "'}); y;"));
+    }
+
+    @Test
+    public void shouldReadJsArrayAsJavaArray() {
+        V8JavaAdapter.injectClass(NativeJsArrayReader.class, v8);
+        final Integer nine = 9;
+        Assert.assertEquals(nine, v8.executeScript("var x = new NativeJsArrayReader(); var y = x.readJsArrayAsJavaArrayAndGet1st([" + nine + ",8,7]); y;"));
+    }
+
+    @Test
+    public void shouldReadJsArrayAsJavaList() {
+        V8JavaAdapter.injectClass(NativeJsArrayReader.class, v8);
+        final Integer nine = 9;
+        Assert.assertEquals(nine, v8.executeScript("var x = new NativeJsArrayReader(); var y = x.readJsArrayAsJavaListAndGet1st([" + nine + ",8,7]); y;"));
+    }
+
+    @Test
+    public void shouldReadJsArrayAsJavaRawArray() {
+        V8JavaAdapter.injectClass(NativeJsArrayReader.class, v8);
+        final Integer nine = 9;
+        Assert.assertEquals(nine, v8.executeScript("var x = new NativeJsArrayReader(); var y = x.readJsArrayAsJavaRawArrayAndGet1st([" + nine + ",8,7]); y;"));
+    }
+
+    @Test
+    public void shouldReadJsArrayAsRawJavaList() {
+        V8JavaAdapter.injectClass(NativeJsArrayReader.class, v8);
+        final Integer nine = 9;
+        Assert.assertEquals(nine, v8.executeScript("var x = new NativeJsArrayReader(); var y = x.readJsArrayAsRawJavaListAndGet1st([" + nine + ",8,7]); y;"));
+    }
+
+    @Test
+    public void shouldReadArrayAsV8Array() {
+        V8JavaAdapter.injectClass(NativeJsArrayReader.class, v8);
+        final Integer nine = 9;
+        Assert.assertEquals(nine, v8.executeScript("var x = new NativeJsArrayReader(); var y = x.readJsArrayAsV8ArrayAndGet1st([" + nine + ",8,7]); y;"));
+    }
+
+    @Test
+    public void shouldReadArrayAsJavaObject() {
+        V8JavaAdapter.injectClass(NativeJsArrayReader.class, v8);
+        final Integer nine = 9;
+        Assert.assertEquals(nine, v8.executeScript("var x = new NativeJsArrayReader(); var y = x.readJsArrayAsJavaObjectAndTryGet1st([" + nine + ",8,7]); y;"));
+    }
+
+    @Test
+    public void shouldReadFunctionAsV8Function() {
+        V8JavaAdapter.injectClass(NativeJsFunctionReader.class, v8);
+
+        final AtomicInteger sumContainer = new AtomicInteger();
+        V8JavaAdapter.injectObject("sumContainer", sumContainer, v8);
+
+        final int one = 1;
+        final int two = 2;
+        final int sum = one + two;
+
+        v8.executeScript("var x = new NativeJsFunctionReader(); var y = x.sumAndNotify(" + one + ", " + two + ", function(sum) { sumContainer.set(sum); } ); y;");
+
+        Assert.assertEquals(sum, sumContainer.get());
+    }
+
+    @Test
+    public void shouldReadFunctionAsJavaObject() {
+        V8JavaAdapter.injectClass(NativeJsFunctionReader.class, v8);
+
+        final AtomicInteger sumContainer = new AtomicInteger();
+        V8JavaAdapter.injectObject("sumContainer", sumContainer, v8);
+
+        final int one = 1;
+        final int two = 2;
+        final int sum = one + two;
+
+        final Executor executorStub = new Executor() {
+            @Override public void execute(Runnable command) {
+                //stub, which does nothing
+            }
+        };
+
+        V8JavaObjectUtils.setGcExecutor(v8, executorStub);
+        v8.executeScript("var x = new NativeJsFunctionReader(); var y = x.sumAndAndTryToNotify(" + one + ", " + two + ", function(sum) { sumContainer.set(sum); } ); y;");
+        V8JavaObjectUtils.removeGcExecutor(v8);
+
+        Assert.assertEquals(sum, sumContainer.get());
+    }
+
+
+    @Test
+    public void shouldNotReadFunctionAsJavaObjectWithoutGcExecutor() {
+        V8JavaAdapter.injectClass(NativeJsFunctionReader.class, v8);
+
+        final AtomicInteger sumContainer = new AtomicInteger();
+        V8JavaAdapter.injectObject("sumContainer", sumContainer, v8);
+
+        final int one = 1;
+        final int two = 2;
+        final int sum = one + two;
+
+        thrown.expect(V8ScriptExecutionException.class);
+        thrown.expectMessage(StringContains.containsString("No signature exists for sumAndAndTryToNotify"));
+
+        v8.executeScript("var x = new NativeJsFunctionReader(); var y = x.sumAndAndTryToNotify(" + one + ", " + two + ", function(sum) { sumContainer.set(sum); } ); y;");
+
+        Assert.assertEquals(sum, sumContainer.get());
+    }
+
+    @Test
+    public void shouldReadJsNullAsJavaNull() {
+        V8JavaAdapter.injectClass(JsNullReader.class, v8);
+
+        Assert.assertEquals(null, v8.executeScript("var x = new JsNullReader(); var y = x.readAndGetInteger(null); y;"));
+        Assert.assertEquals(null, v8.executeScript("var x = new JsNullReader(); var y = x.readAndGetJavaClass(null); y;"));
+        Assert.assertEquals(null, v8.executeScript("var x = new JsNullReader(); var y = x.readAndGetJavaFunctionalInterface(null); y;"));
+    }
+
+    @Test
+    public void shouldThrowIllArgExWhenNullToPrimitive() {
+        V8JavaAdapter.injectClass(JsNullReader.class, v8);
+
+        thrown.expect(V8ScriptExecutionException.class);
+        thrown.expectCause(IsInstanceOf.<Throwable>instanceOf(IllegalArgumentException.class));
+        Assert.assertEquals(null, v8.executeScript("var x = new JsNullReader(); var y = x.readAndGetInt(null); y;"));
+    }
+
+    @Test
+    public void shouldReadUndefinedAsNull() {
+        V8JavaAdapter.injectClass(JsNullReader.class, v8);
+
+        Assert.assertEquals(null, v8.executeScript("var x = new JsNullReader(); var y = x.readAndGetInteger(undefined); y;"));
+        Assert.assertEquals(null, v8.executeScript("var x = new JsNullReader(); var y = x.readAndGetJavaClass(undefined); y;"));
+        Assert.assertEquals(null, v8.executeScript("var x = new JsNullReader(); var y = x.readAndGetJavaFunctionalInterface(undefined); y;"));
+    }
+
+    @Test
+    public void shouldThrowIllArgExWhenUndefinedToPrimitive() {
+        V8JavaAdapter.injectClass(JsNullReader.class, v8);
+
+        thrown.expect(V8ScriptExecutionException.class);
+        thrown.expectCause(IsInstanceOf.<Throwable>instanceOf(IllegalArgumentException.class));
+        Assert.assertEquals(null, v8.executeScript("var x = new JsNullReader(); var y = x.readAndGetInt(undefined); y;"));
+    }
+
+    @Test
+    public void shouldThrowIllArgExWhenJsLessArgToPrimitive() {
+        V8JavaAdapter.injectClass(JsNullReader.class, v8);
+
+        thrown.expect(V8ScriptExecutionException.class);
+        thrown.expectCause(IsInstanceOf.<Throwable>instanceOf(IllegalArgumentException.class));
+        Assert.assertEquals(null, v8.executeScript("var x = new JsNullReader(); var y = x.readAndGetInt(); y;"));
+    }
+
+    @Test
+    public void shouldChooseCorrectConstructorAndNotPassNulls() {
+        V8JavaAdapter.injectClass(File.class, v8);
+        v8.executeVoidScript("var f = new File(\"test.txt\");");
+    }
+
+    @Test
+    public void shouldCustomizeJavaToJSTransformation() {
+        final V8JavaClassInterceptor interceptor = new V8JavaClassInterceptor<Map>() {
+            @Override
+            public Object objectInjectorOverride(Map object) {
+                return V8ObjectUtils.toV8Object(v8, object);
+            }
+
+            @Override public String getConstructorScriptBody() { return null; }
+            @Override public void onInject(V8JavaClassInterceptorContext context, Map object) { }
+            @Override public void onExtract(V8JavaClassInterceptorContext context, Map object) { }
+        };
+
+        final V8JavaClassInterceptor listInterceptor = new V8JavaClassInterceptor<List>() {
+            @Override
+            public Object objectInjectorOverride(List object) {
+                return V8ObjectUtils.toV8Array(v8, object);
+            }
+
+            @Override public String getConstructorScriptBody() { return null; }
+            @Override public void onInject(V8JavaClassInterceptorContext context, List object) { }
+            @Override public void onExtract(V8JavaClassInterceptorContext context, List object) { }
+        };
+
+        V8JavaAdapter.injectClass(HashMap.class, interceptor, v8);
+        V8JavaAdapter.injectClass(ArrayList.class, listInterceptor, v8);
+
+        final Map<String, Object> mapToExportToJs = new HashMap<String, Object>();
+
+        final String stringKey = "stringKey";
+        final String stringValue = "stringValue";
+        mapToExportToJs.put(stringKey, stringValue);
+
+        final List<String> listToExportToJs = new ArrayList<String>();
+        final String list1stElement = "myElement";
+        listToExportToJs.add(list1stElement);
+
+        final String listKey = "listKey";
+        mapToExportToJs.put(listKey, listToExportToJs);
+
+        final RawMapHolder mapProvider = new RawMapHolder();
+        mapProvider.setMap(mapToExportToJs);
+
+        final String mapProviderJsName = "mapProvider";
+        V8JavaAdapter.injectObject(mapProviderJsName, mapProvider, v8);
+
+        final String holderJsName = "holder";
+        AtomicReference<Object> holder = new AtomicReference<Object>();
+        V8JavaAdapter.injectObject(holderJsName, holder, v8);
+
+
+        v8.executeVoidScript("var exportedMap = mapProvider.getMap(); var value = exportedMap['" + stringKey + "']; holder.set(value)");
+        Assert.assertEquals(stringValue, holder.get());
+
+        v8.executeVoidScript("var exportedMap = mapProvider.getMap(); var value = exportedMap['" + listKey + "'][0]; holder.set(value)");
+        Assert.assertEquals(list1stElement, holder.get());
+
+        final RawListHolder listProvider = new RawListHolder();
+        listProvider.setList(listToExportToJs);
+
+        final String listProviderJsName = "listProvider";
+        V8JavaAdapter.injectObject(listProviderJsName, listProvider, v8);
+
+
+        v8.executeVoidScript("var exportedList = listProvider.getMap(); var value = exportedList[0]; holder.set(value)");
+        Assert.assertEquals(list1stElement, holder.get());
+    }
+
+
+    @Test
+    public void resultingV8Object_Of_OverriddenJavaInstanceInjection_ShouldHas_Fresh_ContentWhenReadBackInJava() {
+        final V8JavaClassInterceptor interceptor = new V8JavaClassInterceptor<Map>() {
+            @Override
+            public Object objectInjectorOverride(Map object) {
+                return V8ObjectUtils.toV8Object(v8, object);
+            }
+
+            @Override public String getConstructorScriptBody() { return null; }
+            @Override public void onInject(V8JavaClassInterceptorContext context, Map object) { }
+            @Override public void onExtract(V8JavaClassInterceptorContext context, Map object) { }
+        };
+
+
+        V8JavaAdapter.injectClass(HashMap.class, interceptor, v8);
+
+        final Map<String, Object> mapToExportToJs = new HashMap<String, Object>();
+
+        final String stringKey = "stringKey";
+        final String stringValue = "stringValue";
+        final String newStringValue = "stringValueNew";
+        mapToExportToJs.put(stringKey, stringValue);
+
+        final RawMapHolder mapProvider = new RawMapHolder();
+        mapProvider.setMap(mapToExportToJs);
+
+        final String mapProviderJsName = "mapProvider";
+        V8JavaAdapter.injectObject(mapProviderJsName, mapProvider, v8);
+
+        final String holderJsName = "holder";
+        AtomicReference<Object> holder = new AtomicReference<Object>();
+        V8JavaAdapter.injectObject(holderJsName, holder, v8);
+
+        v8.executeVoidScript("var exportedMap = mapProvider.getMap(); exportedMap['" + stringKey + "'] = '" + newStringValue + "'; holder.set(exportedMap)");
+        final Map mapReadBackFromV8Object = (Map) holder.get();
+        Assert.assertNotEquals(mapToExportToJs, mapReadBackFromV8Object);
+        Assert.assertEquals(newStringValue, mapReadBackFromV8Object.get("stringKey"));
+    }
+    @Test
+    public void shouldHandleDefaultMethodsAndCall() {
+    	if("1.8.0".compareTo(System.getProperty("java.version")) <= 0) {
+    		//java 8+ test written in a java 7 compaditable way
+    		LinkedList list = new LinkedList();
+    		for(int i = 0;i < 10;i++) {
+    			final int j = i;
+    			list.add(
+    					new Object() {//dummy object
+    						private int hidden = j;
+    						public void add() {
+    							hidden++;
+    						}
+    						public String toString(){
+    							return ""+hidden;
+    						}
+    					}
+				);
+    		}
+    		//andThen would cause this to fail IF default methods aren't accounted for
+    		V8JavaAdapter.injectObject("lists", list, v8);
+    		//v8.executeScript("list.add('e');");
+    		v8.executeScript("lists.forEach(function(e){e.add()});");
+			for(int i = 0; i < list.size();i++) {
+				Assert.assertEquals(""+(i+1),list.get(i).toString());
+			}
+    		
+    	}
+    	else {
+    		//java 7- test
+    		//TODO a good java 7 function test, I don't think its a thing .
+    	}
+    	
+    }
+    @Test
+    public void shouldRunStaticMethodWithParams() {
+    	//build a random string for test
+    	String generatedString = "Hellow World";
+    	
+    	V8JavaAdapter.injectClass("StaticClass",StaticClass.class, v8);
+    	v8.executeScript("function shouldRunStaticMethodWithParams(param){return StaticClass.paramsReturn(param);}");
+    	v8.executeJSFunction("shouldRunStaticMethodWithParams", generatedString);
+    	Assert.assertEquals(generatedString, v8.executeJSFunction("shouldRunStaticMethodWithParams", generatedString));
+    }
+    static class StaticClass{
+    	public static <T> T paramsReturn(T obj) {
+    		return obj;
+    	}
+    }
+
+    @Test
+    public void shouldReturnTheSameJsObjectForTheSameJavaObjectOnly() {
+        V8JavaAdapter.injectObject("twins", new Twins(), v8);
+        Twin.hashCodes = 0;
+        Assert.assertTrue(v8.executeBooleanScript("var left = twins.left(); left === twins.left() && left === twins.left();"));
+        Assert.assertFalse(v8.executeBooleanScript("twins.left() === twins.right();"));
+        Assert.assertEquals(0, Twin.hashCodes);
+    }
+
+    @Test
+    public void shouldKeepJavaObjectsAliveExactlyAsLongAsTheirJsObjects() throws InterruptedException {
+        V8JavaAdapter.setBindingMode(v8, V8JavaBindingMode.PROTOTYPE);
+        V8JavaAdapter.injectClass(NotBean.class, v8);
+        V8JavaCache cache = V8JavaAdapter.getCacheForRuntime(v8);
+        int handle = v8.executeIntegerScript("var x = new NotBean(); x.____JavaObjectHandleID____;");
+
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(10);
+            cache.removeGarbageCollectedJavaObjects();
+        }
+        Assert.assertNotNull(cache.javaObjectHandles.get(handle));
+        Assert.assertEquals(1, v8.executeIntegerScript("x.incrementI();"));
+
+        v8.executeVoidScript("x = null;");
+        for (int i = 0; i < 100 && cache.javaObjectHandles.get(handle) != null; i++) {
+            v8.lowMemoryNotification();
+            cache.removeGarbageCollectedJavaObjects();
+            System.gc();
+            Thread.sleep(10);
+            cache.removeGarbageCollectedJavaObjects();
+        }
+        Assert.assertNull(cache.javaObjectHandles.get(handle));
+    }
+
+    @Test
+    public void shouldReleaseEverythingCreatedWithinAScopeWhenItCloses() {
+        V8JavaCache cache = V8JavaAdapter.getCacheForRuntime(v8);
+        V8JavaAdapter.injectObject("kept", new Foo(1), v8);
+        int handles = cache.javaObjectHandles.size();
+        int identities = cache.javaObjectIdentities.size();
+
+        V8JavaScope scope = V8JavaAdapter.openScope(v8);
+        try {
+            V8JavaAdapter.injectObject("request", new Foo(2), v8);
+            V8JavaAdapter.injectValue("copy", Collections.singletonMap("a", 1), v8);
+            v8.executeVoidScript("var created = new Foo(3);");
+            Assert.assertEquals(2, scope.getHandleCount());
+            Assert.assertEquals(handles + 2, cache.javaObjectHandles.size());
+        } finally {
+            scope.close();
+        }
+
+        Assert.assertTrue(scope.isClosed());
+        Assert.assertEquals(handles, cache.javaObjectHandles.size());
+        Assert.assertEquals(identities, cache.javaObjectIdentities.size());
+        Assert.assertTrue(v8.executeBooleanScript("typeof request === 'undefined' && typeof copy === 'undefined';"));
+        Assert.assertEquals(1, v8.executeIntegerScript("kept.getI();"));
+        Assert.assertNull(cache.javaObjectHandles.get(v8.executeIntegerScript("created.____JavaObjectHandleID____;")));
+    }
+
+    @Test
+    public void shouldCompileTheFunctionDeletingGlobalsOncePerRuntime() {
+        V8JavaCache cache = V8JavaAdapter.getCacheForRuntime(v8);
+        V8Function deleteGlobals = null;
+        for (int i = 0; i < 3; i++) {
+            V8JavaScope scope = V8JavaAdapter.openScope(v8);
+            try {
+                V8JavaAdapter.injectObject("request" + i, new Foo(i), v8);
+            } finally {
+                scope.close();
+            }
+
+            Assert.assertTrue(v8.executeBooleanScript("typeof request" + i + " === 'undefined';"));
+            Assert.assertTrue(deleteGlobals == null || deleteGlobals == cache.deleteGlobalsFunction);
+            deleteGlobals = cache.deleteGlobalsFunction;
+        }
+        Assert.assertFalse(deleteGlobals.isReleased());
+    }
+
+    @Test
+    public void shouldReleaseEverythingCreatedWithinAnArenaWhenItCloses() {
+        V8Object forgotten;
+        V8Array arguments;
+        V8Object kept;
+
+        V8JavaArena arena = V8JavaArena.open(v8);
+        try {
+            forgotten = v8.executeObjectScript("({a: 1});");
+            arguments = new V8Array(v8).push(1);
+            kept = arena.escape(v8.executeObjectScript("({b: 2});"));
+            V8JavaAdapter.injectObject("injected", new Foo(1), v8);
+            V8JavaAdapter.injectObject("twins", new Twins(), v8);
+            v8.executeVoidScript("var left = twins.left();");
+            Assert.assertEquals(2, arena.getLiveCount());
+        } finally {
+            arena.close();
+        }
+
+        Assert.assertTrue(forgotten.isReleased());
+        Assert.assertTrue(arguments.isReleased());
+        Assert.assertEquals(2, kept.getInteger("b"));
+        Assert.assertEquals(5, v8.executeIntegerScript("injected.doInstance(4);"));
+        Assert.assertTrue(v8.executeBooleanScript("left === twins.left();"));
+        kept.release();
+    }
+
+    @Test
+    public void shouldOnlyHandOverValuesANestedArenaRecorded() {
+        V8Object preexisting = v8.executeObjectScript("({a: 1});");
+        V8Object created;
+
+        V8JavaArena outer = V8JavaArena.open(v8);
+        try {
+            V8JavaArena inner = V8JavaArena.open(v8);
+            try {
+                inner.escape(preexisting);
+                created = inner.escape(v8.executeObjectScript("({b: 2});"));
+            } finally {
+                inner.close();
+            }
+            Assert.assertFalse(created.isReleased());
+            Assert.assertEquals(1, outer.getLiveCount());
+        } finally {
+            outer.close();
+        }
+
+        Assert.assertTrue(created.isReleased());
+        Assert.assertEquals(1, preexisting.getInteger("a"));
+        preexisting.release();
+    }
+
+    @Test
+    public void shouldPassSchemaContextsAsPlainObjects() {
+        V8JavaAdapter.injectClass(InterceptableFoo.class, new SchemaFooInterceptor(), v8);
+        V8JavaAdapter.injectObject("bazz", new Fooey(0), v8);
+        InterceptableFoo foo = new InterceptableFoo(4444);
+        V8JavaAdapter.injectObject("foobar", foo, v8);
+        Assert.assertEquals("foo 4444", v8.executeStringScript("foobar.label;"));
+        Assert.assertEquals(8888, v8.executeIntegerScript("foobar.add(4444); bazz.doInstance(foobar); bazz.getI();"));
+        Assert.assertEquals(8888, foo.getI());
+    }
+
+    @Test
+    public void shouldRejectUnknownSchemaContextProperties() {
+        V8JavaClassInterceptorContext context = new V8JavaClassInterceptorContext(SchemaFooInterceptor.SCHEMA);
+        thrown.expect(IllegalArgumentException.class);
+        context.set("missing", 1);
+    }
+}
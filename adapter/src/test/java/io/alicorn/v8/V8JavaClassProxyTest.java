@@ -3,6 +3,7 @@ package io.alicorn.v8;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class V8JavaClassProxyTest {
 
@@ -36,4 +37,14 @@ public class V8JavaClassProxyTest {
         final int actualMethodsInJsProxy = proxy.instanceMethods.get("returnMe").getMethodSignatures().size();
         assertEquals(expectedMethodsInJSProxy, actualMethodsInJsProxy);
     }
+
+    @Test
+    public void shouldShareClassDescriptorsBetweenProxies() {
+        final V8JavaClassProxy first = new V8JavaClassProxy(Child.class, null, null);
+        final V8JavaClassProxy second = new V8JavaClassProxy(Child.class, null, null);
+
+        assertSame(V8JavaClassDescriptor.forClass(Child.class), V8JavaClassDescriptor.forClass(Child.class));
+        assertSame(first.instanceMethods.get("returnMe").getDispatchTable().getSignatures().get(0),
+                   second.instanceMethods.get("returnMe").getDispatchTable().getSignatures().get(0));
+    }
 }
@@ -0,0 +1,121 @@
+package io.alicorn.v8;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class V8JavaHandleTableTest {
+
+    @Test
+    public void shouldResolveAllocatedHandles() {
+        final V8JavaHandleTable table = new V8JavaHandleTable();
+        final Object first = new Object();
+        final Object second = new Object();
+        final Object attachment = new Object();
+
+        final int firstHandle = table.allocate(first, null);
+        final int secondHandle = table.allocate(second, attachment);
+
+        Assert.assertNotEquals(0, firstHandle);
+        Assert.assertNotEquals(firstHandle, secondHandle);
+        Assert.assertSame(first, table.get(firstHandle));
+        Assert.assertSame(second, table.get(secondHandle));
+        Assert.assertNull(table.getAttachment(firstHandle));
+        Assert.assertSame(attachment, table.getAttachment(secondHandle));
+        Assert.assertEquals(2, table.size());
+    }
+
+    @Test
+    public void shouldNotResolveStaleHandlesOfRecycledSlots() {
+        final V8JavaHandleTable table = new V8JavaHandleTable();
+        final Object first = new Object();
+        final Object second = new Object();
+
+        final int firstHandle = table.allocate(first, null);
+        Assert.assertTrue(table.free(firstHandle));
+        Assert.assertFalse(table.free(firstHandle));
+
+        final int secondHandle = table.allocate(second, null);
+        Assert.assertNotEquals(firstHandle, secondHandle);
+        Assert.assertNull(table.get(firstHandle));
+        Assert.assertSame(second, table.get(secondHandle));
+        Assert.assertEquals(1, table.size());
+    }
+
+    @Test
+    public void shouldRetireSlotsInsteadOfReusingGenerations() {
+        final V8JavaHandleTable table = new V8JavaHandleTable();
+        final int firstHandle = table.allocate(new Object(), null);
+        final int slot = firstHandle & 0xFFFFFF;
+
+        // Every generation of the slot is used once, including those of negative handles.
+        final Set<Integer> handles = new HashSet<Integer>();
+        int handle = firstHandle;
+        for (int i = 0; i < 256; i++) {
+            Assert.assertEquals(slot, handle & 0xFFFFFF);
+            Assert.assertTrue(handles.add(handle));
+            Assert.assertTrue(table.free(handle));
+            handle = table.allocate(new Object(), null);
+        }
+
+        // The slot is retired, so no stale handle resolves again.
+        Assert.assertNotEquals(slot, handle & 0xFFFFFF);
+        for (int stale : handles) {
+            Assert.assertNull(table.get(stale));
+            Assert.assertFalse(table.free(stale));
+        }
+        Assert.assertEquals(1, table.size());
+    }
+
+    @Test
+    public void shouldGrowBeyondInitialCapacity() {
+        final V8JavaHandleTable table = new V8JavaHandleTable();
+        final Object[] objects = new Object[1000];
+        final int[] handles = new int[objects.length];
+
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = new Object();
+            handles[i] = table.allocate(objects[i], null);
+        }
+
+        for (int i = 0; i < objects.length; i++) {
+            Assert.assertSame(objects[i], table.get(handles[i]));
+        }
+        Assert.assertEquals(objects.length, table.size());
+    }
+
+    @Test
+    public void shouldIgnoreUnknownHandles() {
+        final V8JavaHandleTable table = new V8JavaHandleTable();
+
+        Assert.assertNull(table.get(0));
+        Assert.assertNull(table.get(-1));
+        Assert.assertNull(table.get(3344));
+        Assert.assertFalse(table.free(3344));
+    }
+
+    @Test
+    public void shouldRemoveCollectedObjectsInBatches() throws InterruptedException {
+        final V8JavaHandleTable table = new V8JavaHandleTable();
+        final Object kept = new Object();
+        final int keptHandle = table.allocate(kept, null);
+        for (int i = 0; i < 10; i++) {
+            table.allocate(new Object(), null);
+        }
+
+        int removed = 0;
+        for (int i = 0; i < 100 && removed < 10; i++) {
+            System.gc();
+            Thread.sleep(10);
+            int batch = table.removeCollected(4);
+            Assert.assertTrue(batch <= 4);
+            removed += batch;
+        }
+
+        Assert.assertEquals(10, removed);
+        Assert.assertEquals(1, table.size());
+        Assert.assertSame(kept, table.get(keptHandle));
+    }
+}
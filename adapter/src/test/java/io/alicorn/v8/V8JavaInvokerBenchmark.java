@@ -0,0 +1,97 @@
+package io.alicorn.v8;
+
+import java.lang.reflect.Method;
+
+/**
+ * Measures the per-call cost of invoking Java methods with already translated
+ * arguments, through {@link Method#invoke(Object, Object...)} and through
+ * {@link V8JavaInvoker}s, both always calling the same method and cycling through
+ * several methods from a single call site like the adapter's method proxies do.
+ *
+ * Lives in the adapter's package rather than with the other benchmarks since
+ * invokers are package-private. The Java 9+ invoker is only loaded from the
+ * multi-release JAR, so run from the {@code adapter} directory with
+ * {@code mvn package -DskipTests exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.alicorn.v8.V8JavaInvokerBenchmark}, or with the JAR
+ * ahead of {@code target/classes} on the classpath.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+public final class V8JavaInvokerBenchmark {
+
+    private static final int CALLS = 1000000;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int MEASURED_ROUNDS = 20;
+
+    public static final class Target {
+        public long add(long a, int b) {
+            return a + b;
+        }
+        public long subtract(long a, int b) {
+            return a - b;
+        }
+        public long multiply(long a, int b) {
+            return a * b;
+        }
+        public long max(long a, int b) {
+            return Math.max(a, b);
+        }
+    }
+
+    private static final String[] NAMES = { "add", "subtract", "multiply", "max" };
+
+    private static long sink = 0;
+
+    private static long measureReflection(Method[] methods, Target target, Object[] arguments) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            sink += (Long) methods[i % methods.length].invoke(target, arguments);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long measureInvokers(V8JavaInvoker[] invokers, Target target, Object[] arguments) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            sink += (Long) invokers[i % invokers.length].invoke(target, arguments);
+        }
+        return System.nanoTime() - start;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Method[] methods = new Method[NAMES.length];
+        V8JavaInvoker[] invokers = new V8JavaInvoker[NAMES.length];
+        for (int i = 0; i < NAMES.length; i++) {
+            methods[i] = Target.class.getMethod(NAMES[i], long.class, int.class);
+            invokers[i] = V8JavaInvoker.forMethod(methods[i]);
+        }
+        Method[] oneMethod = { methods[0] };
+        V8JavaInvoker[] oneInvoker = { invokers[0] };
+        Target target = new Target();
+
+        // Widened and unboxed like arguments translated from JS.
+        Object[] arguments = { 1, 2 };
+
+        long[] totals = new long[4];
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            long[] elapsed = {
+                    measureReflection(oneMethod, target, arguments),
+                    measureInvokers(oneInvoker, target, arguments),
+                    measureReflection(methods, target, arguments),
+                    measureInvokers(invokers, target, arguments)
+            };
+            if (round >= WARMUP_ROUNDS) {
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i] += elapsed[i];
+                }
+            }
+        }
+
+        System.out.println("Java " + System.getProperty("java.version") + ", " + invokers[0].getClass().getName());
+        String[] labels = { "Method.invoke, one method:", "V8JavaInvoker, one method:",
+                            "Method.invoke, " + NAMES.length + " methods:", "V8JavaInvoker, " + NAMES.length + " methods:" };
+        for (int i = 0; i < totals.length; i++) {
+            System.out.println(String.format("%-30s %.1f ns/call", labels[i], (double) totals[i] / MEASURED_ROUNDS / CALLS));
+        }
+    }
+}
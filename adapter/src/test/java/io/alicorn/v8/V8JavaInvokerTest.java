@@ -0,0 +1,84 @@
+package io.alicorn.v8;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Runs against the portable invoker from the build output, and against the Java 9+
+ * invoker when the multi-release profile runs the tests again on the packaged JAR.
+ */
+public class V8JavaInvokerTest {
+
+    public static final class Target {
+        public long widen(long value) {
+            return value;
+        }
+        public void fail() {
+            throw new IllegalStateException("failed");
+        }
+        public void failWithCast(Object value) {
+            throw new ClassCastException("failed");
+        }
+    }
+
+    private static V8JavaInvoker invokerFor(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+        return V8JavaInvoker.forMethod(Target.class.getMethod(name, parameterTypes));
+    }
+
+    @Test
+    public void shouldUseMethodHandlesFromTheMultiReleaseJar() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("v8adapter.multiReleaseJar"));
+
+        Assert.assertTrue(V8JavaInvoker.class.getResource("V8JavaInvoker.class").toString().contains("META-INF/versions/9"));
+        Assert.assertEquals("MethodHandleInvoker", invokerFor("fail").getClass().getSimpleName());
+    }
+
+    @Test
+    public void shouldWrapExceptionsThrownByTheTarget() throws Exception {
+        try {
+            invokerFor("fail").invoke(new Target(), new Object[0]);
+            Assert.fail();
+        } catch (InvocationTargetException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void shouldNotMistakeExceptionsThrownByTheTargetForMismatches() throws Exception {
+        try {
+            invokerFor("failWithCast", Object.class).invoke(new Target(), new Object[] { 1 });
+            Assert.fail();
+        } catch (InvocationTargetException e) {
+            Assert.assertTrue(e.getCause() instanceof ClassCastException);
+        }
+    }
+
+    @Test
+    public void shouldWidenPrimitiveArguments() throws Exception {
+        Assert.assertEquals(3L, invokerFor("widen", long.class).invoke(new Target(), new Object[] { 3 }));
+        Assert.assertEquals(99L, invokerFor("widen", long.class).invoke(new Target(), new Object[] { 'c' }));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectMismatchedArgumentsWithoutWrappingThem() throws Exception {
+        invokerFor("widen", long.class).invoke(new Target(), new Object[] { 1.5 });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNullPrimitiveArguments() throws Exception {
+        invokerFor("widen", long.class).invoke(new Target(), new Object[] { null });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectWrongNumbersOfArguments() throws Exception {
+        invokerFor("widen", long.class).invoke(new Target(), new Object[0]);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldRejectMissingTargetsOfInstanceMethods() throws Exception {
+        invokerFor("fail").invoke(null, new Object[0]);
+    }
+}
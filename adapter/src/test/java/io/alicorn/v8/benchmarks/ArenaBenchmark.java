@@ -0,0 +1,111 @@
+package io.alicorn.v8.benchmarks;
+
+import com.eclipsesource.v8.V8;
+import com.eclipsesource.v8.V8Object;
+import io.alicorn.v8.V8JavaAdapter;
+import io.alicorn.v8.V8JavaArena;
+import io.alicorn.v8.V8JavaObjectUtils;
+
+/**
+ * Measures what an open {@link V8JavaArena} costs per V8 value created:
+ *
+ * <ul>
+ *     <li>creating and releasing objects one by one, without an arena;</li>
+ *     <li>the same within an arena, which records the objects anyway;</li>
+ *     <li>creating objects within an arena and leaving them to be released when it
+ *         closes;</li>
+ *     <li>calling an injected Java method taking an object from JS, which creates and
+ *         releases V8 values within the adapter, without and within an arena.</li>
+ * </ul>
+ *
+ * Run from the {@code adapter} directory with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.alicorn.v8.benchmarks.ArenaBenchmark}.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+public final class ArenaBenchmark {
+
+    private static final int VALUES = 10000;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int MEASURED_ROUNDS = 20;
+
+    public static final class Target {
+        public Target() {}
+        public int count(Object object) {
+            return object == null ? 0 : 1;
+        }
+    }
+
+    private static long releaseEach(V8 v8, boolean inArena) {
+        long start = System.nanoTime();
+        V8JavaArena arena = inArena ? V8JavaArena.open(v8) : null;
+        try {
+            for (int i = 0; i < VALUES; i++) {
+                new V8Object(v8).release();
+            }
+        } finally {
+            if (arena != null) {
+                arena.close();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long releaseWithArena(V8 v8) {
+        long start = System.nanoTime();
+        V8JavaArena arena = V8JavaArena.open(v8);
+        try {
+            for (int i = 0; i < VALUES; i++) {
+                new V8Object(v8);
+            }
+        } finally {
+            arena.close();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long callJava(V8 v8, boolean inArena) {
+        long start = System.nanoTime();
+        V8JavaArena arena = inArena ? V8JavaArena.open(v8) : null;
+        try {
+            v8.executeVoidScript("for (var i = 0; i < " + VALUES + "; i++) { target.count({ i: i }); }");
+        } finally {
+            if (arena != null) {
+                arena.close();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    public static void main(String[] args) {
+        V8 v8 = V8.createV8Runtime();
+        try {
+            V8JavaAdapter.injectObject("target", new Target(), v8);
+
+            String[] names = { "release each:", "release each, arena:", "release by arena:",
+                               "call Java:", "call Java, arena:" };
+            long[] totals = new long[names.length];
+            for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+                long[] elapsed = {
+                        releaseEach(v8, false),
+                        releaseEach(v8, true),
+                        releaseWithArena(v8),
+                        callJava(v8, false),
+                        callJava(v8, true)
+                };
+                if (round >= WARMUP_ROUNDS) {
+                    for (int i = 0; i < totals.length; i++) {
+                        totals[i] += elapsed[i];
+                    }
+                }
+            }
+
+            for (int i = 0; i < names.length; i++) {
+                System.out.println(String.format("%-22s %,d ns/op", names[i], totals[i] / MEASURED_ROUNDS / VALUES));
+            }
+        } finally {
+            V8JavaObjectUtils.releaseV8Resources(v8);
+            v8.release(false);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package io.alicorn.v8.benchmarks;
+
+import com.eclipsesource.v8.V8;
+import io.alicorn.v8.V8JavaAdapter;
+import io.alicorn.v8.V8JavaObjectUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Measures the per-object cost of injecting many Java objects one at a time with
+ * {@link V8JavaAdapter#injectObject(String, Object, com.eclipsesource.v8.V8Object)}
+ * versus all at once with {@link V8JavaAdapter#injectObjects(Map, com.eclipsesource.v8.V8Object)}.
+ *
+ * Run from the {@code adapter} directory with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.alicorn.v8.benchmarks.InjectObjectsBenchmark}.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+public final class InjectObjectsBenchmark {
+
+    public static final class Request {
+        private final int id;
+        public Request(int id) { this.id = id; }
+        public int getId() { return id; }
+        public String describe() { return "request " + id; }
+    }
+
+    private static final int OBJECTS = 500;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+
+    private static Map<String, Object> createObjects() {
+        Map<String, Object> objects = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < OBJECTS; i++) {
+            objects.put("request" + i, new Request(i));
+        }
+        return objects;
+    }
+
+    private static long injectOneByOne(Map<String, Object> objects) {
+        V8 v8 = V8.createV8Runtime();
+        try {
+            long start = System.nanoTime();
+            for (Map.Entry<String, Object> entry : objects.entrySet()) {
+                V8JavaAdapter.injectObject(entry.getKey(), entry.getValue(), v8);
+            }
+            return System.nanoTime() - start;
+        } finally {
+            V8JavaObjectUtils.releaseV8Resources(v8);
+            v8.release(false);
+        }
+    }
+
+    private static long injectInBatch(Map<String, Object> objects) {
+        V8 v8 = V8.createV8Runtime();
+        try {
+            long start = System.nanoTime();
+            V8JavaAdapter.injectObjects(objects, v8);
+            return System.nanoTime() - start;
+        } finally {
+            V8JavaObjectUtils.releaseV8Resources(v8);
+            v8.release(false);
+        }
+    }
+
+    public static void main(String[] args) {
+        Map<String, Object> objects = createObjects();
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            injectOneByOne(objects);
+            injectInBatch(objects);
+        }
+
+        long oneByOne = 0;
+        long batch = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            oneByOne += injectOneByOne(objects);
+            batch += injectInBatch(objects);
+        }
+
+        long perObjectOneByOne = oneByOne / MEASURED_ROUNDS / OBJECTS;
+        long perObjectBatch = batch / MEASURED_ROUNDS / OBJECTS;
+        System.out.println(String.format("injectObject:  %,d ns/object", perObjectOneByOne));
+        System.out.println(String.format("injectObjects: %,d ns/object", perObjectBatch));
+    }
+}
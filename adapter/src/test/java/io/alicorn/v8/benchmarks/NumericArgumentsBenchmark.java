@@ -0,0 +1,101 @@
+package io.alicorn.v8.benchmarks;
+
+import com.eclipsesource.v8.JavaVoidCallback;
+import com.eclipsesource.v8.V8;
+import com.eclipsesource.v8.V8Array;
+import com.eclipsesource.v8.V8Object;
+import com.eclipsesource.v8.V8ResultUndefined;
+import com.eclipsesource.v8.V8Value;
+
+/**
+ * Measures the per-call cost of fetching the number arguments of a JS invocation of
+ * a Java callback, as done for numbers-only constructors:
+ *
+ * <ul>
+ *     <li>element by element, with one {@link V8Array#get(int)} per argument;</li>
+ *     <li>with one {@link V8Array#getType(int)} per argument followed by a single
+ *         {@link V8Array#getDoubles(int, int)};</li>
+ *     <li>with a single {@link V8Array#getDoubles(int, int)}, which fails if any
+ *         argument is not a number.</li>
+ * </ul>
+ *
+ * Run from the {@code adapter} directory with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.alicorn.v8.benchmarks.NumericArgumentsBenchmark}.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+public final class NumericArgumentsBenchmark {
+
+    private static final int CALLS = 100000;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int MEASURED_ROUNDS = 20;
+
+    private static final class Fetch implements JavaVoidCallback {
+        private final int strategy;
+        private long elapsed = 0;
+        private double sink = 0;
+
+        private Fetch(int strategy) {
+            this.strategy = strategy;
+        }
+
+        @Override public void invoke(V8Object receiver, V8Array parameters) {
+            long start = System.nanoTime();
+            int length = parameters.length();
+            if (strategy == 0) {
+                for (int i = 0; i < length; i++) {
+                    Object value = parameters.get(i);
+                    sink += ((Number) value).doubleValue();
+                }
+            } else if (strategy == 1) {
+                for (int i = 0; i < length; i++) {
+                    int type = parameters.getType(i);
+                    if (type != V8Value.INTEGER && type != V8Value.DOUBLE) {
+                        return;
+                    }
+                }
+                sink += parameters.getDoubles(0, length)[0];
+            } else {
+                try {
+                    sink += parameters.getDoubles(0, length)[0];
+                } catch (V8ResultUndefined e) {
+                    return;
+                }
+            }
+            elapsed += System.nanoTime() - start;
+        }
+    }
+
+    private static long measure(V8 v8, String name, Fetch fetch) {
+        fetch.elapsed = 0;
+        v8.executeVoidScript("for (var i = 0; i < " + CALLS + "; i++) { " + name + "(i + 0.5, 2.5, 3.5, i); }");
+        return fetch.elapsed;
+    }
+
+    public static void main(String[] args) {
+        V8 v8 = V8.createV8Runtime();
+        try {
+            Fetch[] fetches = { new Fetch(0), new Fetch(1), new Fetch(2) };
+            String[] names = { "perArgument", "typesThenDoubles", "doubles" };
+            for (int i = 0; i < fetches.length; i++) {
+                v8.registerJavaMethod(fetches[i], names[i]);
+            }
+
+            long[] totals = new long[fetches.length];
+            for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+                for (int i = 0; i < fetches.length; i++) {
+                    long elapsed = measure(v8, names[i], fetches[i]);
+                    if (round >= WARMUP_ROUNDS) {
+                        totals[i] += elapsed;
+                    }
+                }
+            }
+
+            for (int i = 0; i < fetches.length; i++) {
+                System.out.println(String.format("%-16s %,d ns/call", names[i] + ":", totals[i] / MEASURED_ROUNDS / CALLS));
+            }
+        } finally {
+            v8.release(false);
+        }
+    }
+}
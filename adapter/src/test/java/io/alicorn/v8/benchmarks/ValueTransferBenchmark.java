@@ -0,0 +1,238 @@
+package io.alicorn.v8.benchmarks;
+
+import com.eclipsesource.v8.V8;
+import com.eclipsesource.v8.V8Object;
+import com.eclipsesource.v8.utils.V8ObjectUtils;
+import io.alicorn.v8.V8JavaAdapter;
+import io.alicorn.v8.V8JavaObjectUtils;
+
+import java.util.*;
+
+/**
+ * Measures the cost of moving a nested Java object graph into V8 node by node with
+ * J2V8's {@link V8ObjectUtils#toV8Object(V8, Map)}, as a JSON string parsed by V8, and
+ * with {@link V8JavaAdapter#injectValue(String, Object, V8Object)}; and of moving it
+ * back node by node with {@link V8ObjectUtils#toMap(V8Object)}, as a JSON string
+ * produced by V8 and parsed by Java, and with
+ * {@link V8JavaObjectUtils#translateJavascriptValueToJava(Object, V8)}.
+ *
+ * The JSON paths use a minimal writer and reader for the graph's types, standing in
+ * for a JSON library.
+ *
+ * Run from the {@code adapter} directory with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.alicorn.v8.benchmarks.ValueTransferBenchmark}.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+public final class ValueTransferBenchmark {
+
+    private static final int ORDERS = 1000;
+    private static final int WARMUP_ROUNDS = 100;
+    private static final int MEASURED_ROUNDS = 100;
+
+    private static Map<String, Object> createGraph() {
+        List<Object> orders = new ArrayList<Object>();
+        for (int i = 0; i < ORDERS; i++) {
+            Map<String, Object> customer = new LinkedHashMap<String, Object>();
+            customer.put("name", "customer " + i);
+            customer.put("vip", i % 7 == 0);
+
+            Map<String, Object> order = new LinkedHashMap<String, Object>();
+            order.put("id", i);
+            order.put("total", i * 1.25);
+            order.put("tags", Arrays.<Object>asList("new", "paid", "shipped"));
+            order.put("customer", customer);
+            orders.add(order);
+        }
+
+        Map<String, Object> graph = new LinkedHashMap<String, Object>();
+        graph.put("orders", orders);
+        return graph;
+    }
+
+    private static void writeJson(Object value, StringBuilder json) {
+        if (value == null || value instanceof Number || value instanceof Boolean) {
+            json.append(value);
+        } else if (value instanceof String) {
+            json.append('"').append(((String) value).replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        } else if (value instanceof List) {
+            json.append('[');
+            for (Object element : (List<?>) value) {
+                if (json.charAt(json.length() - 1) != '[') {
+                    json.append(',');
+                }
+                writeJson(element, json);
+            }
+            json.append(']');
+        } else {
+            json.append('{');
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (json.charAt(json.length() - 1) != '{') {
+                    json.append(',');
+                }
+                writeJson(entry.getKey().toString(), json);
+                json.append(':');
+                writeJson(entry.getValue(), json);
+            }
+            json.append('}');
+        }
+    }
+
+    /**
+     * Reads the JSON written by JSON.stringify for the graph's types.
+     */
+    private static final class JsonReader {
+        private final String json;
+        private int offset = 0;
+
+        private JsonReader(String json) {
+            this.json = json;
+        }
+
+        private Object read() {
+            char c = json.charAt(offset);
+            if (c == '{') {
+                Map<String, Object> map = new LinkedHashMap<String, Object>();
+                offset++;
+                while (json.charAt(offset) != '}') {
+                    if (json.charAt(offset) == ',') {
+                        offset++;
+                    }
+                    String key = readString();
+                    offset++;
+                    map.put(key, read());
+                }
+                offset++;
+                return map;
+            } else if (c == '[') {
+                List<Object> list = new ArrayList<Object>();
+                offset++;
+                while (json.charAt(offset) != ']') {
+                    if (json.charAt(offset) == ',') {
+                        offset++;
+                    }
+                    list.add(read());
+                }
+                offset++;
+                return list;
+            } else if (c == '"') {
+                return readString();
+            } else if (json.startsWith("true", offset)) {
+                offset += 4;
+                return Boolean.TRUE;
+            } else if (json.startsWith("false", offset)) {
+                offset += 5;
+                return Boolean.FALSE;
+            } else if (json.startsWith("null", offset)) {
+                offset += 4;
+                return null;
+            }
+
+            int start = offset;
+            while (offset < json.length() && "-+.eE0123456789".indexOf(json.charAt(offset)) >= 0) {
+                offset++;
+            }
+            return Double.parseDouble(json.substring(start, offset));
+        }
+
+        private String readString() {
+            StringBuilder string = new StringBuilder();
+            offset++;
+            for (char c = json.charAt(offset++); c != '"'; c = json.charAt(offset++)) {
+                string.append(c == '\\' ? json.charAt(offset++) : c);
+            }
+            return string.toString();
+        }
+    }
+
+    private static long perNode(V8 v8, Map<String, Object> graph) {
+        long start = System.nanoTime();
+        V8Object object = V8ObjectUtils.toV8Object(v8, graph);
+        v8.add("graph", object);
+        object.release();
+        return System.nanoTime() - start;
+    }
+
+    private static long json(V8 v8, Map<String, Object> graph) {
+        long start = System.nanoTime();
+        StringBuilder json = new StringBuilder();
+        writeJson(graph, json);
+        v8.add("json", json.toString());
+        v8.executeVoidScript("var graph = JSON.parse(json);");
+        return System.nanoTime() - start;
+    }
+
+    private static long transfer(V8 v8, Map<String, Object> graph) {
+        long start = System.nanoTime();
+        V8JavaAdapter.injectValue("graph", graph, v8);
+        return System.nanoTime() - start;
+    }
+
+    private static long perNodeBack(V8 v8) {
+        V8Object graph = v8.getObject("graph");
+        try {
+            long start = System.nanoTime();
+            V8ObjectUtils.toMap(graph);
+            return System.nanoTime() - start;
+        } finally {
+            graph.release();
+        }
+    }
+
+    private static long jsonBack(V8 v8) {
+        long start = System.nanoTime();
+        new JsonReader(v8.executeStringScript("JSON.stringify(graph);")).read();
+        return System.nanoTime() - start;
+    }
+
+    private static long transferBack(V8 v8) {
+        V8Object graph = v8.getObject("graph");
+        try {
+            long start = System.nanoTime();
+            V8JavaObjectUtils.translateJavascriptValueToJava(graph, v8);
+            return System.nanoTime() - start;
+        } finally {
+            graph.release();
+        }
+    }
+
+    public static void main(String[] args) {
+        Map<String, Object> graph = createGraph();
+        V8 v8 = V8.createV8Runtime();
+        try {
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                perNode(v8, graph);
+                json(v8, graph);
+                transfer(v8, graph);
+                perNodeBack(v8);
+                jsonBack(v8);
+                transferBack(v8);
+            }
+
+            long perNode = 0;
+            long json = 0;
+            long transfer = 0;
+            long perNodeBack = 0;
+            long jsonBack = 0;
+            long transferBack = 0;
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                perNode += perNode(v8, graph);
+                json += json(v8, graph);
+                transfer += transfer(v8, graph);
+                perNodeBack += perNodeBack(v8);
+                jsonBack += jsonBack(v8);
+                transferBack += transferBack(v8);
+            }
+
+            System.out.println(String.format("Java to JS, per node:    %,d us/graph", perNode / MEASURED_ROUNDS / 1000));
+            System.out.println(String.format("Java to JS, JSON:        %,d us/graph", json / MEASURED_ROUNDS / 1000));
+            System.out.println(String.format("Java to JS, injectValue: %,d us/graph", transfer / MEASURED_ROUNDS / 1000));
+            System.out.println(String.format("JS to Java, per node:    %,d us/graph", perNodeBack / MEASURED_ROUNDS / 1000));
+            System.out.println(String.format("JS to Java, JSON:        %,d us/graph", jsonBack / MEASURED_ROUNDS / 1000));
+            System.out.println(String.format("JS to Java, transfer:    %,d us/graph", transferBack / MEASURED_ROUNDS / 1000));
+        } finally {
+            V8JavaObjectUtils.releaseV8Resources(v8);
+            v8.release(false);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package io.alicorn.v8.processor;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+
+/**
+ * Annotation processor generating a binding for every class using the V8 adapter's
+ * annotations.
+ *
+ * The binding of a class {@code Foo} is a class named {@code Foo$$V8Binding} in the
+ * same package, extending {@code io.alicorn.v8.V8JavaBinding}. It calls the public
+ * constructors and methods of {@code Foo} directly from a switch, so that the adapter
+ * does not need to invoke them reflectively once {@code Foo} is injected.
+ *
+ * Classes that are not accessible from their own package (such as private nested
+ * classes) are skipped with a note and keep being invoked reflectively.
+ *
+ * @author Brandon Sanders [brandon@alicorn.io]
+ */
+@SupportedAnnotationTypes({
+        V8JavaBindingProcessor.ANNOTATIONS_PACKAGE + ".JSDisableMethodAutodetect",
+        V8JavaBindingProcessor.ANNOTATIONS_PACKAGE + ".JSFunction",
+        V8JavaBindingProcessor.ANNOTATIONS_PACKAGE + ".JSGetter",
+        V8JavaBindingProcessor.ANNOTATIONS_PACKAGE + ".JSSetter",
+        V8JavaBindingProcessor.ANNOTATIONS_PACKAGE + ".JSStaticFunction"
+})
+public final class V8JavaBindingProcessor extends AbstractProcessor {
+//Private//////////////////////////////////////////////////////////////////////
+
+    // Names shared with the adapter; the processor does not depend on it at build time.
+    private static final String BINDING_CLASS = "io.alicorn.v8.V8JavaBinding";
+    private static final String BINDING_CLASS_SUFFIX = "$$V8Binding";
+    private static final String CONSTRUCTOR_NAME = "<init>";
+
+    // Classes a binding was already generated for, across all rounds.
+    private final Set<String> generated = new HashSet<String>();
+
+    /**
+     * Returns the canonical name of the erasure of a type, matching the names the
+     * adapter uses in member keys.
+     */
+    private String getTypeName(TypeMirror type) {
+        TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+        if (erasure.getKind() == TypeKind.ARRAY) {
+            return getTypeName(((ArrayType) erasure).getComponentType()) + "[]";
+        } else if (erasure.getKind() == TypeKind.DECLARED) {
+            return ((TypeElement) ((DeclaredType) erasure).asElement()).getQualifiedName().toString();
+        } else {
+            return erasure.getKind().name().toLowerCase(Locale.ENGLISH);
+        }
+    }
+
+    /**
+     * Returns the key of a method or constructor, in the form {@code name(parameterType,...)}.
+     */
+    private String getMemberKey(ExecutableElement member) {
+        StringBuilder key = new StringBuilder();
+        key.append(member.getKind() == ElementKind.CONSTRUCTOR ? CONSTRUCTOR_NAME : member.getSimpleName().toString());
+        key.append('(');
+        List<? extends VariableElement> parameters = member.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) {
+                key.append(',');
+            }
+            key.append(getTypeName(parameters.get(i).asType()));
+        }
+
+        return key.append(')').toString();
+    }
+
+    /**
+     * Returns the expression converting an element of the {@code arguments} array to a parameter type.
+     */
+    private String getArgumentExpression(TypeMirror type, int index) {
+        String argument = "arguments[" + index + "]";
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "((java.lang.Boolean) " + argument + ").booleanValue()";
+            case CHAR:
+                return "((java.lang.Character) " + argument + ").charValue()";
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                String primitive = getTypeName(type);
+                return "((java.lang.Number) " + argument + ")." + primitive + "Value()";
+            default:
+                return "(" + getTypeName(type) + ") " + argument;
+        }
+    }
+
+    /**
+     * Returns why no binding can be generated for a type, or null if one can.
+     */
+    private static String getUnbindableReason(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS && type.getKind() != ElementKind.ENUM) {
+            return "only classes and enums have bindings";
+        }
+
+        Element element = type;
+        while (element instanceof TypeElement) {
+            TypeElement enclosing = (TypeElement) element;
+            if (enclosing.getNestingKind() != NestingKind.TOP_LEVEL && enclosing.getNestingKind() != NestingKind.MEMBER) {
+                return "it is not a top-level or member class";
+            } else if (enclosing.getModifiers().contains(Modifier.PRIVATE)) {
+                return "it is not accessible from its package";
+            }
+            element = enclosing.getEnclosingElement();
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the public constructors and methods of a class exposed by the adapter.
+     */
+    private List<ExecutableElement> getMembers(TypeElement type) {
+        List<ExecutableElement> members = new ArrayList<ExecutableElement>();
+
+        // Inner classes cannot be constructed without their outer instance.
+        boolean constructible = !type.getModifiers().contains(Modifier.ABSTRACT) &&
+                                (type.getNestingKind() == NestingKind.TOP_LEVEL || type.getModifiers().contains(Modifier.STATIC));
+        if (constructible) {
+            for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+                if (constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                    members.add(constructor);
+                }
+            }
+        }
+
+        // Like the adapter, ignore the methods of the base object class.
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            TypeElement declaringType = (TypeElement) method.getEnclosingElement();
+            if (method.getModifiers().contains(Modifier.PUBLIC) &&
+                !declaringType.getQualifiedName().contentEquals("java.lang.Object")) {
+                members.add(method);
+            }
+        }
+
+        return members;
+    }
+
+    /**
+     * Writes the binding of a class.
+     */
+    private void generateBinding(TypeElement type) throws IOException {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String bindingName = binaryName + BINDING_CLASS_SUFFIX;
+        String bindingSimpleName = packageName.isEmpty() ? bindingName : bindingName.substring(packageName.length() + 1);
+        String typeName = type.getQualifiedName().toString();
+
+        List<ExecutableElement> members = getMembers(type);
+
+        PrintWriter out = new PrintWriter(processingEnv.getFiler().createSourceFile(bindingName, type).openWriter());
+        try {
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println("/**");
+            out.println(" * Binding of {@link " + typeName + "} generated by " + getClass().getName() + ".");
+            out.println(" */");
+            out.println("public final class " + bindingSimpleName + " extends " + BINDING_CLASS + " {");
+            out.println();
+            out.println("    public " + bindingSimpleName + "() {");
+            out.print("        super(" + typeName + ".class");
+            for (ExecutableElement member : members) {
+                out.println(",");
+                out.print("              \"" + getMemberKey(member) + "\"");
+            }
+            out.println(");");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    @SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+            out.println("    protected Object invoke(int member, Object target, Object[] arguments) throws Throwable {");
+            out.println("        switch (member) {");
+            for (int i = 0; i < members.size(); i++) {
+                ExecutableElement member = members.get(i);
+
+                StringBuilder call = new StringBuilder();
+                if (member.getKind() == ElementKind.CONSTRUCTOR) {
+                    call.append("new ").append(typeName);
+                } else if (member.getModifiers().contains(Modifier.STATIC)) {
+                    call.append(typeName).append('.').append(member.getSimpleName());
+                } else {
+                    call.append("((").append(typeName).append(") target).").append(member.getSimpleName());
+                }
+
+                call.append('(');
+                List<? extends VariableElement> parameters = member.getParameters();
+                for (int j = 0; j < parameters.size(); j++) {
+                    if (j > 0) {
+                        call.append(", ");
+                    }
+                    call.append(getArgumentExpression(parameters.get(j).asType(), j));
+                }
+                call.append(')');
+
+                out.println("            case " + i + ":");
+                if (member.getKind() == ElementKind.METHOD && member.getReturnType().getKind() == TypeKind.VOID) {
+                    out.println("                " + call + ";");
+                    out.println("                return null;");
+                } else {
+                    out.println("                return " + call + ";");
+                }
+            }
+            out.println("            default:");
+            out.println("                throw new IllegalArgumentException(\"No member \" + member + \" exists in " + typeName + ".\");");
+            out.println("        }");
+            out.println("    }");
+            out.println("}");
+        } finally {
+            out.close();
+        }
+    }
+
+//Protected////////////////////////////////////////////////////////////////////
+
+    static final String ANNOTATIONS_PACKAGE = "io.alicorn.v8.annotations";
+
+//Public///////////////////////////////////////////////////////////////////////
+
+    @Override public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+        // Collect every class either annotated itself or declaring an annotated method.
+        Set<TypeElement> types = new LinkedHashSet<TypeElement>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnvironment.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind().isClass()) {
+                    types.add((TypeElement) element);
+                } else if (element.getKind() == ElementKind.METHOD && element.getEnclosingElement().getKind().isClass()) {
+                    types.add((TypeElement) element.getEnclosingElement());
+                }
+            }
+        }
+
+        for (TypeElement type : types) {
+            if (!generated.add(type.getQualifiedName().toString())) {
+                continue;
+            }
+
+            // Such types keep working reflectively, so skipping them is not worth a warning.
+            String unbindableReason = getUnbindableReason(type);
+            if (unbindableReason != null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "No V8 binding generated for " + type.getQualifiedName() + ", since " + unbindableReason + ".", type);
+                continue;
+            }
+
+            try {
+                generateBinding(type);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Could not write the V8 binding of " + type.getQualifiedName() + ": " + e.getMessage(), type);
+            }
+        }
+
+        // Other processors may be interested in the same annotations.
+        return false;
+    }
+}
@@ -0,0 +1,143 @@
+package io.alicorn.v8.processor;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.tools.*;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class V8JavaBindingProcessorTest {
+
+    // Minimal stand-ins for the adapter classes referenced by the processor.
+    private static final String JS_FUNCTION =
+            "package io.alicorn.v8.annotations;\n" +
+            "import java.lang.annotation.*;\n" +
+            "@Retention(RetentionPolicy.RUNTIME) @Target(ElementType.METHOD)\n" +
+            "public @interface JSFunction {}\n";
+
+    private static final String JS_DISABLE_METHOD_AUTODETECT =
+            "package io.alicorn.v8.annotations;\n" +
+            "import java.lang.annotation.*;\n" +
+            "@Retention(RetentionPolicy.RUNTIME) @Target(ElementType.TYPE)\n" +
+            "public @interface JSDisableMethodAutodetect {}\n";
+
+    private static final String BINDING =
+            "package io.alicorn.v8;\n" +
+            "public abstract class V8JavaBinding {\n" +
+            "    public final String[] keys;\n" +
+            "    protected V8JavaBinding(Class<?> boundClass, String... keys) { this.keys = keys; }\n" +
+            "    protected abstract Object invoke(int member, Object target, Object[] arguments) throws Throwable;\n" +
+            "}\n";
+
+    private static final String WIDGET =
+            "package com.example;\n" +
+            "import io.alicorn.v8.annotations.*;\n" +
+            "@JSDisableMethodAutodetect\n" +
+            "public class Widget {\n" +
+            "    public int size;\n" +
+            "    public Widget() {}\n" +
+            "    public Widget(int size) { this.size = size; }\n" +
+            "    @JSFunction public int grow(int by) { return size += by; }\n" +
+            "    public void reset() { size = 0; }\n" +
+            "    public static String join(String separator, String... parts) {\n" +
+            "        StringBuilder b = new StringBuilder();\n" +
+            "        for (String part : parts) { if (b.length() > 0) b.append(separator); b.append(part); }\n" +
+            "        return b.toString();\n" +
+            "    }\n" +
+            "    public static class Part { @JSFunction public double half(double value) { return value / 2; } }\n" +
+            "    private static class Hidden { @JSFunction public void nothing() {} }\n" +
+            "}\n";
+
+    private File directory;
+
+    private void write(String path, String source) throws IOException {
+        File file = new File(directory, path);
+        file.getParentFile().mkdirs();
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write(source);
+        } finally {
+            writer.close();
+        }
+    }
+
+    private void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    @Before
+    public void setup() throws IOException {
+        directory = File.createTempFile("v8-binding", "");
+        directory.delete();
+        directory.mkdirs();
+
+        write("io/alicorn/v8/annotations/JSFunction.java", JS_FUNCTION);
+        write("io/alicorn/v8/annotations/JSDisableMethodAutodetect.java", JS_DISABLE_METHOD_AUTODETECT);
+        write("io/alicorn/v8/V8JavaBinding.java", BINDING);
+        write("com/example/Widget.java", WIDGET);
+    }
+
+    @After
+    public void teardown() {
+        delete(directory);
+    }
+
+    @Test
+    public void shouldGenerateCompilableBindings() throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+        try {
+            Iterable<? extends JavaFileObject> sources = fileManager.getJavaFileObjects(
+                    new File(directory, "io/alicorn/v8/annotations/JSFunction.java"),
+                    new File(directory, "io/alicorn/v8/annotations/JSDisableMethodAutodetect.java"),
+                    new File(directory, "io/alicorn/v8/V8JavaBinding.java"),
+                    new File(directory, "com/example/Widget.java"));
+            List<String> options = new ArrayList<String>(Arrays.asList("-d", directory.getPath(), "-s", directory.getPath()));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, sources);
+            task.setProcessors(Arrays.asList(new V8JavaBindingProcessor()));
+            Assert.assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+        } finally {
+            fileManager.close();
+        }
+
+        Assert.assertTrue(new File(directory, "com/example/Widget$$V8Binding.java").exists());
+        Assert.assertTrue(new File(directory, "com/example/Widget$Part$$V8Binding.java").exists());
+        Assert.assertFalse(new File(directory, "com/example/Widget$Hidden$$V8Binding.java").exists());
+
+        // Isolated from the classpath of the build running the test.
+        URLClassLoader loader = new URLClassLoader(new URL[] { directory.toURI().toURL() }, null);
+        Class<?> widgetClass = loader.loadClass("com.example.Widget");
+        Object binding = loader.loadClass("com.example.Widget$$V8Binding").newInstance();
+        List<String> keys = Arrays.asList((String[]) binding.getClass().getField("keys").get(binding));
+        Method invoke = binding.getClass().getDeclaredMethod("invoke", int.class, Object.class, Object[].class);
+        invoke.setAccessible(true);
+
+        Object widget = invoke.invoke(binding, keys.indexOf("<init>(int)"), null, new Object[] { 3 });
+        Assert.assertEquals(widgetClass, widget.getClass());
+        Assert.assertEquals(5, invoke.invoke(binding, keys.indexOf("grow(int)"), widget, new Object[] { 2 }));
+        Assert.assertNull(invoke.invoke(binding, keys.indexOf("reset()"), widget, new Object[0]));
+        Assert.assertEquals(0, widgetClass.getField("size").get(widget));
+        Assert.assertEquals("a-b", invoke.invoke(binding, keys.indexOf("join(java.lang.String,java.lang.String[])"),
+                                                 null, new Object[] { "-", new String[] { "a", "b" } }));
+        Assert.assertFalse(keys.contains("hashCode()"));
+    }
+}